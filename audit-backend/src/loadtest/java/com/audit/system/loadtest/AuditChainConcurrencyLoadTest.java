@@ -0,0 +1,75 @@
+package com.audit.system.loadtest;
+
+import com.audit.system.audit.AuditChainVerifier;
+import com.audit.system.config.AuditConfig;
+import com.audit.system.dto.AuditChainVerificationDTO;
+import com.audit.system.repository.AuditChainJdbcRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two audited transactions writing at the same time on the embedded PostgreSQL. With the chain
+ * head locked by an insert trigger, B would wait for A from its first audited write, and A then
+ * touching B's row would deadlock; chaining after commit lets them interleave freely.
+ */
+@Tag("load")
+class AuditChainConcurrencyLoadTest {
+
+    @Test
+    void concurrentAuditedTransactionsDoNotWaitOnTheChain() throws Exception {
+        try (EmbeddedPostgres postgres = LoadTestDatabase.startSeeded()) {
+            DataSource dataSource = postgres.getPostgresDatabase();
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            AuditChainJdbcRepository chain = new AuditChainJdbcRepository(jdbc);
+            chain.chainPending(Integer.MAX_VALUE); // The seed's own entries
+            long base = chain.findHeadSeq();
+
+            try (Connection a = dataSource.getConnection(); Connection b = dataSource.getConnection();
+                    Statement sa = a.createStatement(); Statement sb = b.createStatement()) {
+                a.setAutoCommit(false);
+                b.setAutoCommit(false);
+                // Would fail fast instead of hanging if anything still serialized the two
+                sa.execute("SET lock_timeout = '2s'");
+                sb.execute("SET lock_timeout = '2s'");
+
+                sa.executeUpdate("UPDATE employees SET full_name = full_name || ' A' WHERE id = 1");
+                sb.executeUpdate("UPDATE employees SET full_name = full_name || ' B' WHERE id = 2");
+                sb.executeUpdate("UPDATE employees SET full_name = full_name || ' B' WHERE id = 3");
+                b.commit();
+                assertEquals(2, chain.chainPending(1000)); // A's entry is not committed, so not linked
+
+                sa.executeUpdate("UPDATE employees SET full_name = full_name || ' A' WHERE id = 2");
+                a.commit();
+                assertEquals(2, chain.chainPending(1000));
+            }
+
+            // A started first, but B committed first and comes first in the chain
+            List<Long> order = jdbc.queryForList("SELECT record_id FROM audit_logs WHERE table_name = 'employees' "
+                    + "AND chain_seq > ? ORDER BY chain_seq", Long.class, base);
+            assertEquals(List.of(2L, 3L, 1L, 2L), order);
+            assertEquals(base + 4, chain.findHeadSeq());
+            assertEquals(0, jdbc.queryForObject("SELECT count(*) FROM audit_logs WHERE chain_seq IS NULL", Integer.class));
+
+            ThreadPoolTaskExecutor executor = new AuditConfig().auditVerifyExecutor(2);
+            executor.initialize();
+            try {
+                AuditChainVerificationDTO result = new AuditChainVerifier(chain, executor,
+                        new DataSourceTransactionManager(dataSource), 1000).verify(false);
+                assertTrue(result.isValid(), result.getReason());
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+}
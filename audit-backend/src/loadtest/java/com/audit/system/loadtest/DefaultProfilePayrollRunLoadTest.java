@@ -0,0 +1,5 @@
+package com.audit.system.loadtest;
+
+// Baseline: application.properties as shipped (SQL logging on, no JDBC batching, default pool)
+class DefaultProfilePayrollRunLoadTest extends PayrollRunProfileLoadTest {
+}
@@ -0,0 +1,62 @@
+package com.audit.system.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Per-endpoint latency samples and status counts; percentiles are computed once at the end
+final class LatencyRecorder {
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private int errors;
+
+        void add(long value, boolean ok) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+            if (!ok) {
+                errors++;
+            }
+        }
+    }
+
+    private final Map<String, Samples> samples = new TreeMap<>();
+
+    synchronized void record(String endpoint, long nanos, boolean ok) {
+        samples.computeIfAbsent(endpoint, e -> new Samples()).add(nanos, ok);
+    }
+
+    synchronized List<String> report(double elapsedSeconds) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%-28s %9s %7s %9s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        long total = 0;
+        for (Map.Entry<String, Samples> entry : samples.entrySet()) {
+            Samples s = entry.getValue();
+            long[] sorted = Arrays.copyOf(s.nanos, s.count);
+            Arrays.sort(sorted);
+            total += s.count;
+            lines.add(String.format(Locale.ROOT, "%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f",
+                    entry.getKey(), s.count, s.errors, s.count / elapsedSeconds,
+                    percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                    sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0.0));
+        }
+        lines.add(String.format(Locale.ROOT, "%-28s %9d %7s %9.1f", "TOTAL", total, "", total / elapsedSeconds));
+        return lines;
+    }
+
+    // Nearest-rank percentile in milliseconds
+    private static double percentile(long[] sorted, int p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+}
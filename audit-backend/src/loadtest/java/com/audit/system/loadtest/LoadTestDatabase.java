@@ -0,0 +1,109 @@
+package com.audit.system.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Embedded PostgreSQL (binaries ship inside the dependency, no network or Docker needed) with
+ * schema.sql, the data.sql seed and a scaled set of synthetic employees and personal finance users.
+ */
+final class LoadTestDatabase {
+
+    private static EmbeddedPostgres postgres;
+
+    private LoadTestDatabase() {
+    }
+
+    static synchronized EmbeddedPostgres start(int employees, int financeUsers) throws IOException, SQLException {
+        if (postgres != null) {
+            return postgres;
+        }
+        postgres = startSeeded();
+        try (Connection con = postgres.getPostgresDatabase().getConnection()) {
+            seedEmployees(con, employees);
+            seedPersonalFinance(con, financeUsers);
+        }
+        return postgres;
+    }
+
+    // A separate database with only schema.sql and the data.sql seed, for tests that must not share one
+    static EmbeddedPostgres startSeeded() throws IOException, SQLException {
+        EmbeddedPostgres seeded = EmbeddedPostgres.builder().start();
+        try (Connection con = seeded.getPostgresDatabase().getConnection(); Statement st = con.createStatement()) {
+            st.execute(classpathResource("schema.sql"));
+            st.execute(Files.readString(seedFile(), StandardCharsets.UTF_8));
+        }
+        return seeded;
+    }
+
+    // Employees spread over the seed's departments and grades, each with basic pay, allowances and
+    // statutory deductions like the data.sql structures
+    private static void seedEmployees(Connection con, int employees) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(
+                "INSERT INTO employees (employee_code, full_name, identity_no, join_date, department_id, current_grade_id, status) "
+                        + "SELECT 'LT' || lpad(g::text, 7, '0'), 'Load Test Employee ' || g, "
+                        + "'9001' || lpad((g % 100)::text, 2, '0') || '-14-' || lpad((g % 10000)::text, 4, '0'), "
+                        + "DATE '2020-01-01' + (g % 1500), 1 + g % 5, 1 + g % 4, "
+                        + "CAST(CASE WHEN g % 10 = 0 THEN 'PROBATION' ELSE 'PERMANENT' END AS employment_status) "
+                        + "FROM generate_series(1, ?) g")) {
+            ps.setInt(1, employees);
+            ps.executeUpdate();
+        }
+        try (Statement st = con.createStatement()) {
+            st.executeUpdate("INSERT INTO employee_salary_structures (employee_id, component_id, amount, effective_start_date) "
+                    + "SELECT e.id, c.id, CASE c.code "
+                    + "  WHEN 'BASIC' THEN 3500 + (e.id * 37 % 116) * 100 "
+                    + "  WHEN 'TRAVEL' THEN 500 WHEN 'INTERNET' THEN 100 WHEN 'MOBILE' THEN 150 "
+                    + "  WHEN 'EPF_EE' THEN round((3500 + (e.id * 37 % 116) * 100) * 0.11, 2) "
+                    + "  WHEN 'SOCSO_EE' THEN 29.75 WHEN 'EIS_EE' THEN 11.90 "
+                    + "  WHEN 'PCB' THEN round((e.id * 37 % 116) * 15, 2) END, "
+                    + "DATE '2024-01-01' "
+                    + "FROM employees e JOIN salary_components c ON "
+                    + "  c.code IN ('BASIC', 'EPF_EE', 'SOCSO_EE', 'EIS_EE') "
+                    + "  OR (c.code = 'INTERNET' AND e.id % 2 = 0) "
+                    + "  OR (c.code = 'TRAVEL' AND e.id % 3 = 0) "
+                    + "  OR (c.code = 'MOBILE' AND e.id % 5 = 0) "
+                    + "  OR (c.code = 'PCB' AND e.id * 37 % 116 > 15) "
+                    + "WHERE e.employee_code LIKE 'LT%'");
+            st.execute("ANALYZE");
+        }
+    }
+
+    // Two years of monthly records per user (table from schema.sql)
+    private static void seedPersonalFinance(Connection con, int users) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(
+                "INSERT INTO personal_finance (user_email, year, month, basic_salary, total_income, total_deductions, "
+                        + "zakat_monthly, total_expenses, savings, gold_savings, balance, created_at) "
+                        + "SELECT 'user' || u || '@loadtest.local', 2024 + m / 12, m % 12 + 1, "
+                        + "4000 + u % 50 * 100, 4500 + u % 50 * 100, 600, 100, 2500, 1000 * m, 200 * m, "
+                        + "CASE WHEN m % 2 = 0 THEN 1400 + u % 50 * 100 END, now() "
+                        + "FROM generate_series(1, ?) u CROSS JOIN generate_series(0, 23) m")) {
+            ps.setInt(1, users);
+            ps.executeUpdate();
+        }
+    }
+
+    private static String classpathResource(String name) throws IOException {
+        try (InputStream in = LoadTestDatabase.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException(name + " not found on the classpath");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // data.sql lives at the repository root; override with -Dloadtest.seed-sql=<path>
+    private static Path seedFile() {
+        return Paths.get(System.getProperty("loadtest.seed-sql", "../data.sql"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.audit.system.loadtest;
+
+import com.audit.system.repository.EmployeeRepository;
+import com.audit.system.service.PayrollService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Delta payroll runs against the embedded PostgreSQL: change detection is a native query over the
+ * audit trigger stream, so it is checked here rather than with mocks.
+ */
+@Tag("load")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "logging.level.org.hibernate.SQL=WARN"})
+class PayrollDeltaLoadTest {
+
+    private static final int EMPLOYEES = Integer.getInteger("loadtest.employees", 20000);
+    private static final int MONTH = 7;
+    private static final int YEAR = 2026;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedPostgres postgres = LoadTestDatabase.start(EMPLOYEES, 0);
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @Test
+    void zakatSettingChangeIsPickedUpByADeltaRun() {
+        payrollService.generatePayroll(MONTH, YEAR);
+        assertEquals(0, new BigDecimal("350.00").compareTo(zakatItem(1L)));
+
+        // Database clock, the one audit_logs.changed_at is stamped with
+        LocalDateTime before = jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", LocalDateTime.class);
+        jdbcTemplate.update("UPDATE employee_zakat_settings SET amount_or_rate = 400.00 WHERE employee_id = 1");
+
+        assertEquals(List.of(1L), employeeRepository.findIdsChangedSince(before));
+        payrollService.recalculatePayroll(MONTH, YEAR);
+        assertEquals(0, new BigDecimal("400.00").compareTo(zakatItem(1L)));
+    }
+
+    private BigDecimal zakatItem(Long employeeId) {
+        return jdbcTemplate.queryForObject("SELECT i.amount FROM payroll_items i "
+                + "JOIN payroll_runs r ON r.id = i.payroll_run_id "
+                + "JOIN salary_components c ON c.id = i.component_id "
+                + "WHERE r.month = ? AND r.year = ? AND i.employee_id = ? AND c.code = 'ZAKAT_DED'",
+                BigDecimal.class, MONTH, YEAR, employeeId);
+    }
+}
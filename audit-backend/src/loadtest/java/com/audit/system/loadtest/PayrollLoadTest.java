@@ -0,0 +1,226 @@
+package com.audit.system.loadtest;
+
+import com.audit.system.dto.PayrollJobStatusDTO;
+import com.audit.system.service.PayrollService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays a weighted mix of dashboard, finance and payroll requests against the running app on an
+ * embedded PostgreSQL and prints p50/p95/p99 latency and throughput per endpoint. Payroll jobs the
+ * mix queues are followed to completion; their run time is reported and a failed job fails the
+ * test. Only runs with the loadtest profile:
+ *
+ *   mvn -Ploadtest test -Dloadtest.employees=20000 -Dloadtest.concurrency=16 -Dloadtest.duration-seconds=60
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "logging.level.org.hibernate.SQL=WARN"})
+class PayrollLoadTest {
+
+    private static final int EMPLOYEES = Integer.getInteger("loadtest.employees", 20000);
+    private static final int FINANCE_USERS = Integer.getInteger("loadtest.finance-users", 500);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 16);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 60);
+    private static final int YEAR = 2026;
+
+    // Request mix: name, weight, a URI builder (random parameters per call) and the non-2xx statuses
+    // that are expected answers rather than failures
+    private record Endpoint(String name, int weight, String method, IntFunction<String> path, Set<Integer> expected) {
+        Endpoint(String name, int weight, String method, IntFunction<String> path) {
+            this(name, weight, method, path, Set.of());
+        }
+
+        boolean isOk(int status) {
+            return (status >= 200 && status < 300) || expected.contains(status);
+        }
+    }
+
+    private static final List<Endpoint> MIX = List.of(
+            new Endpoint("GET dashboard/trend", 15, "GET", r -> "/api/dashboard/trend?year=" + YEAR),
+            new Endpoint("GET dashboard/cost-by-dept", 15, "GET", r -> "/api/dashboard/cost-by-dept?year=" + YEAR),
+            new Endpoint("GET dashboard/summary", 10, "GET", r -> "/api/dashboard/summary?year=" + YEAR),
+            new Endpoint("GET dashboard/recent-logs", 5, "GET", r -> "/api/dashboard/recent-logs"),
+            new Endpoint("GET finance/summary", 30, "GET",
+                    r -> "/api/finance/summary?email=user" + (1 + r % FINANCE_USERS) + "@loadtest.local"),
+            new Endpoint("GET employees/page", 10, "GET", r -> "/api/employees/page?size=50&after=" + (r % EMPLOYEES)),
+            new Endpoint("GET payroll/payslip", 12, "GET", r -> "/api/payroll/runs/2/payslips/" + (21 + r % EMPLOYEES)),
+            // 202 queues the job (or returns the one already running for the period); 503: the queue is full
+            new Endpoint("POST payroll/generate", 3, "POST", r -> "/api/payroll/generate?month=3&year=" + YEAR,
+                    Set.of(503)));
+
+    private static final String GENERATE = "POST payroll/generate";
+    private static final int JOB_TIMEOUT_SECONDS = Integer.getInteger("loadtest.job-timeout-seconds", 600);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedPostgres postgres = LoadTestDatabase.start(EMPLOYEES, FINANCE_USERS);
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @Test
+    void replayRequestMix() throws Exception {
+        // Payroll items for the dashboards: January finalized, February still a draft
+        long seedStart = System.nanoTime();
+        payrollService.generatePayroll(1, YEAR);
+        payrollService.finalizePayroll(1, YEAR);
+        payrollService.generatePayroll(2, YEAR);
+        System.out.printf("Seeded %d employees, payroll runs 1-2/%d in %d ms%n",
+                EMPLOYEES, YEAR, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(CONCURRENCY))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        run(client, WARMUP_SECONDS, new LatencyRecorder(), new ConcurrentHashMap<>());
+        LatencyRecorder recorder = new LatencyRecorder();
+        Map<String, PayrollJobStatusDTO> jobs = new ConcurrentHashMap<>();
+        long start = System.nanoTime();
+        run(client, DURATION_SECONDS, recorder, jobs);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        List<String> failedJobs = awaitJobs(client, jobs.keySet(), recorder);
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("Load test: %d employees, %d finance users, concurrency %d, %.1f s",
+                EMPLOYEES, FINANCE_USERS, CONCURRENCY, elapsed));
+        report.addAll(recorder.report(elapsed));
+        report.addAll(failedJobs);
+        report.forEach(System.out::println);
+
+        Path file = Paths.get("target", "loadtest-report.txt");
+        Files.createDirectories(file.getParent());
+        Files.write(file, report, StandardCharsets.UTF_8);
+        assertTrue(report.size() > 2, "no requests were recorded");
+        assertTrue(failedJobs.isEmpty(), "payroll jobs did not complete: " + failedJobs);
+    }
+
+    /**
+     * Polls every queued payroll job until it finishes and records its submit-to-finish time as
+     * "JOB payroll/generate"; returns a line per job that failed, was cancelled or timed out.
+     */
+    private List<String> awaitJobs(HttpClient client, Set<String> jobIds, LatencyRecorder recorder) throws Exception {
+        List<String> failed = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(JOB_TIMEOUT_SECONDS);
+        for (String jobId : jobIds) {
+            PayrollJobStatusDTO job = fetchJob(client, jobId);
+            while (job.getFinishedAt() == null && System.nanoTime() < deadline) {
+                Thread.sleep(500);
+                job = fetchJob(client, jobId);
+            }
+            if (job.getFinishedAt() == null) {
+                failed.add(String.format("Job %s still %s after %d s", jobId, job.getStatus(), JOB_TIMEOUT_SECONDS));
+                continue;
+            }
+            long nanos = Duration.between(job.getSubmittedAt(), job.getFinishedAt()).toNanos();
+            boolean completed = "COMPLETED".equals(job.getStatus());
+            recorder.record("JOB payroll/generate", nanos, completed);
+            if (!completed) {
+                failed.add(String.format("Job %s %s after %d ms: %s", jobId, job.getStatus(),
+                        TimeUnit.NANOSECONDS.toMillis(nanos), job.getError()));
+            }
+        }
+        return failed;
+    }
+
+    private PayrollJobStatusDTO fetchJob(HttpClient client, String jobId) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/payroll/jobs/" + jobId)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), "job " + jobId + " is gone");
+        return objectMapper.readValue(response.body(), PayrollJobStatusDTO.class);
+    }
+
+    private void run(HttpClient client, int seconds, LatencyRecorder recorder, Map<String, PayrollJobStatusDTO> jobs)
+            throws InterruptedException {
+        int totalWeight = MIX.stream().mapToInt(Endpoint::weight).sum();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        for (int w = 0; w < CONCURRENCY; w++) {
+            workers.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Endpoint endpoint = pick(random.nextInt(totalWeight));
+                    HttpRequest.Builder request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + endpoint.path().apply(random.nextInt(1 << 30))))
+                            .timeout(Duration.ofSeconds(30));
+                    if ("POST".equals(endpoint.method())) {
+                        request.POST(HttpRequest.BodyPublishers.noBody());
+                    }
+
+                    long t0 = System.nanoTime();
+                    boolean ok;
+                    try {
+                        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                        ok = endpoint.isOk(response.statusCode());
+                        if (GENERATE.equals(endpoint.name()) && response.statusCode() == 202) {
+                            // Repeated submits for the period return the same job while it runs
+                            PayrollJobStatusDTO job = objectMapper.readValue(response.body(), PayrollJobStatusDTO.class);
+                            jobs.putIfAbsent(job.getJobId(), job);
+                        }
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    recorder.record(endpoint.name(), System.nanoTime() - t0, ok);
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+    }
+
+    private static Endpoint pick(int roll) {
+        for (Endpoint endpoint : MIX) {
+            roll -= endpoint.weight();
+            if (roll < 0) {
+                return endpoint;
+            }
+        }
+        return MIX.get(MIX.size() - 1);
+    }
+}
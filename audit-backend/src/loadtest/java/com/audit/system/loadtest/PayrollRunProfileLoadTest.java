@@ -0,0 +1,133 @@
+package com.audit.system.loadtest;
+
+import com.audit.system.model.EmployeeSalaryStructure;
+import com.audit.system.repository.EmployeeSalaryStructureRepository;
+import com.audit.system.service.PayrollService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times a full payroll run and a bulk salary revision (close the current BASIC structure, insert
+ * the revised one, through JPA) under one configuration profile. Subclasses pick the profile; run
+ * both and compare target/payroll-run-*.txt:
+ *
+ *   mvn -Ploadtest test -Dtest='*ProfilePayrollRunLoadTest' -Dloadtest.employees=50000
+ */
+@Tag("load")
+@SpringBootTest
+abstract class PayrollRunProfileLoadTest {
+
+    private static final int EMPLOYEES = Integer.getInteger("loadtest.employees", 20000);
+    private static final int REVISIONS = Integer.getInteger("loadtest.revisions", 5000);
+    private static final int ROUNDS = Integer.getInteger("loadtest.rounds", 3);
+    private static final int YEAR = 2026;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeSalaryStructureRepository structureRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Environment environment;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedPostgres postgres = LoadTestDatabase.start(EMPLOYEES, 0);
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @Test
+    void payrollRunAndSalaryRevision() throws Exception {
+        String profile = environment.getActiveProfiles().length == 0 ? "default"
+                : String.join(",", environment.getActiveProfiles());
+
+        // The first round warms up the JIT, caches and the database; it is not counted
+        long[] payroll = new long[ROUNDS];
+        long[] revision = new long[ROUNDS];
+        for (int round = -1; round < ROUNDS; round++) {
+            long t0 = System.nanoTime();
+            payrollService.generatePayroll(4, YEAR);
+            long t1 = System.nanoTime();
+            reviseSalaries();
+            long t2 = System.nanoTime();
+            if (round >= 0) {
+                payroll[round] = t1 - t0;
+                revision[round] = t2 - t1;
+            }
+        }
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("Profile %s: %d employees, %d rounds", profile, EMPLOYEES, ROUNDS));
+        report.add(String.format("  payroll run        median %6d ms  (%s)", median(payroll), millis(payroll)));
+        report.add(String.format("  %d salary revisions median %6d ms  (%s)", REVISIONS, median(revision), millis(revision)));
+        report.forEach(System.out::println);
+
+        Path file = Paths.get("target", "payroll-run-" + profile + ".txt");
+        Files.createDirectories(file.getParent());
+        Files.write(file, report, StandardCharsets.UTF_8);
+        assertTrue(median(payroll) > 0);
+    }
+
+    // Ends each current structure and inserts a 5% raise in its place, rolled back so
+    // every round starts from the same data
+    private void reviseSalaries() {
+        LocalDate effective = LocalDate.of(YEAR, 5, 1);
+        transactionTemplate.executeWithoutResult(status -> {
+            List<EmployeeSalaryStructure> current = structureRepository.findAll(PageRequest.of(0, REVISIONS)).getContent();
+            List<EmployeeSalaryStructure> changed = new ArrayList<>(current.size() * 2);
+            for (EmployeeSalaryStructure structure : current) {
+                structure.setEffectiveEndDate(effective.minusDays(1));
+                EmployeeSalaryStructure revised = new EmployeeSalaryStructure();
+                revised.setEmployee(structure.getEmployee());
+                revised.setComponent(structure.getComponent());
+                revised.setAmount(structure.getAmount().multiply(new BigDecimal("1.05")).setScale(2, RoundingMode.HALF_UP));
+                revised.setEffectiveStartDate(effective);
+                revised.setCreatedBy("loadtest");
+                changed.add(structure);
+                changed.add(revised);
+            }
+            structureRepository.saveAll(changed);
+            structureRepository.flush();
+            status.setRollbackOnly();
+        });
+    }
+
+    private static long median(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length / 2]);
+    }
+
+    private static String millis(long[] nanos) {
+        return Arrays.stream(nanos).map(TimeUnit.NANOSECONDS::toMillis).mapToObj(Long::toString)
+                .reduce((a, b) -> a + ", " + b).orElse("");
+    }
+}
@@ -0,0 +1,8 @@
+package com.audit.system.loadtest;
+
+import org.springframework.test.context.ActiveProfiles;
+
+// application-prod.properties: batching, statement caching, tuned pool, no SQL logging
+@ActiveProfiles("prod")
+class ProdProfilePayrollRunLoadTest extends PayrollRunProfileLoadTest {
+}
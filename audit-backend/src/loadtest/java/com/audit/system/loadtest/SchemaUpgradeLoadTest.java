@@ -0,0 +1,78 @@
+package com.audit.system.loadtest;
+
+import com.audit.system.config.SchemaUpgrade;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs SchemaUpgrade against tables laid out the old way: payroll_items with SERIAL ids (old
+ * schema.sql), employee_salary_structures with an identity column (created by ddl-auto from the
+ * old IDENTITY mapping), and personal_finance without its unique key. Runs on its own embedded
+ * PostgreSQL, with the loadtest profile.
+ */
+@Tag("load")
+class SchemaUpgradeLoadTest {
+
+    @Test
+    void oldSequencesStepByFiftyAboveExistingIds() throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            DataSource dataSource = postgres.getPostgresDatabase();
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute("CREATE TABLE payroll_items (id SERIAL PRIMARY KEY, amount NUMERIC)");
+            jdbc.execute("CREATE TABLE employee_salary_structures "
+                    + "(id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, amount NUMERIC)");
+            jdbc.execute("INSERT INTO payroll_items (amount) SELECT g FROM generate_series(1, 101) g");
+            jdbc.execute("INSERT INTO employee_salary_structures (amount) SELECT g FROM generate_series(1, 7) g");
+
+            new SchemaUpgrade(dataSource).afterPropertiesSet();
+            new SchemaUpgrade(dataSource).afterPropertiesSet(); // Second start: nothing left to do
+
+            for (String table : new String[] {"payroll_items", "employee_salary_structures"}) {
+                String sequence = table + "_id_seq";
+                assertEquals(50L, jdbc.queryForObject(
+                        "SELECT increment_by FROM pg_sequences WHERE sequencename = ?", Long.class, sequence));
+                long max = jdbc.queryForObject("SELECT max(id) FROM " + table, Long.class);
+                long hi1 = jdbc.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+                long hi2 = jdbc.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+                // Pooled blocks (hi - 49 .. hi) lie above the old ids and do not overlap
+                assertTrue(hi1 - 49 > max, table);
+                assertEquals(hi1 + 50, hi2, table);
+                // Explicit ids (the JDBC writer, Hibernate) are accepted
+                jdbc.update("INSERT INTO " + table + " (id, amount) VALUES (?, 0)", hi1 - 49);
+            }
+        }
+    }
+
+    @Test
+    void duplicateFinanceRowsKeepTheNewestAndGetTheKey() throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            DataSource dataSource = postgres.getPostgresDatabase();
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute("CREATE TABLE personal_finance (id BIGSERIAL PRIMARY KEY, user_email VARCHAR(255) NOT NULL, "
+                    + "year INT NOT NULL, month INT NOT NULL, savings NUMERIC, created_at TIMESTAMP)");
+            jdbc.execute("INSERT INTO personal_finance (user_email, year, month, savings, created_at) VALUES "
+                    + "('a@x.my', 2026, 1, 100, '2026-01-05'), ('a@x.my', 2026, 1, 300, '2026-01-20'), "
+                    + "('a@x.my', 2026, 1, 200, '2026-01-10'), ('a@x.my', 2026, 2, 50, NULL), "
+                    + "('b@x.my', 2026, 1, 10, '2026-01-02')");
+
+            new SchemaUpgrade(dataSource).afterPropertiesSet();
+            new SchemaUpgrade(dataSource).afterPropertiesSet();
+
+            assertEquals(3, jdbc.queryForObject("SELECT count(*) FROM personal_finance", Integer.class));
+            assertEquals(0, new BigDecimal("300").compareTo(jdbc.queryForObject(
+                    "SELECT savings FROM personal_finance WHERE user_email = 'a@x.my' AND month = 1",
+                    BigDecimal.class)));
+            // The repository's upsert has its conflict target now
+            jdbc.update("INSERT INTO personal_finance (user_email, year, month, savings) VALUES ('b@x.my', 2026, 1, 20) "
+                    + "ON CONFLICT (user_email, year, month) DO UPDATE SET savings = EXCLUDED.savings");
+            assertEquals(3, jdbc.queryForObject("SELECT count(*) FROM personal_finance", Integer.class));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.audit.system.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A verified range of the chain: its last entry's digest and the Merkle root over all its digests
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditChainCheckpoint {
+    private long fromSeq;
+    private long toSeq;
+    private String endDigest;
+    private String merkleRoot;
+}
@@ -0,0 +1,67 @@
+package com.audit.system.audit;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Java side of audit_log_digest() in schema.sql: SHA-256 over the previous digest and the entry's
+ * fields joined by '|'. Both sides must stay byte-for-byte identical. Not thread-safe; one per
+ * verifying thread.
+ */
+public class AuditChainDigest {
+
+    public static final String GENESIS = "0".repeat(64);
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final MessageDigest sha256;
+
+    public AuditChainDigest() {
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public byte[] digest(String prevDigest, AuditChainEntry entry) {
+        String content = String.join("|", prevDigest, Long.toString(entry.getChainSeq()), entry.getTableName(),
+                Long.toString(entry.getRecordId()), entry.getAction(), orEmpty(entry.getOldValues()),
+                orEmpty(entry.getNewValues()), orEmpty(entry.getChangedBy()), entry.getChangedAt(),
+                orEmpty(entry.getIpAddress()), orEmpty(entry.getUserAgent()));
+        return sha256.digest(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Pairwise SHA-256 up to one root; an odd node at the end of a level is carried up unchanged
+    public String merkleRoot(List<byte[]> leaves) {
+        if (leaves.isEmpty()) {
+            return GENESIS;
+        }
+        List<byte[]> level = leaves;
+        while (level.size() > 1) {
+            List<byte[]> next = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i < level.size(); i += 2) {
+                if (i + 1 == level.size()) {
+                    next.add(level.get(i));
+                } else {
+                    sha256.update(level.get(i));
+                    next.add(sha256.digest(level.get(i + 1)));
+                }
+            }
+            level = next;
+        }
+        return hex(level.get(0));
+    }
+
+    public static String hex(byte[] digest) {
+        return HEX.formatHex(digest);
+    }
+
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,19 @@
+package com.audit.system.audit;
+
+import lombok.Data;
+
+// One audit_logs row as hashed by audit_log_digest(): JSON and timestamp already in their canonical text form
+@Data
+public class AuditChainEntry {
+    private long chainSeq;
+    private String digest;
+    private String tableName;
+    private long recordId;
+    private String action;
+    private String oldValues;
+    private String newValues;
+    private String changedBy;
+    private String changedAt;
+    private String ipAddress;
+    private String userAgent;
+}
@@ -0,0 +1,174 @@
+package com.audit.system.audit;
+
+import com.audit.system.dto.AuditChainVerificationDTO;
+import com.audit.system.repository.AuditChainJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Verifies the audit_logs hash chain. Only entries after the last checkpoint are read: they are
+ * split into ranges of audit.chain.range-size that are verified in parallel, each range seeded
+ * with the stored digest of the entry before it (the first one with the checkpoint's own digest,
+ * so rewriting already-verified history is caught too). Every range that verifies becomes a
+ * checkpoint with the Merkle root of its digests. A full pass also re-reads every checkpointed
+ * range still online and compares its end digest and Merkle root.
+ */
+@Slf4j
+@Service
+public class AuditChainVerifier {
+
+    private final AuditChainJdbcRepository chainRepository;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate readOnly;
+    private final int rangeSize;
+
+    public AuditChainVerifier(AuditChainJdbcRepository chainRepository,
+            @Qualifier("auditVerifyExecutor") ThreadPoolTaskExecutor executor,
+            PlatformTransactionManager transactionManager,
+            @Value("${audit.chain.range-size:100000}") int rangeSize) {
+        this.chainRepository = chainRepository;
+        this.executor = executor;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.rangeSize = rangeSize;
+    }
+
+    // One pass at a time; checkpoints are appended in chain order
+    public synchronized AuditChainVerificationDTO verify(boolean full) {
+        long started = System.currentTimeMillis();
+        List<AuditChainCheckpoint> checkpoints = chainRepository.findCheckpoints();
+        AuditChainCheckpoint last = checkpoints.isEmpty() ? null : checkpoints.get(checkpoints.size() - 1);
+        long verifiedTo = last == null ? 0 : last.getToSeq();
+        long headSeq = chainRepository.findHeadSeq();
+
+        List<Range> ranges = new ArrayList<>();
+        if (full) {
+            long minOnline = chainRepository.findMinOnlineSeq();
+            String prev = AuditChainDigest.GENESIS;
+            for (AuditChainCheckpoint checkpoint : checkpoints) {
+                // Ranges partly or wholly archived are skipped; the rest are seeded from the checkpoint before them
+                if (checkpoint.getFromSeq() >= minOnline) {
+                    ranges.add(new Range(checkpoint.getFromSeq(), checkpoint.getToSeq(), prev, checkpoint));
+                }
+                prev = checkpoint.getEndDigest();
+            }
+        }
+        for (long from = verifiedTo + 1; from <= headSeq; from += rangeSize) {
+            // Ranges after the first are seeded from the stored digest before them, which the
+            // preceding range verifies
+            String prev = from == verifiedTo + 1 ? (last == null ? AuditChainDigest.GENESIS : last.getEndDigest()) : null;
+            ranges.add(new Range(from, Math.min(from + rangeSize - 1, headSeq), prev, null));
+        }
+
+        List<Future<RangeResult>> futures = new ArrayList<>(ranges.size());
+        for (Range range : ranges) {
+            futures.add(executor.submit(() -> readOnly.execute(status -> verifyRange(range))));
+        }
+
+        long checked = 0;
+        long verifiedFrom = ranges.isEmpty() ? verifiedTo + 1 : ranges.get(0).from();
+        long verifiedUpTo = verifiedFrom - 1;
+        for (int i = 0; i < ranges.size(); i++) {
+            Range range = ranges.get(i);
+            RangeResult result = await(futures.get(i), range);
+            checked += result.entries();
+            if (result.brokenSeq() == null && range.checkpoint() != null) {
+                result = compareWithCheckpoint(result, range.checkpoint());
+            }
+            if (result.brokenSeq() != null) {
+                futures.subList(i + 1, futures.size()).forEach(f -> f.cancel(true));
+                log.error("Audit chain broken at entry {}: {}", result.brokenSeq(), result.reason());
+                return new AuditChainVerificationDTO(false, verifiedFrom, verifiedUpTo, checked, i + 1,
+                        result.brokenSeq(), result.reason(), System.currentTimeMillis() - started);
+            }
+            if (range.checkpoint() == null) {
+                chainRepository.saveCheckpoint(new AuditChainCheckpoint(range.from(), range.to(), result.endDigest(),
+                        result.merkleRoot()));
+            }
+            verifiedUpTo = range.to();
+        }
+        return new AuditChainVerificationDTO(true, verifiedFrom, verifiedUpTo, checked, ranges.size(), null, null,
+                System.currentTimeMillis() - started);
+    }
+
+    RangeResult verifyRange(Range range) {
+        String seed = range.prevDigest();
+        if (seed == null) {
+            seed = chainRepository.findDigest(range.from() - 1);
+            if (seed == null) {
+                return RangeResult.broken(range.from() - 1, "entry is missing");
+            }
+        }
+        AuditChainDigest digests = new AuditChainDigest();
+        List<byte[]> leaves = new ArrayList<>((int) (range.to() - range.from() + 1));
+        String[] prev = {seed.trim()};
+        long[] expected = {range.from()};
+        RangeResult[] broken = {null};
+        chainRepository.streamEntries(range.from(), range.to(), entry -> {
+            if (broken[0] != null) {
+                return;
+            }
+            if (entry.getChainSeq() != expected[0]) {
+                broken[0] = RangeResult.broken(expected[0], "entry is missing");
+                return;
+            }
+            byte[] digest = digests.digest(prev[0], entry);
+            String hex = AuditChainDigest.hex(digest);
+            if (entry.getDigest() == null || !hex.equals(entry.getDigest().trim())) {
+                broken[0] = RangeResult.broken(entry.getChainSeq(), "content or digest was altered");
+                return;
+            }
+            leaves.add(digest);
+            prev[0] = hex;
+            expected[0]++;
+        });
+        if (broken[0] != null) {
+            return broken[0];
+        }
+        if (expected[0] <= range.to()) {
+            return RangeResult.broken(expected[0], "entry is missing");
+        }
+        return new RangeResult(leaves.size(), prev[0], digests.merkleRoot(leaves), null, null);
+    }
+
+    private static RangeResult compareWithCheckpoint(RangeResult result, AuditChainCheckpoint checkpoint) {
+        if (!result.endDigest().equals(checkpoint.getEndDigest().trim())
+                || !result.merkleRoot().equals(checkpoint.getMerkleRoot().trim())) {
+            return RangeResult.broken(checkpoint.getFromSeq(),
+                    "range " + checkpoint.getFromSeq() + "-" + checkpoint.getToSeq() + " no longer matches its checkpoint");
+        }
+        return result;
+    }
+
+    private static RangeResult await(Future<RangeResult> future, Range range) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Audit chain verification interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not verify audit chain range " + range.from() + "-" + range.to(),
+                    e.getCause());
+        }
+    }
+
+    // prevDigest null: seed from the stored digest of the entry before the range
+    record Range(long from, long to, String prevDigest, AuditChainCheckpoint checkpoint) {
+    }
+
+    record RangeResult(long entries, String endDigest, String merkleRoot, Long brokenSeq, String reason) {
+        static RangeResult broken(long seq, String reason) {
+            return new RangeResult(0, null, null, seq, reason);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.audit.system.audit;
+
+import com.audit.system.repository.AuditChainJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Links committed audit_logs entries into the hash chain (chain_pending_audit_logs() in
+ * schema.sql). Chaining after commit instead of in an insert trigger means business transactions
+ * never hold the chain head lock, so they neither serialize nor deadlock on it; only this step
+ * takes it, one batch per transaction. Every node runs it, the head lock keeps them in turn.
+ */
+@Slf4j
+@Component
+public class AuditChainer {
+
+    private final AuditChainJdbcRepository chainRepository;
+    private final int batchSize;
+
+    public AuditChainer(AuditChainJdbcRepository chainRepository,
+            @Value("${audit.chain.link-batch-size:5000}") int batchSize) {
+        this.chainRepository = chainRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${audit.chain.link-interval-ms:1000}")
+    public void chainPending() {
+        long linked = 0;
+        int batch;
+        do {
+            batch = chainRepository.chainPending(batchSize);
+            linked += batch;
+        } while (batch == batchSize);
+        if (linked > 0) {
+            log.debug("Linked {} audit entries into the chain", linked);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.audit.system.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Captures inserts, updates and deletes on the audited tables for AuditPipeline, replacing the
+ * log_audit_change() trigger in APPLICATION mode (the trigger skips connections that set
+ * audit.pipeline_mode, see application.properties). Snapshots are taken from Hibernate's entity
+ * state, keyed by column name like to_jsonb(row), with associations stored as their foreign key.
+ * Events are journaled as they are captured, during the flush before commit, so a crash right
+ * after the commit cannot lose them; the pipeline writes them only once the transaction commits.
+ */
+@Component
+public class AuditEntityListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    // Same tables as the audit_*_changes triggers
+    static final Set<String> AUDITED_TABLES = Set.of(
+            "employees", "employee_salary_structures", "grades", "employee_zakat_settings");
+
+    private static final String CHANGED_BY = "SYSTEM";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final AuditPipeline pipeline;
+    private final ObjectMapper objectMapper;
+
+    public AuditEntityListener(EntityManagerFactory entityManagerFactory, AuditPipeline pipeline,
+            ObjectMapper objectMapper) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.pipeline = pipeline;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void register() {
+        if (!pipeline.isEnabled()) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        capture(event.getPersister(), event.getSession(), event.getId(), "INSERT", null, event.getState());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        // Old state is null only for a detached update(); the trigger would have the row, we do not
+        capture(event.getPersister(), event.getSession(), event.getId(), "UPDATE",
+                event.getOldState(), event.getState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        capture(event.getPersister(), event.getSession(), event.getId(), "DELETE", event.getDeletedState(), null);
+    }
+
+    // Captured on commit by our own synchronization, not Hibernate's post-commit listeners
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void capture(EntityPersister persister, SharedSessionContractImplementor session, Object id,
+            String action, Object[] oldState, Object[] newState) {
+        AbstractEntityPersister entity = (AbstractEntityPersister) persister;
+        String tableName = entity.getTableName();
+        if (!AUDITED_TABLES.contains(tableName)) {
+            return;
+        }
+        AuditEvent event = new AuditEvent(0, tableName, ((Number) id).longValue(), action,
+                snapshot(entity, session, id, oldState), snapshot(entity, session, id, newState),
+                CHANGED_BY, LocalDateTime.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Not in beforeCommit: the flush at commit runs after those callbacks
+            pipeline.journal(event);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    // An unknown outcome is written: a spurious entry beats a missing one
+                    if (status == STATUS_ROLLED_BACK) {
+                        pipeline.discard(event);
+                    } else {
+                        pipeline.commit(event);
+                    }
+                }
+            });
+        } else {
+            pipeline.submit(event);
+        }
+    }
+
+    private String snapshot(AbstractEntityPersister entity, SharedSessionContractImplementor session, Object id,
+            Object[] state) {
+        if (state == null) {
+            return null;
+        }
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put(entity.getIdentifierColumnNames()[0], id);
+        Type[] types = entity.getPropertyTypes();
+        for (int i = 0; i < state.length; i++) {
+            String[] columns = entity.getPropertyColumnNames(i);
+            if (columns.length != 1 || types[i].isCollectionType()) {
+                continue;
+            }
+            Object value = state[i];
+            if (value != null && types[i] instanceof EntityType association) {
+                value = foreignKey(association, value, session);
+            }
+            // A read-only copy of a foreign key column (employeeId next to employee) must not blank it
+            if (value == null) {
+                row.putIfAbsent(columns[0], null);
+            } else {
+                row.put(columns[0], value);
+            }
+        }
+        try {
+            return objectMapper.writeValueAsString(row);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise audit snapshot of " + entity.getEntityName(), e);
+        }
+    }
+
+    private static Object foreignKey(EntityType association, Object value, SharedSessionContractImplementor session) {
+        if (value instanceof HibernateProxy proxy) {
+            return proxy.getHibernateLazyInitializer().getInternalIdentifier(); // No need to load it
+        }
+        return session.getEntityPersister(association.getAssociatedEntityName(), value).getIdentifier(value, session);
+    }
+}
@@ -0,0 +1,21 @@
+package com.audit.system.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// One captured row change; old/new values are JSON snapshots keyed by column name, like the trigger's to_jsonb
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEvent {
+    private long seq; // Assigned by the journal; orders events and marks what has been written
+    private String tableName;
+    private Long recordId;
+    private String action; // INSERT, UPDATE, DELETE
+    private String oldValues;
+    private String newValues;
+    private String changedBy;
+    private LocalDateTime changedAt;
+}
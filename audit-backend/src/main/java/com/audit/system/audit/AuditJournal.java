@@ -0,0 +1,212 @@
+package com.audit.system.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Append-only spill file for audit events, one JSON line per event, split into segments named by
+ * their first sequence number. Every event is appended (and handed to the OS) when it is captured,
+ * before its transaction commits, so a crash loses nothing that was committed: on restart the
+ * events after the last written sequence are replayed from here. A rolled back event gets a
+ * discard marker and is skipped. Segments are deleted once everything in them is in audit_logs.
+ * Not a Spring bean; owned by AuditPipeline.
+ */
+public class AuditJournal implements AutoCloseable {
+
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".journal";
+    // Action of a marker line: the event with the marker's sequence number was rolled back
+    static final String DISCARDED = "DISCARDED";
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final ObjectMapper objectMapper;
+
+    // Closed segments with the last sequence they hold, oldest first
+    private final List<Segment> closed = new ArrayList<>();
+    private Segment current;
+    private FileChannel channel;
+    private long lastSeq;
+
+    public AuditJournal(Path dir, long segmentBytes, ObjectMapper objectMapper) throws IOException {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.objectMapper = objectMapper;
+        Files.createDirectories(dir);
+
+        // Pick up segments left by a previous process; they are replayed, never appended to
+        for (Path file : segmentFiles()) {
+            long[] last = {0};
+            read(file, 0, event -> last[0] = Math.max(last[0], event.getSeq()));
+            if (last[0] == 0) {
+                Files.delete(file); // Rolled but never written
+                continue;
+            }
+            closed.add(new Segment(file, last[0]));
+            lastSeq = Math.max(lastSeq, last[0]);
+        }
+    }
+
+    // Sequence numbers continue after both the journal and what audit_logs already has
+    public synchronized void startAfter(long writtenSeq) {
+        lastSeq = Math.max(lastSeq, writtenSeq);
+    }
+
+    /**
+     * Assigns the next sequence number and appends the event. Callers that also queue the event must
+     * do so while holding the journal's lock, so the queue stays in sequence order.
+     */
+    public synchronized long append(AuditEvent event) {
+        event.setSeq(lastSeq + 1);
+        write(event);
+        lastSeq = event.getSeq();
+        current.lastSeq = lastSeq;
+        return lastSeq;
+    }
+
+    // Marks an appended event as rolled back; the marker takes no sequence number of its own
+    public synchronized void discard(long seq) {
+        AuditEvent marker = new AuditEvent();
+        marker.setSeq(seq);
+        marker.setAction(DISCARDED);
+        write(marker);
+    }
+
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    // Flushes appended events to the device; the writer calls this once per batch
+    public synchronized void force() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    // Streams every journaled event with a sequence above afterSeq that was not discarded, in order
+    public void forEachAfter(long afterSeq, Consumer<AuditEvent> consumer) throws IOException {
+        List<Segment> segments;
+        synchronized (this) {
+            segments = new ArrayList<>(closed);
+            if (current != null) {
+                segments.add(current);
+            }
+        }
+        // A marker can land in a later segment than its event, so collect them all first
+        Set<Long> discarded = new HashSet<>();
+        for (Segment segment : segments) {
+            read(segment.file, afterSeq, event -> {
+                if (DISCARDED.equals(event.getAction())) {
+                    discarded.add(event.getSeq());
+                }
+            });
+        }
+        for (Segment segment : segments) {
+            if (segment.lastSeq > afterSeq) {
+                read(segment.file, afterSeq, event -> {
+                    if (!DISCARDED.equals(event.getAction()) && !discarded.contains(event.getSeq())) {
+                        consumer.accept(event);
+                    }
+                });
+            }
+        }
+    }
+
+    // Deletes closed segments whose events are all written
+    public synchronized void deleteUpTo(long writtenSeq) throws IOException {
+        while (!closed.isEmpty() && closed.get(0).lastSeq <= writtenSeq) {
+            Files.deleteIfExists(closed.remove(0).file);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void write(AuditEvent event) {
+        try {
+            byte[] line = (objectMapper.writeValueAsString(event) + "\n").getBytes(StandardCharsets.UTF_8);
+            // A marker stays with the current segment: a segment named after an unused sequence
+            // would clash with the one the next append opens after a restart
+            boolean marker = DISCARDED.equals(event.getAction());
+            if (current == null || (!marker && channel.size() + line.length > segmentBytes)) {
+                roll(lastSeq + 1);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to audit journal " + dir, e);
+        }
+    }
+
+    private void roll(long firstSeq) throws IOException {
+        if (current != null) {
+            channel.force(false);
+            channel.close();
+            closed.add(current);
+        }
+        Path file = dir.resolve(String.format("%s%020d%s", PREFIX, firstSeq, SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        current = new Segment(file, firstSeq - 1);
+    }
+
+    // A line cut short by a crash (or an append in progress) ends the segment
+    private void read(Path file, long afterSeq, Consumer<AuditEvent> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                AuditEvent event;
+                try {
+                    event = objectMapper.readValue(line, AuditEvent.class);
+                } catch (JsonProcessingException e) {
+                    return;
+                }
+                if (event.getSeq() > afterSeq) {
+                    consumer.accept(event);
+                }
+            }
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null); // Zero-padded first sequence, so name order is sequence order
+        return files;
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private volatile long lastSeq;
+
+        private Segment(Path file, long lastSeq) {
+            this.file = file;
+            this.lastSeq = lastSeq;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.audit.system.audit;
+
+import com.audit.system.repository.AuditLogJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly audit_logs partitions in shape: creates the coming months' partitions (an
+ * insert into a month without one would fail, there is no default partition) and archives months
+ * older than audit.retention.online-months into the audit_archive schema. Runs at startup and daily.
+ */
+@Slf4j
+@Component
+public class AuditLogRetentionJob {
+
+    private static final Pattern PARTITION = Pattern.compile("audit_logs_y(\\d{4})m(\\d{2})");
+
+    private final AuditLogJdbcRepository auditLogJdbcRepository;
+    private final ZoneId zone;
+    private final int monthsAhead;
+    private final int onlineMonths;
+
+    public AuditLogRetentionJob(AuditLogJdbcRepository auditLogJdbcRepository,
+            @Value("${audit.system.timezone:Asia/Kuala_Lumpur}") String timezone,
+            @Value("${audit.retention.months-ahead:3}") int monthsAhead,
+            @Value("${audit.retention.online-months:24}") int onlineMonths) {
+        this.auditLogJdbcRepository = auditLogJdbcRepository;
+        this.zone = ZoneId.of(timezone);
+        this.monthsAhead = monthsAhead;
+        this.onlineMonths = onlineMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${audit.retention.cron:0 30 1 * * *}", zone = "${audit.system.timezone:Asia/Kuala_Lumpur}")
+    public void maintain() {
+        YearMonth current = YearMonth.now(zone);
+        for (int i = 0; i <= monthsAhead; i++) {
+            auditLogJdbcRepository.ensurePartition(current.plusMonths(i).atDay(1));
+        }
+        if (onlineMonths <= 0) {
+            return; // Retention disabled, keep everything online
+        }
+        for (String partition : expiredPartitions(auditLogJdbcRepository.findPartitionNames(),
+                current.minusMonths(onlineMonths))) {
+            auditLogJdbcRepository.archivePartition(partition);
+            log.info("Archived audit partition {} to audit_archive", partition);
+        }
+    }
+
+    // Partitions wholly before the first month still kept online; unrecognised names are left alone
+    static List<String> expiredPartitions(List<String> partitions, YearMonth oldestOnline) {
+        List<String> expired = new ArrayList<>();
+        for (String partition : partitions) {
+            Matcher m = PARTITION.matcher(partition);
+            if (m.matches() && YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)))
+                    .isBefore(oldestOnline)) {
+                expired.add(partition);
+            }
+        }
+        return expired;
+    }
+}
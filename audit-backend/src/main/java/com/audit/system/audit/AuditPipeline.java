@@ -0,0 +1,391 @@
+package com.audit.system.audit;
+
+import com.audit.system.repository.AuditLogJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes captured row changes to audit_logs off the request threads (audit.pipeline.mode=APPLICATION).
+ * Each event is journaled when captured, while its transaction is still open, and queued once that
+ * transaction commits (a rollback marks it discarded instead). One writer thread drains the queue
+ * into multi-row INSERTs in sequence order, never past an event whose transaction is still open,
+ * and records the last written sequence in audit_pipeline_checkpoints in the same transaction. On
+ * startup anything journaled after that checkpoint and not discarded is replayed, so a committed
+ * event survives a crash and is written exactly once. A crash between journaling and a rollback
+ * does write the rolled back event; a lost change is the worse failure. When the queue is full the
+ * event stays in the journal only and the writer reads it back from there instead of blocking the
+ * caller.
+ */
+@Slf4j
+@Component
+public class AuditPipeline implements SmartLifecycle, MeterBinder {
+
+    private final AuditLogJdbcRepository auditLogJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditPipelineMode mode;
+    private final Path journalDir;
+    private final long segmentBytes;
+    private final String nodeId;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final int queueCapacity;
+    private final BlockingQueue<AuditEvent> queue;
+
+    // Guarded by the journal's lock: sequences whose transaction is still open, and the highest
+    // committed sequence that only the journal holds (the queue was full)
+    private final NavigableSet<Long> open = new TreeSet<>();
+    private long spilledSeq;
+    // Writer thread only: committed events waiting for an earlier open one, by sequence
+    private final TreeMap<Long, AuditEvent> ready = new TreeMap<>();
+    private long takenSeq;
+    private volatile AuditJournal journal;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile long writtenSeq;
+    private Counter written;
+    private Counter overflows;
+
+    public AuditPipeline(AuditLogJdbcRepository auditLogJdbcRepository, TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${audit.pipeline.mode:TRIGGER}") AuditPipelineMode mode,
+            @Value("${audit.pipeline.journal-dir:audit-journal}") String journalDir,
+            @Value("${audit.pipeline.segment-bytes:67108864}") long segmentBytes,
+            @Value("${audit.pipeline.node-id:${HOSTNAME:local}}") String nodeId,
+            @Value("${audit.pipeline.queue-capacity:50000}") int queueCapacity,
+            @Value("${audit.pipeline.batch-size:500}") int batchSize,
+            @Value("${audit.pipeline.flush-interval-ms:200}") long flushIntervalMs) {
+        this.auditLogJdbcRepository = auditLogJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.mode = mode;
+        this.journalDir = Path.of(journalDir);
+        this.segmentBytes = segmentBytes;
+        this.nodeId = nodeId;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.queueCapacity = queueCapacity;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public boolean isEnabled() {
+        return mode == AuditPipelineMode.APPLICATION;
+    }
+
+    /**
+     * Journals one change of a transaction that has not committed yet; commit or discard must
+     * follow. Throws while the pipeline is not running, failing the transaction rather than
+     * committing a change that is not journaled.
+     */
+    public void journal(AuditEvent event) {
+        AuditJournal journal = this.journal;
+        if (journal == null) {
+            throw new IllegalStateException("Audit pipeline is not running (audit.pipeline.mode=" + mode + ")");
+        }
+        synchronized (journal) {
+            if (!running) {
+                throw new IllegalStateException("Audit pipeline has stopped");
+            }
+            open.add(journal.append(event));
+        }
+    }
+
+    /**
+     * Releases a journaled change to the writer once its transaction committed. After a stop the
+     * change stays open, so the writer does not pass it and the next start replays it.
+     */
+    public void commit(AuditEvent event) {
+        AuditJournal journal = this.journal;
+        synchronized (journal) {
+            if (!running) {
+                return;
+            }
+            open.remove(event.getSeq());
+            if (!queue.offer(event)) {
+                spilledSeq = Math.max(spilledSeq, event.getSeq());
+            }
+        }
+    }
+
+    // Marks a journaled change of a rolled back transaction so it is never written
+    public void discard(AuditEvent event) {
+        AuditJournal journal = this.journal;
+        synchronized (journal) {
+            if (!running) {
+                log.warn("Audit pipeline stopped, rolled back event {} will be replayed", event.getSeq());
+                return;
+            }
+            journal.discard(event.getSeq());
+            open.remove(event.getSeq());
+        }
+    }
+
+    // Journals and queues a change made outside a transaction
+    public void submit(AuditEvent event) {
+        journal(event);
+        commit(event);
+    }
+
+    @Override
+    public void start() {
+        // In TRIGGER mode only a journal left by an earlier APPLICATION run needs draining
+        if (!isEnabled() && !Files.isDirectory(journalDir)) {
+            return;
+        }
+        try {
+            journal = new AuditJournal(journalDir, segmentBytes, objectMapper);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open audit journal " + journalDir, e);
+        }
+        writtenSeq = auditLogJdbcRepository.findWrittenSeq(nodeId);
+        journal.startAfter(writtenSeq);
+        replayJournal(Long.MAX_VALUE); // Events left open by a crash count as committed
+        if (!isEnabled()) {
+            closeJournal();
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Audit pipeline started, node {} resumes after sequence {}", nodeId, writtenSeq);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false; // The writer drains the queue and exits within one flush interval
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Whatever is still unwritten is in the journal and is replayed on the next start
+        synchronized (journal) {
+            closeJournal();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server (which stops last-in, first-out) but before the DataSource is closed
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 2048;
+    }
+
+    private void writeLoop() {
+        boolean spilling = false;
+        while (running) {
+            try {
+                // Not interrupted on stop: an interrupt would close the journal's channel mid-append
+                AuditEvent first = spilling ? null : queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    take(first);
+                }
+                // Read together, before draining: every committed event up to the horizon is then
+                // either in the queue or covered by spilledSeq
+                long horizon;
+                long spilled;
+                synchronized (journal) {
+                    horizon = horizon();
+                    spilled = spilledSeq;
+                }
+                if (writtenSeq < spilled) {
+                    if (!spilling && overflows != null) {
+                        overflows.increment();
+                    }
+                    spilling = true;
+                    spill();
+                    replayJournal(horizon);
+                    if (writtenSeq < spilledSeq()) {
+                        Thread.sleep(flushIntervalMs); // An open transaction holds back the spilled events
+                    }
+                    continue;
+                }
+                spilling = false;
+                drainQueue();
+                if (ready.size() >= queueCapacity) {
+                    spill(); // Held back too long by an open transaction; the journal has them
+                } else if (writeReady(horizon) == 0) {
+                    journal.force(); // Bounds what an OS crash can lose to one flush interval
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                log.warn("Could not force audit journal {}", journalDir, e);
+            } catch (RuntimeException e) {
+                // Database unavailable: leave the events in the journal and read them back later
+                log.warn("Audit events not written, will retry from the journal", e);
+                spill();
+                sleepQuietly();
+            }
+        }
+        // Stopping: write what is committed; anything else stays in the journal for the next start
+        try {
+            synchronized (journal) {
+                if (writtenSeq < spilledSeq) {
+                    return;
+                }
+            }
+            long horizon = horizon();
+            drainQueue();
+            writeReady(horizon);
+        } catch (RuntimeException e) {
+            log.warn("Audit events not written before stopping, will replay from the journal", e);
+        }
+    }
+
+    // Highest sequence below every open transaction: everything up to it is committed or discarded
+    private long horizon() {
+        synchronized (journal) {
+            return open.isEmpty() ? journal.getLastSeq() : open.first() - 1;
+        }
+    }
+
+    private long spilledSeq() {
+        synchronized (journal) {
+            return spilledSeq;
+        }
+    }
+
+    private void take(AuditEvent event) {
+        ready.put(event.getSeq(), event);
+        takenSeq = Math.max(takenSeq, event.getSeq());
+    }
+
+    private void drainQueue() {
+        List<AuditEvent> drained = new ArrayList<>();
+        queue.drainTo(drained);
+        drained.forEach(this::take);
+    }
+
+    // Drops every committed event held in memory; the writer reads them back from the journal
+    private void spill() {
+        drainQueue();
+        ready.clear();
+        synchronized (journal) {
+            spilledSeq = Math.max(spilledSeq, takenSeq);
+        }
+    }
+
+    // Writes the ready events up to horizon, in sequence order
+    private int writeReady(long horizon) {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        int count = 0;
+        while (!ready.isEmpty() && ready.firstKey() <= horizon) {
+            batch.add(ready.pollFirstEntry().getValue());
+            if (batch.size() == batchSize || ready.isEmpty() || ready.firstKey() > horizon) {
+                try {
+                    journal.force();
+                } catch (IOException e) {
+                    log.warn("Could not force audit journal {}", journalDir, e);
+                }
+                write(batch);
+                count += batch.size();
+                batch.clear();
+            }
+        }
+        return count;
+    }
+
+    private void replayJournal(long horizon) {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        try {
+            journal.forEachAfter(writtenSeq, event -> {
+                if (event.getSeq() > horizon) {
+                    return;
+                }
+                batch.add(event);
+                if (batch.size() == batchSize) {
+                    write(batch);
+                    batch.clear();
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not replay audit journal " + journalDir, e);
+        }
+        write(batch);
+    }
+
+    private void write(List<AuditEvent> batch) {
+        // Events at or below the checkpoint were already written (queued copies of replayed events)
+        List<AuditEvent> pending = batch.stream().filter(e -> e.getSeq() > writtenSeq).toList();
+        if (pending.isEmpty()) {
+            return;
+        }
+        long lastSeq = pending.get(pending.size() - 1).getSeq();
+        transactionTemplate.executeWithoutResult(status -> {
+            auditLogJdbcRepository.insertBatch(pending);
+            auditLogJdbcRepository.saveWrittenSeq(nodeId, lastSeq);
+        });
+        writtenSeq = lastSeq;
+        if (written != null) {
+            written.increment(pending.size());
+        }
+        try {
+            journal.deleteUpTo(lastSeq);
+        } catch (IOException e) {
+            log.warn("Could not delete written audit journal segments in {}", journalDir, e);
+        }
+    }
+
+    private void closeJournal() {
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("Could not close audit journal {}", journalDir, e);
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(Math.max(flushIntervalMs, 1000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("audit.pipeline.queue.size", queue, BlockingQueue::size)
+                .description("Audit events waiting for the writer")
+                .register(registry);
+        Gauge.builder("audit.pipeline.lag", this, p -> p.journal == null ? 0 : p.journal.getLastSeq() - p.writtenSeq)
+                .description("Audit events journaled but not yet in audit_logs")
+                .register(registry);
+        written = Counter.builder("audit.pipeline.written")
+                .description("Audit events written to audit_logs")
+                .register(registry);
+        overflows = Counter.builder("audit.pipeline.overflows")
+                .description("Times the writer fell back to reading the journal")
+                .register(registry);
+    }
+}
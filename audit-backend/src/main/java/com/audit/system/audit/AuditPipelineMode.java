@@ -0,0 +1,6 @@
+package com.audit.system.audit;
+
+public enum AuditPipelineMode {
+    TRIGGER, // log_audit_change() writes audit_logs synchronously (default)
+    APPLICATION // Hibernate listeners capture changes, AuditPipeline writes them in batches
+}
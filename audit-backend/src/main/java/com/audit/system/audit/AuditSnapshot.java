@@ -0,0 +1,17 @@
+package com.audit.system.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// An employee's reconstructed state after its audit entries up to one chain position, stored in audit_snapshots
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditSnapshot {
+    private Long employeeId;
+    private Long asOfSeq;
+    private LocalDateTime maxChangedAt; // Latest changed_at among the entries it covers
+    private String state; // JSON of EmployeeTemporalService.State
+}
@@ -0,0 +1,48 @@
+package com.audit.system.cache;
+
+import com.audit.system.dto.CacheStatsDTO;
+import com.audit.system.dto.EmployeeStateDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Reconstructed employee states per (employee, point in time). EmployeeTemporalService only admits
+ * points in time older than the settle window, and drops an employee's states once audit entries
+ * for it are chained: an entry committed late can still belong before a cached point in time.
+ */
+@Component
+public class EmployeeStateCache implements MeterBinder {
+
+    private final LruCache<String, EmployeeStateDTO> states;
+
+    public EmployeeStateCache(@Value("${audit.temporal.cache.max-size:5000}") int statesSize) {
+        this.states = new LruCache<>("employee-states", statesSize);
+    }
+
+    public EmployeeStateDTO getOrLoad(Long employeeId, LocalDateTime asOf, Supplier<EmployeeStateDTO> loader) {
+        return states.getOrLoad(employeeId + "@" + asOf, key -> loader.get());
+    }
+
+    public void invalidateEmployee(Long employeeId) {
+        String prefix = employeeId + "@";
+        states.invalidateIf(key -> key.startsWith(prefix));
+    }
+
+    public void clear() {
+        states.clear();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        states.bindTo(registry);
+    }
+
+    public CacheStatsDTO stats() {
+        return states.stats();
+    }
+}
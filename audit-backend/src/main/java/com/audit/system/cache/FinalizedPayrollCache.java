@@ -0,0 +1,110 @@
+package com.audit.system.cache;
+
+import com.audit.system.dto.CacheStatsDTO;
+import com.audit.system.dto.DepartmentCostRowDTO;
+import com.audit.system.dto.PayslipDTO;
+import com.audit.system.model.PayrollRun;
+import com.audit.system.service.PayrollRunStatusChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Caches read-only views of FINALIZED/PAID payroll runs: run totals, per-employee payslips and
+ * department cost rows. DRAFT data is never admitted (it changes on every re-run), and all entries
+ * of a run are dropped once a status change commits; a load overlapping that is not cached (see
+ * LruCache). Runs are held as detached copies and every caller gets its own copy, so nobody can
+ * change the cached one.
+ */
+@Component
+public class FinalizedPayrollCache implements MeterBinder {
+
+    private final LruCache<String, PayrollRun> runs;
+    private final LruCache<String, PayslipDTO> payslips;
+    private final LruCache<Long, List<DepartmentCostRowDTO>> departmentCosts;
+
+    public FinalizedPayrollCache(@Value("${payroll.cache.runs.max-size:240}") int runsSize,
+            @Value("${payroll.cache.payslips.max-size:50000}") int payslipsSize,
+            @Value("${payroll.cache.department-costs.max-size:240}") int departmentCostsSize) {
+        this.runs = new LruCache<>("payroll-runs", runsSize);
+        this.payslips = new LruCache<>("payslips", payslipsSize);
+        this.departmentCosts = new LruCache<>("department-costs", departmentCostsSize);
+    }
+
+    public static boolean isCacheable(PayrollRun run) {
+        return run != null && isCacheable(run.getStatus());
+    }
+
+    private static boolean isCacheable(String status) {
+        return "FINALIZED".equals(status) || "PAID".equals(status);
+    }
+
+    // The run of the period, from the cache or the loader; null if there is none
+    public PayrollRun getRun(int month, int year, Supplier<PayrollRun> loader) {
+        PayrollRun run = runs.getOrLoad(periodKey(month, year), key -> detach(loader.get()),
+                FinalizedPayrollCache::isCacheable);
+        return detach(run);
+    }
+
+    public PayslipDTO getPayslip(Long runId, Long employeeId, Supplier<PayslipDTO> loader) {
+        return payslips.getOrLoad(payslipKey(runId, employeeId), key -> loader.get(),
+                payslip -> isCacheable(payslip.getRunStatus()));
+    }
+
+    public List<DepartmentCostRowDTO> getDepartmentCosts(Long runId) {
+        return departmentCosts.get(runId);
+    }
+
+    // Items of a FINALIZED/PAID run never change, so the rows do not go stale with its status
+    public void putDepartmentCosts(PayrollRun run, List<DepartmentCostRowDTO> rows) {
+        if (isCacheable(run)) {
+            departmentCosts.put(run.getId(), List.copyOf(rows));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(PayrollRunStatusChangedEvent event) {
+        invalidateRun(event.getPayrollRunId(), event.getMonth(), event.getYear());
+    }
+
+    public void invalidateRun(Long runId, int month, int year) {
+        String payslipPrefix = runId + ":";
+        runs.invalidate(periodKey(month, year));
+        payslips.invalidateIf(key -> key.startsWith(payslipPrefix));
+        departmentCosts.invalidate(runId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        runs.bindTo(registry);
+        payslips.bindTo(registry);
+        departmentCosts.bindTo(registry);
+    }
+
+    public List<CacheStatsDTO> stats() {
+        return List.of(runs.stats(), payslips.stats(), departmentCosts.stats());
+    }
+
+    private static PayrollRun detach(PayrollRun run) {
+        if (run == null) {
+            return null;
+        }
+        PayrollRun copy = new PayrollRun();
+        BeanUtils.copyProperties(run, copy);
+        return copy;
+    }
+
+    private static String periodKey(int month, int year) {
+        return year + "-" + month;
+    }
+
+    private static String payslipKey(Long runId, Long employeeId) {
+        return runId + ":" + employeeId;
+    }
+}
@@ -0,0 +1,41 @@
+package com.audit.system.cache;
+
+import com.audit.system.dto.CacheStatsDTO;
+import com.audit.system.dto.PersonalFinanceSummaryDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Personal finance dashboard summaries per user email. Entries only change through
+ * PersonalFinanceService, which invalidates the user's entry on every save and delete.
+ */
+@Component
+public class FinanceSummaryCache implements MeterBinder {
+
+    private final LruCache<String, PersonalFinanceSummaryDTO> summaries;
+
+    public FinanceSummaryCache(@Value("${finance.cache.summaries.max-size:10000}") int summariesSize) {
+        this.summaries = new LruCache<>("finance-summaries", summariesSize);
+    }
+
+    public PersonalFinanceSummaryDTO getOrLoad(String email, Function<String, PersonalFinanceSummaryDTO> loader) {
+        return summaries.getOrLoad(email, loader);
+    }
+
+    public void invalidate(String email) {
+        summaries.invalidate(email);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        summaries.bindTo(registry);
+    }
+
+    public CacheStatsDTO stats() {
+        return summaries.stats();
+    }
+}
@@ -0,0 +1,147 @@
+package com.audit.system.cache;
+
+import com.audit.system.dto.CacheStatsDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Small bounded LRU cache with hit/miss/eviction counters. All access is synchronized on the
+ * cache; loaders passed to getOrLoad run outside the lock so a slow query never blocks readers.
+ * A load that overlaps an invalidation of its key is returned but not cached, since it may have
+ * read the data from before the change.
+ */
+public class LruCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final LinkedHashMap<K, V> entries;
+    // Keys with a load in progress; invalidating one bumps its generation
+    private final Map<K, Load> loading = new HashMap<>();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public LruCache(String name, int maxSize) {
+        this.name = name;
+        this.maxSize = maxSize;
+        // Access order: get() moves an entry to the tail, the head is the least recently used
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return value;
+    }
+
+    // Returns the cached value or loads it; null results are not cached
+    public V getOrLoad(K key, Function<K, V> loader) {
+        return getOrLoad(key, loader, value -> true);
+    }
+
+    // As above, caching a loaded value only if admit accepts it
+    public V getOrLoad(K key, Function<K, V> loader, Predicate<V> admit) {
+        Load load;
+        long generation;
+        synchronized (this) {
+            V value = get(key);
+            if (value != null) {
+                return value;
+            }
+            load = loading.computeIfAbsent(key, k -> new Load());
+            load.count++;
+            generation = load.generation;
+        }
+        V value = null;
+        try {
+            value = loader.apply(key);
+            return value;
+        } finally {
+            synchronized (this) {
+                if (value != null && load.generation == generation && admit.test(value)) {
+                    entries.put(key, value);
+                }
+                if (--load.count == 0) {
+                    loading.remove(key);
+                }
+            }
+        }
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        Load load = loading.get(key);
+        if (load != null) {
+            load.generation++;
+        }
+    }
+
+    public synchronized void invalidateIf(Predicate<K> keyPredicate) {
+        entries.keySet().removeIf(keyPredicate);
+        loading.forEach((key, load) -> {
+            if (keyPredicate.test(key)) {
+                load.generation++;
+            }
+        });
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        loading.values().forEach(load -> load.generation++);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Standard cache meters (cache.gets, cache.evictions, cache.size) plus the hit ratio, tagged by name
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", this, c -> c.stats().getHits())
+                .tag("cache", name).tag("result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", this, c -> c.stats().getMisses())
+                .tag("cache", name).tag("result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", this, c -> c.stats().getEvictions())
+                .tag("cache", name).register(registry);
+        Gauge.builder("cache.size", this, LruCache::size)
+                .tag("cache", name).register(registry);
+        Gauge.builder("cache.hit.ratio", this, c -> c.stats().getHitRatio())
+                .tag("cache", name).register(registry);
+    }
+
+    // Loads of one key in progress, and how often the key was invalidated since the first began
+    private static final class Load {
+        private int count;
+        private long generation;
+    }
+
+    public synchronized CacheStatsDTO stats() {
+        long requests = hits + misses;
+        return new CacheStatsDTO(name, entries.size(), maxSize, hits, misses, evictions,
+                requests > 0 ? (double) hits / requests : 0.0);
+    }
+}
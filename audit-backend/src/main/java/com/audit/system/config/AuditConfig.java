@@ -0,0 +1,20 @@
+package com.audit.system.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AuditConfig {
+
+    // Verifies hash chain ranges in parallel; each busy thread streams one range over its own connection
+    @Bean
+    public ThreadPoolTaskExecutor auditVerifyExecutor(@Value("${audit.chain.verify-threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("audit-verify-");
+        return executor;
+    }
+}
@@ -0,0 +1,34 @@
+package com.audit.system.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class PayrollConfig {
+
+    // Bounded pool for partitioned payroll runs. Every busy thread holds a DB connection,
+    // so keep payroll.partition.threads below the connection pool size.
+    @Bean
+    public ThreadPoolTaskExecutor payrollPartitionExecutor(@Value("${payroll.partition.threads:8}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("payroll-partition-");
+        return executor;
+    }
+
+    // Runs submitted payroll jobs off the request threads. Submissions beyond the queue are rejected.
+    @Bean
+    public ThreadPoolTaskExecutor payrollJobExecutor(@Value("${payroll.job.threads:2}") int threads,
+            @Value("${payroll.job.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("payroll-job-");
+        return executor;
+    }
+}
@@ -0,0 +1,102 @@
+package com.audit.system.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Brings a database created before the current schema.sql up to what the entity mappings expect.
+ * Runs before the EntityManagerFactory (see SchemaUpgradeConfig), so before ddl-auto=update and
+ * Hibernate's sequence checks. Every step is a no-op on a database built from schema.sql.
+ */
+@Slf4j
+@Component(SchemaUpgrade.BEAN_NAME)
+public class SchemaUpgrade implements InitializingBean {
+
+    static final String BEAN_NAME = "schemaUpgrade";
+
+    // allocationSize of the pooled @SequenceGenerator ids and PayrollItemJdbcRepository's block size
+    static final int ID_BLOCK = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Own transaction manager: the JPA one is not there yet
+    public SchemaUpgrade(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        upgradeToPooledIds("payroll_items", "payroll_items_id_seq");
+        upgradeToPooledIds("employee_salary_structures", "employee_salary_structures_id_seq");
+        addPersonalFinanceKey();
+    }
+
+    // Old tables use SERIAL (or an identity column when Hibernate created them) stepping by 1; the
+    // pooled mappings read each nextval as the top of a block of ID_BLOCK ids, so the sequence must
+    // step by ID_BLOCK and restart above every id already used
+    void upgradeToPooledIds(String table, String sequence) {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table))) {
+            return; // Fresh database: Hibernate creates table and sequence from the mapping
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // Blocks inserts from nodes still running the old mapping, and a second node upgrading at once
+            jdbcTemplate.execute("LOCK TABLE " + table + " IN SHARE ROW EXCLUSIVE MODE");
+            Long increment = jdbcTemplate.query("SELECT increment_by FROM pg_sequences "
+                    + "WHERE schemaname = current_schema() AND sequencename = ?",
+                    rs -> rs.next() ? rs.getLong(1) : null, sequence);
+            if (increment != null && increment == ID_BLOCK) {
+                return;
+            }
+            String identity = jdbcTemplate.queryForObject("SELECT attidentity::text FROM pg_attribute "
+                    + "WHERE attrelid = to_regclass(?) AND attname = 'id'", String.class, table);
+            if (identity != null && !identity.isBlank()) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET GENERATED BY DEFAULT "
+                        + "SET INCREMENT BY " + ID_BLOCK);
+            } else if (increment == null) {
+                jdbcTemplate.execute("CREATE SEQUENCE " + sequence + " INCREMENT BY " + ID_BLOCK
+                        + " OWNED BY " + table + ".id");
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+            } else {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + ID_BLOCK);
+            }
+            // The next nextval is max(id) + 2 * ID_BLOCK, the top of a block lying wholly above max(id)
+            Long restart = jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', "
+                    + "COALESCE((SELECT max(id) FROM " + table + "), 0) + " + ID_BLOCK + ")", Long.class);
+            log.info("Switched {} to pooled ids: {} now steps by {} from {}", table, sequence, ID_BLOCK, restart);
+        });
+    }
+
+    // personal_finance was created by ddl-auto without a key, so older databases can hold several rows
+    // per user and month. ddl-auto cannot add the unique key over them (it only logs a warning) and
+    // every upsert would then fail, so the newest row per (user_email, year, month) is kept and the
+    // key added here
+    void addPersonalFinanceKey() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass('personal_finance') IS NOT NULL",
+                Boolean.class))) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("LOCK TABLE personal_finance IN SHARE ROW EXCLUSIVE MODE");
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_constraint "
+                    + "WHERE conrelid = 'personal_finance'::regclass AND conname = 'uk_personal_finance_user_period')",
+                    Boolean.class))) {
+                return;
+            }
+            int removed = jdbcTemplate.update("DELETE FROM personal_finance p USING ("
+                    + "SELECT id, row_number() OVER (PARTITION BY user_email, year, month "
+                    + "ORDER BY created_at DESC NULLS LAST, id DESC) AS n FROM personal_finance) d "
+                    + "WHERE p.id = d.id AND d.n > 1");
+            jdbcTemplate.execute("ALTER TABLE personal_finance ADD CONSTRAINT uk_personal_finance_user_period "
+                    + "UNIQUE (user_email, year, month)");
+            log.info("Added uk_personal_finance_user_period after removing {} older duplicate rows", removed);
+        });
+    }
+}
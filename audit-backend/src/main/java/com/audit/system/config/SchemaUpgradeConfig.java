@@ -0,0 +1,15 @@
+package com.audit.system.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SchemaUpgradeConfig {
+
+    // Hibernate builds (and ddl-auto updates) the schema only after SchemaUpgrade has run
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryDependsOnSchemaUpgrade() {
+        return new EntityManagerFactoryDependsOnPostProcessor(SchemaUpgrade.BEAN_NAME);
+    }
+}
@@ -0,0 +1,53 @@
+package com.audit.system.controller;
+
+import com.audit.system.audit.AuditChainVerifier;
+import com.audit.system.dto.AuditChainVerificationDTO;
+import com.audit.system.dto.AuditLogPageDTO;
+import com.audit.system.service.AuditHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/audit-logs")
+@RequiredArgsConstructor
+public class AuditLogController {
+
+    private final AuditHistoryService auditHistoryService;
+    private final AuditChainVerifier auditChainVerifier;
+
+    // Verifies the hash chain from the last checkpoint; full=true also re-checks every checkpointed range
+    @PostMapping("/verify")
+    public ResponseEntity<AuditChainVerificationDTO> verifyChain(@RequestParam(defaultValue = "false") boolean full) {
+        return ResponseEntity.ok(auditChainVerifier.verify(full));
+    }
+
+    // Newest first, e.g. /api/audit-logs/employees?size=100&before=2024-01-01T00:00:00, then ?after=<nextCursor>
+    @GetMapping("/{tableName}")
+    public ResponseEntity<AuditLogPageDTO> getTableHistory(@PathVariable String tableName,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(auditHistoryService.findTableHistory(tableName, after, before, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{tableName}/{recordId}")
+    public ResponseEntity<AuditLogPageDTO> getRecordHistory(@PathVariable String tableName,
+            @PathVariable Long recordId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(auditHistoryService.findRecordHistory(tableName, recordId, after, before, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
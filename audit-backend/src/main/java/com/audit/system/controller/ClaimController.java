@@ -0,0 +1,69 @@
+package com.audit.system.controller;
+
+import com.audit.system.dto.ClaimBatchResultDTO;
+import com.audit.system.dto.ClaimDecisionDTO;
+import com.audit.system.service.ClaimService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/claims")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class ClaimController {
+
+    private final ClaimService claimService;
+
+    // JSON array body, parsed as a stream
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ClaimBatchResultDTO> submitJson(InputStream body,
+            @RequestParam(required = false) String submittedBy) throws IOException {
+        try {
+            return ResponseEntity.ok(claimService.submitJson(body, submittedBy));
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            // Nothing is kept: the submission was rolled back
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Raw CSV body (Content-Type: text/csv)
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<ClaimBatchResultDTO> submitCsv(InputStream body,
+            @RequestParam(required = false) String submittedBy) throws IOException {
+        return ResponseEntity.ok(claimService.submitCsv(body, submittedBy));
+    }
+
+    // CSV file upload (multipart field "file")
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ClaimBatchResultDTO> uploadCsv(@RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String submittedBy) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(claimService.submitCsv(in, submittedBy));
+        }
+    }
+
+    @PostMapping("/approve")
+    public ResponseEntity<ClaimBatchResultDTO> approve(@RequestBody ClaimDecisionDTO decision) {
+        try {
+            return ResponseEntity.ok(claimService.approve(decision));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/reject")
+    public ResponseEntity<ClaimBatchResultDTO> reject(@RequestBody ClaimDecisionDTO decision) {
+        try {
+            return ResponseEntity.ok(claimService.reject(decision));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
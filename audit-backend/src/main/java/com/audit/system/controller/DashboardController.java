@@ -3,6 +3,7 @@ package com.audit.system.controller;
 import com.audit.system.dto.DepartmentCostDTO;
 import com.audit.system.dto.MonthlyTrendDTO;
 import com.audit.system.model.AuditLog;
+import com.audit.system.model.PayrollMonthlySummary;
 import com.audit.system.service.DashboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -24,8 +25,16 @@ public class DashboardController {
     }
 
     @GetMapping("/cost-by-dept")
-    public ResponseEntity<List<DepartmentCostDTO>> getDepartmentCosts(@RequestParam int year) {
-        return ResponseEntity.ok(dashboardService.getDepartmentCosts(year));
+    public ResponseEntity<List<DepartmentCostDTO>> getDepartmentCosts(@RequestParam int year,
+            @RequestParam(defaultValue = "1") int fromMonth,
+            @RequestParam(defaultValue = "12") int toMonth,
+            @RequestParam(required = false) String costCenter) {
+        return ResponseEntity.ok(dashboardService.getDepartmentCosts(year, fromMonth, toMonth, costCenter));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<List<PayrollMonthlySummary>> getMonthlySummaries(@RequestParam int year) {
+        return ResponseEntity.ok(dashboardService.getMonthlySummaries(year));
     }
 
     @GetMapping("/recent-logs")
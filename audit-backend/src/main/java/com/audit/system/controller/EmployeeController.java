@@ -1,11 +1,21 @@
 package com.audit.system.controller;
 
+import com.audit.system.dto.EmployeePageDTO;
+import com.audit.system.dto.EmployeeStateDTO;
+import com.audit.system.dto.SalaryStructureEntryDTO;
 import com.audit.system.model.Employee;
+import com.audit.system.model.EmploymentStatus;
 import com.audit.system.repository.EmployeeRepository;
+import com.audit.system.service.EmployeeListingService;
+import com.audit.system.service.EmployeeTemporalService;
+import com.audit.system.service.SalaryStructureIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,12 +25,32 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeRepository employeeRepository;
+    private final SalaryStructureIndex salaryStructureIndex;
+    private final EmployeeListingService employeeListingService;
+    private final EmployeeTemporalService employeeTemporalService;
 
     @GetMapping
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
 
+    // Keyset-paginated listing, e.g. /api/employees/page?after=120&size=50&status=PERMANENT&fields=id,fullName
+    @GetMapping("/page")
+    public ResponseEntity<EmployeePageDTO> getEmployeePage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) EmploymentStatus status,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long gradeId,
+            @RequestParam(required = false) List<String> fields) {
+        try {
+            return ResponseEntity.ok(employeeListingService.findPage(after, size, sort, status, departmentId, gradeId, fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployee(@PathVariable Long id) {
         return employeeRepository.findById(id)
@@ -28,6 +58,24 @@ public class EmployeeController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Salary structure in force on the given date (default today), served from the in-memory index
+    @GetMapping("/{id}/salary-structure")
+    public List<SalaryStructureEntryDTO> getSalaryStructure(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return salaryStructureIndex.findActive(id, date != null ? date : LocalDate.now());
+    }
+
+    // The employee and its salary structures as recorded in the audit trail, e.g. /api/employees/7/as-of?at=2025-06-30T23:59:59
+    @GetMapping("/{id}/as-of")
+    public ResponseEntity<EmployeeStateDTO> getStateAsOf(@PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        EmployeeStateDTO state = employeeTemporalService.getStateAsOf(id, at);
+        if (state.getEmployee() == null && state.getSalaryStructures().isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(state);
+    }
+
     @PostMapping
     public Employee createEmployee(@RequestBody Employee employee) {
         return employeeRepository.save(employee);
@@ -1,11 +1,24 @@
 package com.audit.system.controller;
 
+import com.audit.system.dto.CacheStatsDTO;
+import com.audit.system.dto.PayrollJobStatusDTO;
+import com.audit.system.dto.PayslipDTO;
 import com.audit.system.model.PayrollRun;
+import com.audit.system.model.PayrollRunPartition;
+import com.audit.system.service.PayrollJob;
+import com.audit.system.service.PayrollJobService;
+import com.audit.system.service.PayrollRunMode;
 import com.audit.system.service.PayrollService;
+import com.audit.system.service.PayslipService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api/payroll")
 @CrossOrigin(origins = "*") // Allow Angular to access
@@ -13,10 +26,68 @@ import org.springframework.web.bind.annotation.*;
 public class PayrollController {
 
     private final PayrollService payrollService;
+    private final PayrollJobService payrollJobService;
+    private final PayslipService payslipService;
 
+    // Queues the run and returns its job right away; poll /jobs/{jobId} for progress
     @PostMapping("/generate")
-    public ResponseEntity<PayrollRun> generatePayroll(@RequestParam int month, @RequestParam int year) {
-        PayrollRun run = payrollService.generatePayroll(month, year);
-        return ResponseEntity.ok(run);
+    public ResponseEntity<PayrollJobStatusDTO> generatePayroll(@RequestParam int month, @RequestParam int year,
+            @RequestParam(defaultValue = "FULL") PayrollRunMode mode) {
+        try {
+            PayrollJob job = payrollJobService.submit(month, year, mode);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/payroll/jobs/" + job.getId()))
+                    .body(job.toStatusDTO());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<PayrollJobStatusDTO> getJob(@PathVariable String jobId) {
+        return payrollJobService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(job.toStatusDTO()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<PayrollJobStatusDTO> cancelJob(@PathVariable String jobId) {
+        return payrollJobService.cancel(jobId)
+                .map(job -> ResponseEntity.ok(job.toStatusDTO()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/finalize")
+    public ResponseEntity<PayrollRun> finalizePayroll(@RequestParam int month, @RequestParam int year) {
+        return ResponseEntity.ok(payrollService.finalizePayroll(month, year));
+    }
+
+    @PostMapping("/paid")
+    public ResponseEntity<PayrollRun> markPaid(@RequestParam int month, @RequestParam int year) {
+        return ResponseEntity.ok(payrollService.markPaid(month, year));
+    }
+
+    @GetMapping("/{runId}/partitions")
+    public ResponseEntity<List<PayrollRunPartition>> getPartitions(@PathVariable Long runId) {
+        return ResponseEntity.ok(payrollService.getPartitions(runId));
+    }
+
+    @GetMapping("/runs")
+    public ResponseEntity<PayrollRun> getRun(@RequestParam int month, @RequestParam int year) {
+        return payslipService.getRun(month, year)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/runs/{runId}/payslips/{employeeId}")
+    public ResponseEntity<PayslipDTO> getPayslip(@PathVariable Long runId, @PathVariable Long employeeId) {
+        return payslipService.getPayslip(runId, employeeId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(payslipService.getCacheStats());
     }
 }
@@ -0,0 +1,66 @@
+package com.audit.system.controller;
+
+import com.audit.system.export.PayrollExportFormat;
+import com.audit.system.export.PayrollExportService;
+import com.audit.system.model.PayrollRun;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/payroll/runs/{runId}/exports")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class PayrollExportController {
+
+    private final PayrollExportService exportService;
+
+    // Download: the file is written to the response while the rows are read
+    @GetMapping("/{format}")
+    public ResponseEntity<StreamingResponseBody> download(@PathVariable Long runId, @PathVariable String format) {
+        PayrollExportFormat exportFormat = exportService.getFormat(format).orElse(null);
+        if (exportFormat == null) {
+            return ResponseEntity.notFound().build();
+        }
+        PayrollRun run = exportService.findRun(runId).orElse(null);
+        if (run == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!exportService.isExportable(run)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        StreamingResponseBody body = out -> exportService.export(run, exportFormat, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + exportFormat.getFileName(run) + "\"")
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+
+    // Server-side file under payroll.export.dir, e.g. for pickup by the bank/statutory upload job
+    @PostMapping("/{format}/file")
+    public ResponseEntity<Map<String, String>> writeFile(@PathVariable Long runId, @PathVariable String format)
+            throws IOException {
+        PayrollExportFormat exportFormat = exportService.getFormat(format).orElse(null);
+        if (exportFormat == null) {
+            return ResponseEntity.notFound().build();
+        }
+        PayrollRun run = exportService.findRun(runId).orElse(null);
+        if (run == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!exportService.isExportable(run)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        Path file = exportService.exportToFile(run, exportFormat);
+        return ResponseEntity.ok(Map.of("path", file.toAbsolutePath().toString()));
+    }
+}
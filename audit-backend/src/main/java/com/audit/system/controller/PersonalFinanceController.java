@@ -1,14 +1,13 @@
 package com.audit.system.controller;
 
+import com.audit.system.dto.PersonalFinanceSummaryDTO;
 import com.audit.system.model.PersonalFinance;
 import com.audit.system.service.PersonalFinanceService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/finance")
@@ -29,15 +28,8 @@ public class PersonalFinanceController {
     }
 
     @GetMapping("/summary")
-    public ResponseEntity<Map<String, Object>> getSummary(@RequestParam String email) {
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("netWorth", service.calculateNetWorth(email));
-        // Latest Monthly Savings (Balance + Savings from latest entry)
-        summary.put("avgMonthlySavings", service.calculateLifetimeAverageSavings(email));
-        summary.put("totalMoneySavings", service.calculateTotalMoneySavings(email));
-        summary.put("totalGoldSavings", service.calculateTotalGoldSavings(email));
-
-        return ResponseEntity.ok(summary);
+    public ResponseEntity<PersonalFinanceSummaryDTO> getSummary(@RequestParam String email) {
+        return ResponseEntity.ok(service.getSummary(email));
     }
 
     @GetMapping("/latest")
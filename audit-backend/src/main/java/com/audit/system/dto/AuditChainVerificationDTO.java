@@ -0,0 +1,20 @@
+package com.audit.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of one verification pass; firstBrokenSeq/reason are set when the chain does not verify
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditChainVerificationDTO {
+    private boolean valid;
+    private long verifiedFromSeq;
+    private long verifiedToSeq;
+    private long entriesChecked;
+    private int rangesChecked;
+    private Long firstBrokenSeq;
+    private String reason;
+    private long durationMs;
+}
@@ -0,0 +1,15 @@
+package com.audit.system.dto;
+
+import com.audit.system.model.AuditLog;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+// One keyset page of audit history, newest first; pass nextCursor as "after" to get the next (older) page
+@Data
+@AllArgsConstructor
+public class AuditLogPageDTO {
+    private List<AuditLog> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,12 @@
+package com.audit.system.dto;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ClaimBatchResultDTO {
+    private int processed; // claims inserted or updated
+    private List<Long> claimIds = new ArrayList<>();
+    private List<String> errors = new ArrayList<>(); // rejected rows, e.g. "row 12: vehicle 4 is not assigned to employee 7"
+}
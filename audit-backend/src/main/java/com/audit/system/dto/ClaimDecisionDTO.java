@@ -0,0 +1,16 @@
+package com.audit.system.dto;
+
+import lombok.Data;
+import java.time.LocalDate;
+import java.util.List;
+
+// Approve/reject request: either explicit claim ids or a filter over PENDING claims
+@Data
+public class ClaimDecisionDTO {
+    private List<Long> ids;
+    private Long employeeId;
+    private String claimType;
+    private LocalDate from;
+    private LocalDate to;
+    private String decidedBy;
+}
@@ -0,0 +1,19 @@
+package com.audit.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Flat projection of a payable claim with its vehicle's fuel limit, used by the payroll claims stage
+@Data
+@AllArgsConstructor
+public class ClaimEntryDTO {
+    private Long claimId;
+    private Long employeeId;
+    private String claimType;
+    private BigDecimal amount;
+    private LocalDate claimDate;
+    private Long vehicleId; // null = not a vehicle claim
+    private BigDecimal fuelAllowanceLimit; // null = no limit
+}
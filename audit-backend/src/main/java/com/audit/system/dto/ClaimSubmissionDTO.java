@@ -0,0 +1,17 @@
+package com.audit.system.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One claim in a bulk submission (JSON array element or CSV row)
+@Data
+public class ClaimSubmissionDTO {
+    private Long employeeId;
+    private String claimType; // e.g., "FUEL", "MEDICAL", "TOLL"
+    private BigDecimal amount;
+    private LocalDate claimDate;
+    private Long vehicleId; // required for fuel limits to apply
+    private String receiptRef;
+    private String description;
+}
@@ -1,12 +1,16 @@
 package com.audit.system.dto;
 
+import com.audit.system.model.SalaryComponentType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import java.math.BigDecimal;
+import java.util.Map;
 
 @Data
 @AllArgsConstructor
 public class DepartmentCostDTO {
     private String departmentName;
-    private BigDecimal totalCost;
+    private String costCenterCode;
+    private BigDecimal totalCost; // Employer cost: earnings + claims + company contributions
+    private Map<SalaryComponentType, BigDecimal> costByType;
 }
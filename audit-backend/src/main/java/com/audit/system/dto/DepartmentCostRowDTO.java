@@ -0,0 +1,17 @@
+package com.audit.system.dto;
+
+import com.audit.system.model.SalaryComponentType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.math.BigDecimal;
+
+// One (run, department, component type) total from the payroll_items aggregation
+@Data
+@AllArgsConstructor
+public class DepartmentCostRowDTO {
+    private Long payrollRunId;
+    private String departmentName;
+    private String costCenterCode;
+    private SalaryComponentType componentType;
+    private BigDecimal amount;
+}
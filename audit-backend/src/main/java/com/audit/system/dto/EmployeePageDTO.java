@@ -0,0 +1,15 @@
+package com.audit.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+import java.util.Map;
+
+// One keyset page of the employee listing; pass nextCursor as "after" to get the next page
+@Data
+@AllArgsConstructor
+public class EmployeePageDTO {
+    private List<Map<String, Object>> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,19 @@
+package com.audit.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// An employee and its salary structures as they stood at asOf, as column-keyed rows like audit_logs.new_values
+@Data
+@AllArgsConstructor
+public class EmployeeStateDTO {
+    private Long employeeId;
+    private LocalDateTime asOf;
+    private Map<String, Object> employee; // null if the employee did not exist (yet, or any more)
+    private List<Map<String, Object>> salaryStructures;
+    private LocalDateTime snapshotAt; // Snapshot the replay started from, null if from the first event
+    private int eventsReplayed;
+}
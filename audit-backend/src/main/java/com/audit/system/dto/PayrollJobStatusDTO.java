@@ -0,0 +1,30 @@
+package com.audit.system.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class PayrollJobStatusDTO {
+    private String jobId;
+    private int month;
+    private int year;
+    private String mode; // FULL, PARTITIONED, DELTA
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    private boolean cancelRequested;
+
+    // Progress
+    private int employeesProcessed;
+    private int itemsWritten;
+    private long elapsedMillis;
+    private double employeesPerSecond;
+
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    // Result
+    private Long payrollRunId;
+    private BigDecimal totalPayout;
+    private String error;
+}
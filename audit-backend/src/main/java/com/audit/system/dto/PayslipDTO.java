@@ -0,0 +1,21 @@
+package com.audit.system.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class PayslipDTO {
+    private Long payrollRunId;
+    private int month;
+    private int year;
+    private String runStatus;
+    private Long employeeId;
+    private String employeeCode;
+    private String employeeName;
+    private List<PayslipLineDTO> lines;
+    private BigDecimal grossPay;
+    private BigDecimal totalDeductions;
+    private BigDecimal totalClaims;
+    private BigDecimal netPay;
+}
@@ -0,0 +1,18 @@
+package com.audit.system.dto;
+
+import com.audit.system.model.SalaryComponentType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class PayslipLineDTO {
+    private String componentCode;
+    private String componentName;
+    private SalaryComponentType type;
+    private BigDecimal amount;
+    private BigDecimal calculationBase;
+    private BigDecimal calculationRate;
+    private String remarks;
+}
@@ -0,0 +1,15 @@
+package com.audit.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.math.BigDecimal;
+
+// Calculator dashboard summary; field names match the keys the summary endpoint has always returned
+@Data
+@AllArgsConstructor
+public class PersonalFinanceSummaryDTO {
+    private BigDecimal netWorth; // latest savings + latest gold
+    private BigDecimal avgMonthlySavings; // lifetime average surplus
+    private BigDecimal totalMoneySavings; // latest savings snapshot
+    private BigDecimal totalGoldSavings; // latest gold snapshot
+}
@@ -0,0 +1,25 @@
+package com.audit.system.dto;
+
+import com.audit.system.model.SalaryComponentType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class SalaryStructureEntryDTO {
+    private Long structureId;
+    private Long employeeId;
+    private Long componentId;
+    private String componentCode;
+    private String componentName;
+    private SalaryComponentType componentType;
+    private BigDecimal amount;
+    private LocalDate effectiveStartDate;
+    private LocalDate effectiveEndDate; // null = open-ended
+
+    public boolean isEffectiveOn(LocalDate date) {
+        return !effectiveStartDate.isAfter(date) && (effectiveEndDate == null || !effectiveEndDate.isBefore(date));
+    }
+}
@@ -0,0 +1,14 @@
+package com.audit.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class VehicleLimitDTO {
+    private Long vehicleId;
+    private Long employeeId;
+    private BigDecimal fuelAllowanceLimit; // null = no limit
+    private boolean active;
+}
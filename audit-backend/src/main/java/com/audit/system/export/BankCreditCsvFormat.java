@@ -0,0 +1,73 @@
+package com.audit.system.export;
+
+import com.audit.system.model.PayrollRun;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Bank credit file: one salary credit per employee with a bank account, net pay as amount
+@Component
+public class BankCreditCsvFormat implements PayrollExportFormat {
+
+    @Override
+    public String getName() {
+        return "bank-csv";
+    }
+
+    @Override
+    public String getContentType() {
+        return "text/csv";
+    }
+
+    @Override
+    public String getFileName(PayrollRun run) {
+        return String.format("bank_credit_%d%02d.csv", run.getYear(), run.getMonth());
+    }
+
+    @Override
+    public boolean includes(PayrollExportRow row) {
+        return row.getBankAccountNo() != null && row.getNetPay() != null && row.getNetPay().signum() > 0;
+    }
+
+    @Override
+    public BigDecimal amountOf(PayrollExportRow row) {
+        return row.getNetPay();
+    }
+
+    @Override
+    public String header(PayrollRun run) {
+        return "employee_code,full_name,identity_no,bank_name,bank_account_no,amount,reference";
+    }
+
+    @Override
+    public String line(PayrollExportRow row) {
+        return String.join(",",
+                csv(row.getEmployeeCode()),
+                csv(row.getFullName()),
+                csv(row.getIdentityNo()),
+                csv(row.getBankName()),
+                csv(row.getBankAccountNo()),
+                money(row.getNetPay()),
+                csv("SALARY " + row.getEmployeeCode()));
+    }
+
+    @Override
+    public String trailer(PayrollRun run, long recordCount, BigDecimal total) {
+        return "TOTAL," + recordCount + "," + money(total);
+    }
+
+    private static String money(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
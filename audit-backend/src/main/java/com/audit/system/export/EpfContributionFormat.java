@@ -0,0 +1,47 @@
+package com.audit.system.export;
+
+import com.audit.system.model.PayrollRun;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+// KWSP (EPF) contribution file: member number, IC, name, wages and both shares in sen
+@Component
+public class EpfContributionFormat extends FixedWidthExportFormat {
+
+    @Override
+    public String getName() {
+        return "epf";
+    }
+
+    @Override
+    public String getFileName(PayrollRun run) {
+        return String.format("epf_%d%02d.txt", run.getYear(), run.getMonth());
+    }
+
+    @Override
+    public boolean includes(PayrollExportRow row) {
+        return isPositive(row.getEpfEmployee()) || isPositive(row.getEpfEmployer());
+    }
+
+    @Override
+    public BigDecimal amountOf(PayrollExportRow row) {
+        return orZero(row.getEpfEmployee()).add(orZero(row.getEpfEmployer()));
+    }
+
+    @Override
+    public String header(PayrollRun run) {
+        return "H" + number(run.getYear(), 4) + number(run.getMonth(), 2);
+    }
+
+    @Override
+    public String line(PayrollExportRow row) {
+        return "D" + digits(row.getEpfNo(), 19) + digits(row.getIdentityNo(), 15) + text(row.getFullName(), 40)
+                + sen(row.getEpfWages(), 15) + sen(row.getEpfEmployer(), 12) + sen(row.getEpfEmployee(), 12);
+    }
+
+    @Override
+    public String trailer(PayrollRun run, long recordCount, BigDecimal total) {
+        return "T" + number(recordCount, 7) + sen(total, 15);
+    }
+}
@@ -0,0 +1,47 @@
+package com.audit.system.export;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Helpers for the statutory text files: left-aligned padded text and zero-filled amounts in sen
+public abstract class FixedWidthExportFormat implements PayrollExportFormat {
+
+    @Override
+    public String getContentType() {
+        return "text/plain";
+    }
+
+    protected static String text(String value, int width) {
+        String v = value != null ? value.toUpperCase() : "";
+        if (v.length() > width) {
+            return v.substring(0, width);
+        }
+        return v + " ".repeat(width - v.length());
+    }
+
+    protected static String digits(String value, int width) {
+        return text(value != null ? value.replaceAll("[^0-9A-Za-z]", "") : null, width);
+    }
+
+    protected static String sen(BigDecimal amount, int width) {
+        long sen = orZero(amount).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        String v = Long.toString(sen);
+        if (v.length() > width) {
+            throw new IllegalArgumentException("Amount " + amount + " does not fit in " + width + " digits");
+        }
+        return "0".repeat(width - v.length()) + v;
+    }
+
+    protected static String number(long value, int width) {
+        String v = Long.toString(value);
+        return "0".repeat(Math.max(0, width - v.length())) + v;
+    }
+
+    protected static BigDecimal orZero(BigDecimal amount) {
+        return amount != null ? amount : BigDecimal.ZERO;
+    }
+
+    protected static boolean isPositive(BigDecimal amount) {
+        return amount != null && amount.signum() > 0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.audit.system.export;
+
+import com.audit.system.model.PayrollRun;
+
+import java.math.BigDecimal;
+
+/**
+ * One export file type. Implementations are stateless beans: the export service streams rows
+ * through them and keeps the record count and total for the trailer.
+ */
+public interface PayrollExportFormat {
+
+    // Path segment in /api/payroll/runs/{runId}/exports/{name}
+    String getName();
+
+    String getContentType();
+
+    String getFileName(PayrollRun run);
+
+    // Rows without anything to report (e.g. no bank account, no PCB) are skipped
+    boolean includes(PayrollExportRow row);
+
+    // Amount added to the file total for this row
+    BigDecimal amountOf(PayrollExportRow row);
+
+    String header(PayrollRun run);
+
+    String line(PayrollExportRow row);
+
+    // Null when the format has no trailer record
+    String trailer(PayrollRun run, long recordCount, BigDecimal total);
+}
@@ -0,0 +1,85 @@
+package com.audit.system.export;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only read of a run's items, pivoted to one row per employee in SQL. Rows are handed to
+ * the consumer as they arrive; with a fetch size inside a transaction the PostgreSQL driver uses a
+ * server-side cursor, so only one fetch block is ever held in memory.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PayrollExportRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String EXPORT_SQL = "SELECT e.id, e.employee_code, e.full_name, e.identity_no, e.epf_no, "
+            + "e.socso_no, e.tax_no, e.bank_name, e.bank_account_no, "
+            + "SUM(i.amount) FILTER (WHERE c.type = 'EARNING') AS gross_pay, "
+            + "SUM(i.amount) FILTER (WHERE c.type IN ('DEDUCTION', 'STATUTORY_DEDUCTION')) AS total_deductions, "
+            + "SUM(i.amount) FILTER (WHERE c.type = 'CLAIM') AS claims, "
+            + "SUM(i.amount) FILTER (WHERE c.type = 'EARNING' AND c.is_epf_applicable) AS epf_wages, "
+            + "SUM(i.amount) FILTER (WHERE c.code = 'EPF_EE') AS epf_employee, "
+            + "SUM(i.amount) FILTER (WHERE c.code = 'EPF_ER') AS epf_employer, "
+            + "SUM(i.amount) FILTER (WHERE c.code = 'SOCSO_EE') AS socso_employee, "
+            + "SUM(i.amount) FILTER (WHERE c.code = 'SOCSO_ER') AS socso_employer, "
+            + "SUM(i.amount) FILTER (WHERE c.code = 'EIS_EE') AS eis_employee, "
+            + "SUM(i.amount) FILTER (WHERE c.code = 'EIS_ER') AS eis_employer, "
+            + "SUM(i.amount) FILTER (WHERE c.code = 'PCB') AS pcb "
+            + "FROM payroll_items i "
+            + "JOIN employees e ON e.id = i.employee_id "
+            + "JOIN salary_components c ON c.id = i.component_id "
+            + "WHERE i.payroll_run_id = ? "
+            + "GROUP BY e.id ORDER BY e.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Must run inside a (read-only) transaction, otherwise the driver reads the whole result first
+    public void streamRows(Long payrollRunId, Consumer<PayrollExportRow> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setLong(1, payrollRunId);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    private static PayrollExportRow mapRow(ResultSet rs) throws SQLException {
+        PayrollExportRow row = new PayrollExportRow();
+        row.setEmployeeId(rs.getLong("id"));
+        row.setEmployeeCode(rs.getString("employee_code"));
+        row.setFullName(rs.getString("full_name"));
+        row.setIdentityNo(rs.getString("identity_no"));
+        row.setEpfNo(rs.getString("epf_no"));
+        row.setSocsoNo(rs.getString("socso_no"));
+        row.setTaxNo(rs.getString("tax_no"));
+        row.setBankName(rs.getString("bank_name"));
+        row.setBankAccountNo(rs.getString("bank_account_no"));
+        row.setGrossPay(rs.getBigDecimal("gross_pay"));
+        row.setTotalDeductions(rs.getBigDecimal("total_deductions"));
+        row.setClaims(rs.getBigDecimal("claims"));
+        row.setEpfWages(rs.getBigDecimal("epf_wages"));
+        row.setEpfEmployee(rs.getBigDecimal("epf_employee"));
+        row.setEpfEmployer(rs.getBigDecimal("epf_employer"));
+        row.setSocsoEmployee(rs.getBigDecimal("socso_employee"));
+        row.setSocsoEmployer(rs.getBigDecimal("socso_employer"));
+        row.setEisEmployee(rs.getBigDecimal("eis_employee"));
+        row.setEisEmployer(rs.getBigDecimal("eis_employer"));
+        row.setPcb(rs.getBigDecimal("pcb"));
+
+        BigDecimal gross = row.getGrossPay() != null ? row.getGrossPay() : BigDecimal.ZERO;
+        BigDecimal deductions = row.getTotalDeductions() != null ? row.getTotalDeductions() : BigDecimal.ZERO;
+        BigDecimal claims = row.getClaims() != null ? row.getClaims() : BigDecimal.ZERO;
+        row.setNetPay(gross.subtract(deductions).add(claims));
+        return row;
+    }
+}
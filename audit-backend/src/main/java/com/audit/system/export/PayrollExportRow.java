@@ -0,0 +1,30 @@
+package com.audit.system.export;
+
+import lombok.Data;
+import java.math.BigDecimal;
+
+// One employee of a payroll run, with item amounts pivoted per export-relevant component
+@Data
+public class PayrollExportRow {
+    private Long employeeId;
+    private String employeeCode;
+    private String fullName;
+    private String identityNo;
+    private String epfNo;
+    private String socsoNo;
+    private String taxNo;
+    private String bankName;
+    private String bankAccountNo;
+    private BigDecimal grossPay;
+    private BigDecimal totalDeductions;
+    private BigDecimal claims;
+    private BigDecimal netPay;
+    private BigDecimal epfWages;
+    private BigDecimal epfEmployee;
+    private BigDecimal epfEmployer;
+    private BigDecimal socsoEmployee;
+    private BigDecimal socsoEmployer;
+    private BigDecimal eisEmployee;
+    private BigDecimal eisEmployer;
+    private BigDecimal pcb;
+}
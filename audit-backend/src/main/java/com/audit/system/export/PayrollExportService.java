@@ -0,0 +1,137 @@
+package com.audit.system.export;
+
+import com.audit.system.model.PayrollRun;
+import com.audit.system.repository.PayrollRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes payroll run export files (bank credit, EPF, SOCSO/EIS, PCB) by streaming the run's rows
+ * straight into the output; nothing but the current row and the writer buffer is kept in memory.
+ */
+@Slf4j
+@Service
+public class PayrollExportService {
+
+    private static final int WRITE_BUFFER = 64 * 1024;
+
+    private final PayrollRunRepository payrollRunRepository;
+    private final PayrollExportRepository exportRepository;
+    private final Map<String, PayrollExportFormat> formats;
+
+    @Value("${payroll.export.dir:exports}")
+    private String exportDir = "exports";
+
+    public PayrollExportService(PayrollRunRepository payrollRunRepository, PayrollExportRepository exportRepository,
+            List<PayrollExportFormat> formats) {
+        this.payrollRunRepository = payrollRunRepository;
+        this.exportRepository = exportRepository;
+        this.formats = formats.stream().collect(Collectors.toMap(PayrollExportFormat::getName, Function.identity()));
+    }
+
+    public Optional<PayrollExportFormat> getFormat(String name) {
+        return Optional.ofNullable(formats.get(name));
+    }
+
+    public Optional<PayrollRun> findRun(Long runId) {
+        return payrollRunRepository.findById(runId);
+    }
+
+    // Only FINALIZED or PAID runs; a DRAFT run can still be recomputed, so its amounts may change
+    public boolean isExportable(PayrollRun run) {
+        return "FINALIZED".equals(run.getStatus()) || "PAID".equals(run.getStatus());
+    }
+
+    // Streams the file into the given output (e.g. the HTTP response); returns the number of records
+    @Transactional(readOnly = true)
+    public long export(PayrollRun run, PayrollExportFormat format, OutputStream out) throws IOException {
+        requireExportable(run);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER);
+        long records = write(run, format, writer);
+        writer.flush();
+        return records;
+    }
+
+    // Writes the file under payroll.export.dir through a file channel and returns its path
+    @Transactional(readOnly = true)
+    public Path exportToFile(PayrollRun run, PayrollExportFormat format) throws IOException {
+        requireExportable(run);
+        Path dir = Paths.get(exportDir);
+        Files.createDirectories(dir);
+        Path target = dir.resolve(format.getFileName(run));
+        Path partial = dir.resolve(target.getFileName() + ".part");
+
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), WRITE_BUFFER)) {
+            long records = write(run, format, writer);
+            writer.flush();
+            channel.force(false);
+            log.info("Exported {} {} records of payroll run {} to {}", records, format.getName(), run.getId(), target);
+        }
+        // Readers never see a half written file
+        return Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void requireExportable(PayrollRun run) {
+        if (!isExportable(run)) {
+            throw new IllegalStateException("Payroll run " + run.getId() + " is " + run.getStatus()
+                    + "; only FINALIZED or PAID runs can be exported");
+        }
+    }
+
+    private long write(PayrollRun run, PayrollExportFormat format, Writer writer) throws IOException {
+        long[] records = {0};
+        BigDecimal[] total = {BigDecimal.ZERO};
+
+        writeLine(writer, format.header(run));
+        try {
+            exportRepository.streamRows(run.getId(), row -> {
+                if (!format.includes(row)) {
+                    return;
+                }
+                records[0]++;
+                total[0] = total[0].add(format.amountOf(row));
+                try {
+                    writeLine(writer, format.line(row));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        String trailer = format.trailer(run, records[0], total[0]);
+        if (trailer != null) {
+            writeLine(writer, trailer);
+        }
+        return records[0];
+    }
+
+    private static void writeLine(Writer writer, String line) throws IOException {
+        if (line != null) {
+            writer.write(line);
+            writer.write("\r\n");
+        }
+    }
+}
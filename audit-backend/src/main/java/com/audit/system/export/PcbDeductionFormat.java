@@ -0,0 +1,47 @@
+package com.audit.system.export;
+
+import com.audit.system.model.PayrollRun;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+// LHDN monthly tax deduction (PCB / CP39) file: tax number, IC, name and PCB in sen
+@Component
+public class PcbDeductionFormat extends FixedWidthExportFormat {
+
+    @Override
+    public String getName() {
+        return "pcb";
+    }
+
+    @Override
+    public String getFileName(PayrollRun run) {
+        return String.format("pcb_cp39_%d%02d.txt", run.getYear(), run.getMonth());
+    }
+
+    @Override
+    public boolean includes(PayrollExportRow row) {
+        return isPositive(row.getPcb());
+    }
+
+    @Override
+    public BigDecimal amountOf(PayrollExportRow row) {
+        return row.getPcb();
+    }
+
+    @Override
+    public String header(PayrollRun run) {
+        return "H" + number(run.getYear(), 4) + number(run.getMonth(), 2);
+    }
+
+    @Override
+    public String line(PayrollExportRow row) {
+        return "D" + digits(row.getTaxNo(), 14) + digits(row.getIdentityNo(), 12) + text(row.getFullName(), 60)
+                + sen(row.getPcb(), 10);
+    }
+
+    @Override
+    public String trailer(PayrollRun run, long recordCount, BigDecimal total) {
+        return "T" + number(recordCount, 7) + sen(total, 12);
+    }
+}
@@ -0,0 +1,50 @@
+package com.audit.system.export;
+
+import com.audit.system.model.PayrollRun;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+// PERKESO file: SOCSO and EIS (SIP) shares per employee in sen
+@Component
+public class SocsoContributionFormat extends FixedWidthExportFormat {
+
+    @Override
+    public String getName() {
+        return "socso";
+    }
+
+    @Override
+    public String getFileName(PayrollRun run) {
+        return String.format("socso_%d%02d.txt", run.getYear(), run.getMonth());
+    }
+
+    @Override
+    public boolean includes(PayrollExportRow row) {
+        return isPositive(row.getSocsoEmployee()) || isPositive(row.getSocsoEmployer())
+                || isPositive(row.getEisEmployee()) || isPositive(row.getEisEmployer());
+    }
+
+    @Override
+    public BigDecimal amountOf(PayrollExportRow row) {
+        return orZero(row.getSocsoEmployee()).add(orZero(row.getSocsoEmployer()))
+                .add(orZero(row.getEisEmployee())).add(orZero(row.getEisEmployer()));
+    }
+
+    @Override
+    public String header(PayrollRun run) {
+        return "H" + number(run.getMonth(), 2) + number(run.getYear(), 4);
+    }
+
+    @Override
+    public String line(PayrollExportRow row) {
+        return "D" + digits(row.getIdentityNo(), 12) + digits(row.getSocsoNo(), 12) + text(row.getFullName(), 40)
+                + sen(row.getGrossPay(), 12) + sen(row.getSocsoEmployer(), 8) + sen(row.getSocsoEmployee(), 8)
+                + sen(row.getEisEmployer(), 8) + sen(row.getEisEmployee(), 8);
+    }
+
+    @Override
+    public String trailer(PayrollRun run, long recordCount, BigDecimal total) {
+        return "T" + number(recordCount, 7) + sen(total, 14);
+    }
+}
@@ -37,4 +37,11 @@ public class AuditLog {
 
     @Column(name = "changed_at")
     private LocalDateTime changedAt;
+
+    // Set after commit by chain_pending_audit_logs() (null until then), never by the application
+    @Column(name = "chain_seq", insertable = false, updatable = false)
+    private Long chainSeq;
+
+    @Column(name = "digest", insertable = false, updatable = false)
+    private String digest;
 }
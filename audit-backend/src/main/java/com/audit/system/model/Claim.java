@@ -33,7 +33,7 @@ public class Claim {
 
     private String description;
 
-    private String status = "PENDING";
+    private String status = "PENDING"; // PENDING, APPROVED, REJECTED, PAID
 
     @Column(name = "approved_by")
     private String approvedBy;
@@ -44,4 +44,8 @@ public class Claim {
     @ManyToOne
     @JoinColumn(name = "vehicle_id")
     private EmployeeVehicle vehicle;
+
+    // Run that paid the claim; set together with status PAID
+    @Column(name = "payroll_run_id")
+    private Long payrollRunId;
 }
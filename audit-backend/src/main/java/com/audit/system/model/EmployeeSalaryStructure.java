@@ -10,10 +10,13 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @Table(name = "employee_salary_structures")
+@EntityListeners(com.audit.system.service.SalaryStructureIndexListener.class)
 public class EmployeeSalaryStructure {
 
+    // Pooled sequence (50 ids per nextval, matching the sequence's INCREMENT) so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_salary_structures_id_seq")
+    @SequenceGenerator(name = "employee_salary_structures_id_seq", sequenceName = "employee_salary_structures_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
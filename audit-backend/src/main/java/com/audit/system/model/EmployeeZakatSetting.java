@@ -0,0 +1,47 @@
+package com.audit.system.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.ToString;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Entity
+@Table(name = "employee_zakat_settings")
+public class EmployeeZakatSetting {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Lazy: payroll only needs employeeId, settings are preloaded for a whole run
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id")
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    @ToString.Exclude
+    private Employee employee;
+
+    @Column(name = "employee_id", insertable = false, updatable = false)
+    private Long employeeId;
+
+    @Column(name = "zakat_body", nullable = false)
+    private String zakatBody;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "deduction_type")
+    private ZakatDeductionType deductionType = ZakatDeductionType.FIXED_AMOUNT;
+
+    // Ringgit for FIXED_AMOUNT, percent of gross pay for PERCENTAGE (2.50 = 2.5%)
+    @Column(name = "amount_or_rate", nullable = false)
+    private BigDecimal amountOrRate;
+
+    @Column(name = "is_active")
+    private boolean isActive = true;
+
+    @Column(name = "effective_start_date", nullable = false)
+    private LocalDate effectiveStartDate;
+
+    @Column(name = "effective_end_date")
+    private LocalDate effectiveEndDate;
+}
@@ -9,8 +9,10 @@ import java.math.BigDecimal;
 @Table(name = "payroll_items")
 public class PayrollItem {
 
+    // Pooled sequence (50 ids per nextval, matching the sequence's INCREMENT) so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payroll_items_id_seq")
+    @SequenceGenerator(name = "payroll_items_id_seq", sequenceName = "payroll_items_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,62 @@
+package com.audit.system.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Precomputed totals for one payroll run, refreshed whenever the run is generated or finalized
+ * (see PayrollMonthlySummaryRepository.refresh). Dashboards read these rows instead of
+ * aggregating payroll_items on every request.
+ */
+@Data
+@Entity
+@Table(name = "payroll_monthly_summaries")
+public class PayrollMonthlySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "payroll_run_id", nullable = false, unique = true)
+    private Long payrollRunId;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    private String status;
+
+    private Integer headcount;
+
+    @Column(name = "gross_pay")
+    private BigDecimal grossPay;
+
+    @Column(name = "total_deductions")
+    private BigDecimal totalDeductions;
+
+    @Column(name = "net_pay")
+    private BigDecimal netPay;
+
+    // Totals per SalaryComponentType
+    @Column(name = "earning_total")
+    private BigDecimal earningTotal;
+
+    @Column(name = "deduction_total")
+    private BigDecimal deductionTotal;
+
+    @Column(name = "statutory_deduction_total")
+    private BigDecimal statutoryDeductionTotal;
+
+    @Column(name = "company_contribution_total")
+    private BigDecimal companyContributionTotal;
+
+    @Column(name = "claim_total")
+    private BigDecimal claimTotal;
+
+    @Column(name = "refreshed_at")
+    private LocalDateTime refreshedAt;
+}
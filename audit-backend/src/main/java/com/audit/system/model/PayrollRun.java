@@ -30,4 +30,30 @@ public class PayrollRun {
 
     @Column(name = "total_payout")
     private BigDecimal totalPayout;
+
+    // Watermark of the last full or delta computation; changes after this are picked up by a delta run
+    @Column(name = "computed_at")
+    private LocalDateTime computedAt;
+
+    // Summary of the last computation (full, partitioned or delta), see PayrollMetrics
+    @Column(name = "last_run_mode")
+    private String lastRunMode;
+
+    @Column(name = "employee_count")
+    private Integer employeeCount;
+
+    @Column(name = "item_count")
+    private Integer itemCount;
+
+    @Column(name = "load_millis")
+    private Long loadMillis;
+
+    @Column(name = "compute_millis")
+    private Long computeMillis;
+
+    @Column(name = "persist_millis")
+    private Long persistMillis;
+
+    @Column(name = "duration_millis")
+    private Long durationMillis;
 }
@@ -0,0 +1,47 @@
+package com.audit.system.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "payroll_run_partitions")
+public class PayrollRunPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "payroll_run_id", nullable = false)
+    private PayrollRun payrollRun;
+
+    @Column(name = "partition_no", nullable = false)
+    private Integer partitionNo;
+
+    // Inclusive employee id range covered by this partition
+    @Column(name = "min_employee_id", nullable = false)
+    private Long minEmployeeId;
+
+    @Column(name = "max_employee_id", nullable = false)
+    private Long maxEmployeeId;
+
+    private String status = "PENDING"; // PENDING, COMPLETED, FAILED
+
+    @Column(name = "total_payout")
+    private BigDecimal totalPayout;
+
+    @Column(name = "employee_count")
+    private Integer employeeCount;
+
+    @Column(name = "item_count")
+    private Integer itemCount;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -7,7 +7,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "personal_finance")
+// One row per user and month; saves upsert on this key (see PersonalFinanceJdbcRepository). Older
+// databases are de-duplicated and given the key at startup by SchemaUpgrade
+@Table(name = "personal_finance", uniqueConstraints = @UniqueConstraint(name = "uk_personal_finance_user_period",
+        columnNames = {"user_email", "year", "month"}))
 public class PersonalFinance {
 
     @Id
@@ -33,4 +33,7 @@ public class SalaryComponent {
 
     @Column(name = "is_socso_applicable")
     private boolean isSocsoApplicable;
+
+    @Column(name = "is_eis_applicable")
+    private boolean isEisApplicable;
 }
@@ -0,0 +1,6 @@
+package com.audit.system.model;
+
+public enum ZakatDeductionType {
+    FIXED_AMOUNT,
+    PERCENTAGE
+}
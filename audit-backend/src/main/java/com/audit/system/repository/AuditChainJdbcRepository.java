@@ -0,0 +1,92 @@
+package com.audit.system.repository;
+
+import com.audit.system.audit.AuditChainCheckpoint;
+import com.audit.system.audit.AuditChainEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+// The chaining step for AuditChainer, and reads for AuditChainVerifier: the chain head, verified
+// checkpoints and ranges of chained entries
+@Repository
+@RequiredArgsConstructor
+public class AuditChainJdbcRepository {
+
+    private static final int FETCH_SIZE = 5000;
+
+    // Same canonical text forms that audit_log_digest() hashes
+    private static final String ENTRIES_SQL = "SELECT chain_seq, digest, table_name, record_id, action::text AS action, "
+            + "old_values::text AS old_values, new_values::text AS new_values, changed_by, "
+            + "to_char(changed_at, 'YYYY-MM-DD\"T\"HH24:MI:SS.US') AS changed_at, ip_address, user_agent "
+            + "FROM audit_logs WHERE chain_seq BETWEEN ? AND ? ORDER BY chain_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Links up to maxEntries committed, unchained entries in one transaction; returns how many it linked
+    public int chainPending(int maxEntries) {
+        Integer linked = jdbcTemplate.queryForObject("SELECT chain_pending_audit_logs(?)", Integer.class, maxEntries);
+        return linked == null ? 0 : linked;
+    }
+
+    // Last committed position of the chain
+    public long findHeadSeq() {
+        Long seq = jdbcTemplate.queryForObject("SELECT last_seq FROM audit_chain_head WHERE id = 1", Long.class);
+        return seq == null ? 0L : seq;
+    }
+
+    public List<AuditChainCheckpoint> findCheckpoints() {
+        return jdbcTemplate.query("SELECT from_seq, to_seq, end_digest, merkle_root FROM audit_chain_checkpoints "
+                + "ORDER BY to_seq", (rs, i) -> new AuditChainCheckpoint(rs.getLong("from_seq"), rs.getLong("to_seq"),
+                rs.getString("end_digest"), rs.getString("merkle_root")));
+    }
+
+    public void saveCheckpoint(AuditChainCheckpoint checkpoint) {
+        jdbcTemplate.update("INSERT INTO audit_chain_checkpoints (from_seq, to_seq, end_digest, merkle_root, verified_at) "
+                + "VALUES (?, ?, ?, ?, LOCALTIMESTAMP)", checkpoint.getFromSeq(), checkpoint.getToSeq(),
+                checkpoint.getEndDigest(), checkpoint.getMerkleRoot());
+    }
+
+    // Stored digest of one entry, null if it is not online (archived or missing)
+    public String findDigest(long chainSeq) {
+        List<String> digest = jdbcTemplate.queryForList("SELECT digest FROM audit_logs WHERE chain_seq = ?",
+                String.class, chainSeq);
+        return digest.isEmpty() ? null : digest.get(0);
+    }
+
+    // Oldest chained entry still attached to audit_logs; earlier ones were archived
+    public long findMinOnlineSeq() {
+        Long seq = jdbcTemplate.queryForObject("SELECT MIN(chain_seq) FROM audit_logs", Long.class);
+        return seq == null ? Long.MAX_VALUE : seq;
+    }
+
+    // Must run inside a (read-only) transaction so the driver streams through a cursor
+    public void streamEntries(long fromSeq, long toSeq, Consumer<AuditChainEntry> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(ENTRIES_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setLong(1, fromSeq);
+            ps.setLong(2, toSeq);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            AuditChainEntry entry = new AuditChainEntry();
+            entry.setChainSeq(rs.getLong("chain_seq"));
+            entry.setDigest(rs.getString("digest"));
+            entry.setTableName(rs.getString("table_name"));
+            entry.setRecordId(rs.getLong("record_id"));
+            entry.setAction(rs.getString("action"));
+            entry.setOldValues(rs.getString("old_values"));
+            entry.setNewValues(rs.getString("new_values"));
+            entry.setChangedBy(rs.getString("changed_by"));
+            entry.setChangedAt(rs.getString("changed_at"));
+            entry.setIpAddress(rs.getString("ip_address"));
+            entry.setUserAgent(rs.getString("user_agent"));
+            consumer.accept(entry);
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.audit.system.repository;
+
+import com.audit.system.audit.AuditEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Application-written audit entries: changes the table triggers do not cover (e.g. one entry
+ * summarising a bulk statement instead of one per row) and the batches of the APPLICATION audit
+ * pipeline. Joins the caller's transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditLogJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(String tableName, Long recordId, String action, String oldValues, String newValues,
+            String changedBy) {
+        jdbcTemplate.update("INSERT INTO audit_logs (table_name, record_id, action, old_values, new_values, changed_by, changed_at) "
+                + "VALUES (?, ?, CAST(? AS change_action), CAST(? AS jsonb), CAST(? AS jsonb), ?, LOCALTIMESTAMP)",
+                tableName, recordId, action, oldValues, newValues, changedBy);
+    }
+
+    // One multi-row INSERT for the whole batch (7 parameters per row, so keep batches well below 4,000)
+    public void insertBatch(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO audit_logs "
+                + "(table_name, record_id, action, old_values, new_values, changed_by, changed_at) VALUES ");
+        for (int i = 0; i < events.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(?, ?, CAST(? AS change_action), CAST(? AS jsonb), CAST(? AS jsonb), ?, ?)");
+        }
+        jdbcTemplate.update(sql.toString(), ps -> {
+            int p = 1;
+            for (AuditEvent event : events) {
+                p = bind(ps, p, event);
+            }
+        });
+    }
+
+    // Last pipeline sequence written to audit_logs by the given node (0 if none)
+    public long findWrittenSeq(String nodeId) {
+        List<Long> seq = jdbcTemplate.queryForList(
+                "SELECT written_seq FROM audit_pipeline_checkpoints WHERE node_id = ?", Long.class, nodeId);
+        return seq.isEmpty() ? 0L : seq.get(0);
+    }
+
+    // Written in the same transaction as the batch, so a batch is never written twice after a crash
+    public void saveWrittenSeq(String nodeId, long writtenSeq) {
+        jdbcTemplate.update("INSERT INTO audit_pipeline_checkpoints (node_id, written_seq, updated_at) "
+                + "VALUES (?, ?, LOCALTIMESTAMP) ON CONFLICT (node_id) DO UPDATE SET "
+                + "written_seq = EXCLUDED.written_seq, updated_at = EXCLUDED.updated_at", nodeId, writtenSeq);
+    }
+
+    // Creates the monthly audit_logs partition containing the given date, if missing
+    public void ensurePartition(LocalDate month) {
+        jdbcTemplate.queryForList("SELECT ensure_audit_log_partition(?)", month);
+    }
+
+    // Attached partitions of audit_logs, e.g. audit_logs_y2026m03
+    public List<String> findPartitionNames() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent "
+                + "WHERE p.relname = 'audit_logs' ORDER BY c.relname", String.class);
+    }
+
+    /**
+     * Detaches a partition and moves it to the audit_archive schema, where it stays queryable but
+     * out of every audit_logs plan. Must run outside a transaction (DETACH ... CONCURRENTLY only
+     * takes a lock that lets writers to the other partitions carry on).
+     */
+    public void archivePartition(String partition) {
+        jdbcTemplate.execute("ALTER TABLE audit_logs DETACH PARTITION " + partition + " CONCURRENTLY");
+        jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA audit_archive");
+    }
+
+    private static int bind(PreparedStatement ps, int p, AuditEvent event) throws SQLException {
+        ps.setString(p++, event.getTableName());
+        ps.setLong(p++, event.getRecordId());
+        ps.setString(p++, event.getAction());
+        ps.setString(p++, event.getOldValues());
+        ps.setString(p++, event.getNewValues());
+        ps.setString(p++, event.getChangedBy());
+        ps.setTimestamp(p++, Timestamp.valueOf(event.getChangedAt()));
+        return p;
+    }
+}
@@ -1,11 +1,35 @@
 package com.audit.system.repository;
 
 import com.audit.system.model.AuditLog;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
+// History queries are newest first on (changed_at, id), matching idx_audit_logs_record/_table/_changed_at
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     List<AuditLog> findByTableNameAndRecordId(String tableName, Long recordId);
 
-    List<AuditLog> findTop10ByOrderByChangedAtDesc();
+    // Reads the newest partition's index and stops, however many partitions there are
+    List<AuditLog> findTop10ByOrderByChangedAtDescIdDesc();
+
+    List<AuditLog> findByTableNameAndRecordIdOrderByChangedAtDescIdDesc(String tableName, Long recordId, Limit limit);
+
+    List<AuditLog> findByTableNameOrderByChangedAtDescIdDesc(String tableName, Limit limit);
+
+    // Keyset pages: rows strictly older than the cursor (changedAt, id). The first predicate bounds the index range.
+    @Query("SELECT a FROM AuditLog a WHERE a.tableName = :tableName AND a.recordId = :recordId "
+            + "AND a.changedAt <= :changedAt AND (a.changedAt < :changedAt OR a.id < :id) "
+            + "ORDER BY a.changedAt DESC, a.id DESC")
+    List<AuditLog> findRecordHistoryBefore(@Param("tableName") String tableName, @Param("recordId") Long recordId,
+            @Param("changedAt") LocalDateTime changedAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT a FROM AuditLog a WHERE a.tableName = :tableName "
+            + "AND a.changedAt <= :changedAt AND (a.changedAt < :changedAt OR a.id < :id) "
+            + "ORDER BY a.changedAt DESC, a.id DESC")
+    List<AuditLog> findTableHistoryBefore(@Param("tableName") String tableName,
+            @Param("changedAt") LocalDateTime changedAt, @Param("id") Long id, Limit limit);
 }
@@ -0,0 +1,92 @@
+package com.audit.system.repository;
+
+import com.audit.system.audit.AuditSnapshot;
+import com.audit.system.model.AuditLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Snapshots and per-employee audit events for point-in-time reconstruction. Events are ordered by
+ * chain_seq (commit order, see chain_pending_audit_logs()); entries committed but not chained yet
+ * come last, by (changed_at, id).
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditSnapshotJdbcRepository {
+
+    // The employee's own row plus its salary structures (idx_audit_logs_record and idx_audit_logs_structure_employee)
+    private static final String EMPLOYEE_EVENTS = "((table_name = 'employees' AND record_id = ?) "
+            + "OR (table_name = 'employee_salary_structures' "
+            + "AND (COALESCE(new_values, old_values) ->> 'employee_id')::BIGINT = ?))";
+
+    private static final String EVENTS_SQL = "SELECT id, chain_seq, table_name, record_id, action::text AS action, "
+            + "new_values::text AS new_values, changed_by, changed_at FROM audit_logs "
+            + "WHERE " + EMPLOYEE_EVENTS + " AND changed_at <= ?";
+
+    private static final BeanPropertyRowMapper<AuditLog> EVENT_MAPPER = new BeanPropertyRowMapper<>(AuditLog.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Latest snapshot whose entries all changed at or before the given time, null if there is none
+    public AuditSnapshot findLatest(Long employeeId, LocalDateTime asOf) {
+        List<AuditSnapshot> snapshots = jdbcTemplate.query("SELECT employee_id, as_of_seq, max_changed_at, "
+                + "state::text AS state FROM audit_snapshots WHERE employee_id = ? AND max_changed_at <= ? "
+                + "ORDER BY as_of_seq DESC LIMIT 1",
+                new BeanPropertyRowMapper<>(AuditSnapshot.class), employeeId, asOf);
+        return snapshots.isEmpty() ? null : snapshots.get(0);
+    }
+
+    public void save(AuditSnapshot snapshot) {
+        jdbcTemplate.update("INSERT INTO audit_snapshots (employee_id, as_of_seq, max_changed_at, state) "
+                + "VALUES (?, ?, ?, CAST(? AS jsonb)) ON CONFLICT DO NOTHING", snapshot.getEmployeeId(),
+                snapshot.getAsOfSeq(), snapshot.getMaxChangedAt(), snapshot.getState());
+    }
+
+    // Events up to asOf after the snapshot position (or from the start), in commit order
+    public List<AuditLog> findEvents(Long employeeId, AuditSnapshot after, LocalDateTime asOf) {
+        List<Object> params = new ArrayList<>(List.of(employeeId, employeeId, asOf));
+        String sql = EVENTS_SQL;
+        if (after != null) {
+            sql += " AND (chain_seq > ? OR chain_seq IS NULL)";
+            params.add(after.getAsOfSeq());
+        }
+        return jdbcTemplate.query(sql + " ORDER BY chain_seq NULLS LAST, changed_at, id", EVENT_MAPPER,
+                params.toArray());
+    }
+
+    // First chain position after afterSeq holding an event of the employee that changed after asOf.
+    // A replay up to asOf skips that event, so it can only snapshot positions before it.
+    public OptionalLong findFirstSeqAfter(Long employeeId, long afterSeq, LocalDateTime asOf) {
+        Long seq = jdbcTemplate.queryForObject("SELECT MIN(chain_seq) FROM audit_logs WHERE " + EMPLOYEE_EVENTS
+                + " AND changed_at > ? AND chain_seq > ?", Long.class, employeeId, employeeId, asOf, afterSeq);
+        return seq == null ? OptionalLong.empty() : OptionalLong.of(seq);
+    }
+
+    // Last chain position linked so far
+    public long findChainHead() {
+        Long seq = jdbcTemplate.queryForObject("SELECT last_seq FROM audit_chain_head WHERE id = 1", Long.class);
+        return seq == null ? 0L : seq;
+    }
+
+    // Chain position just before the first entry that changed at or after the given time
+    public long findChainSeqBefore(LocalDateTime since) {
+        Long seq = jdbcTemplate.queryForObject("SELECT MIN(chain_seq) - 1 FROM audit_logs WHERE changed_at >= ?",
+                Long.class, since);
+        return seq == null ? findChainHead() : seq;
+    }
+
+    // Employees whose row or salary structures have entries in the chain range (afterSeq, toSeq] (idx_audit_logs_chain)
+    public List<Long> findEmployeesChangedBetween(long afterSeq, long toSeq) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT CASE WHEN table_name = 'employees' THEN record_id::BIGINT "
+                + "ELSE (COALESCE(new_values, old_values) ->> 'employee_id')::BIGINT END FROM audit_logs "
+                + "WHERE chain_seq > ? AND chain_seq <= ? AND table_name IN ('employees', 'employee_salary_structures')",
+                Long.class, afterSeq, toSeq);
+    }
+}
@@ -0,0 +1,133 @@
+package com.audit.system.repository;
+
+import com.audit.system.dto.ClaimSubmissionDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based claim writes for bulk submission, approval and payroll. Each method is a single
+ * statement (or a single JDBC batch) regardless of how many claims it touches; all of them join
+ * the caller's transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClaimJdbcRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO claims "
+            + "(employee_id, claim_type, amount, receipt_ref, claim_date, description, status, vehicle_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 'PENDING', ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // One JDBC batch for the whole list; returns the new ids in list order
+    public List<Long> batchInsert(List<ClaimSubmissionDTO> claims) {
+        if (claims.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ClaimSubmissionDTO claim = claims.get(i);
+                        ps.setLong(1, claim.getEmployeeId());
+                        ps.setString(2, claim.getClaimType());
+                        ps.setBigDecimal(3, claim.getAmount());
+                        ps.setString(4, claim.getReceiptRef());
+                        ps.setDate(5, Date.valueOf(claim.getClaimDate()));
+                        ps.setString(6, claim.getDescription());
+                        ps.setObject(7, claim.getVehicleId(), Types.BIGINT);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return claims.size();
+                    }
+                }, keys);
+
+        List<Long> ids = new ArrayList<>(claims.size());
+        for (Map<String, Object> key : keys.getKeyList()) {
+            ids.add(((Number) key.get("id")).longValue());
+        }
+        return ids;
+    }
+
+    // PENDING -> status for the given claims; returns the ids actually changed
+    public List<Long> decideByIds(Collection<Long> claimIds, String status, String decidedBy) {
+        return jdbcTemplate.query("UPDATE claims SET status = ?, approved_by = ?, approval_date = LOCALTIMESTAMP "
+                + "WHERE status = 'PENDING' AND id = ANY(?) RETURNING id", ps -> {
+                    ps.setString(1, status);
+                    ps.setString(2, decidedBy);
+                    ps.setArray(3, ps.getConnection().createArrayOf("bigint", claimIds.toArray()));
+                }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    // PENDING -> status for every claim matching the filter (null criteria are ignored)
+    public List<Long> decideByFilter(Long employeeId, String claimType, LocalDate from, LocalDate to, String status,
+            String decidedBy) {
+        StringBuilder sql = new StringBuilder("UPDATE claims SET status = ?, approved_by = ?, "
+                + "approval_date = LOCALTIMESTAMP WHERE status = 'PENDING'");
+        List<Object> args = new ArrayList<>(List.of(status, decidedBy));
+        if (employeeId != null) {
+            sql.append(" AND employee_id = ?");
+            args.add(employeeId);
+        }
+        if (claimType != null) {
+            sql.append(" AND claim_type = ?");
+            args.add(claimType);
+        }
+        if (from != null) {
+            sql.append(" AND claim_date >= ?");
+            args.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND claim_date <= ?");
+            args.add(Date.valueOf(to));
+        }
+        sql.append(" RETURNING id");
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> rs.getLong(1), args.toArray());
+    }
+
+    public int markPaid(Long payrollRunId, Collection<Long> claimIds) {
+        if (claimIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("UPDATE claims SET status = 'PAID', payroll_run_id = ? WHERE id = ANY(?)", ps -> {
+            ps.setLong(1, payrollRunId);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", claimIds.toArray()));
+        });
+    }
+
+    // Returns claims paid by the run to APPROVED, so a recomputation can pick them up again
+    public int releaseByRun(Long payrollRunId) {
+        return jdbcTemplate.update(
+                "UPDATE claims SET status = 'APPROVED', payroll_run_id = NULL WHERE payroll_run_id = ?", payrollRunId);
+    }
+
+    public int releaseByRunAndEmployees(Long payrollRunId, Collection<Long> employeeIds) {
+        return jdbcTemplate.update("UPDATE claims SET status = 'APPROVED', payroll_run_id = NULL "
+                + "WHERE payroll_run_id = ? AND employee_id = ANY(?)", ps -> {
+                    ps.setLong(1, payrollRunId);
+                    ps.setArray(2, ps.getConnection().createArrayOf("bigint", employeeIds.toArray()));
+                });
+    }
+
+    public int releaseByRunAndEmployeeRange(Long payrollRunId, Long minEmployeeId, Long maxEmployeeId) {
+        return jdbcTemplate.update("UPDATE claims SET status = 'APPROVED', payroll_run_id = NULL "
+                + "WHERE payroll_run_id = ? AND employee_id BETWEEN ? AND ?", payrollRunId, minEmployeeId, maxEmployeeId);
+    }
+}
@@ -0,0 +1,23 @@
+package com.audit.system.repository;
+
+import com.audit.system.dto.ClaimEntryDTO;
+import com.audit.system.model.Claim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ClaimRepository extends JpaRepository<Claim, Long> {
+
+    // Every claim payable in a run in one query: approved and unpaid, or already paid by this run
+    // (a re-run recomputes them). Ordered so fuel limits are consumed by the earliest claims first.
+    @Query("SELECT new com.audit.system.dto.ClaimEntryDTO(c.id, c.employee.id, c.claimType, c.amount, c.claimDate, "
+            + "v.id, v.fuelAllowanceLimit) FROM Claim c LEFT JOIN c.vehicle v "
+            + "WHERE ((c.status = 'APPROVED' AND c.payrollRunId IS NULL) OR c.payrollRunId = :payrollRunId) "
+            + "AND c.claimDate BETWEEN :from AND :to "
+            + "ORDER BY c.employee.id, c.claimDate, c.id")
+    List<ClaimEntryDTO> findPayableEntries(Long payrollRunId, LocalDate from, LocalDate to);
+}
@@ -2,8 +2,12 @@ package com.audit.system.repository;
 
 import com.audit.system.model.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +15,22 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByEmployeeCode(String employeeCode);
 
     Optional<Employee> findByIdentityNo(String identityNo);
+
+    @Query("SELECT e.id FROM Employee e ORDER BY e.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT e.id FROM Employee e WHERE e.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    // Employees whose record, salary structures, zakat settings or approved claims changed after the
+    // given time. Structure and zakat setting updates only show up in the audit trigger stream.
+    @Query(value = "SELECT CAST(e.id AS BIGINT) FROM employees e WHERE e.updated_at > :since "
+            + "UNION SELECT s.employee_id FROM employee_salary_structures s WHERE s.created_at > :since "
+            + "UNION SELECT a.record_id FROM audit_logs a WHERE a.table_name = 'employees' AND a.changed_at > :since "
+            + "UNION SELECT CAST(COALESCE(a.new_values ->> 'employee_id', a.old_values ->> 'employee_id') AS BIGINT) "
+            + "FROM audit_logs a WHERE a.table_name = 'employee_salary_structures' AND a.changed_at > :since "
+            + "UNION SELECT CAST(COALESCE(a.new_values ->> 'employee_id', a.old_values ->> 'employee_id') AS BIGINT) "
+            + "FROM audit_logs a WHERE a.table_name = 'employee_zakat_settings' AND a.changed_at > :since "
+            + "UNION SELECT c.employee_id FROM claims c WHERE c.approval_date > :since", nativeQuery = true)
+    List<Long> findIdsChangedSince(LocalDateTime since);
 }
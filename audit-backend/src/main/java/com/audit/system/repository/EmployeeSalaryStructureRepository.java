@@ -1,12 +1,18 @@
 package com.audit.system.repository;
 
+import com.audit.system.dto.SalaryStructureEntryDTO;
 import com.audit.system.model.EmployeeSalaryStructure;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeSalaryStructureRepository extends JpaRepository<EmployeeSalaryStructure, Long> {
@@ -14,4 +20,38 @@ public interface EmployeeSalaryStructureRepository extends JpaRepository<Employe
     // Find active components for a given date (e.g., payroll run date)
     @Query("SELECT s FROM EmployeeSalaryStructure s WHERE s.employee.id = :employeeId AND s.isActive = true AND s.effectiveStartDate <= :date AND (s.effectiveEndDate IS NULL OR s.effectiveEndDate >= :date)")
     List<EmployeeSalaryStructure> findActiveByEmployeeAndDate(Long employeeId, LocalDate date);
+
+    // Flat projection of every active structure, used to build SalaryStructureIndex
+    @Query("SELECT new com.audit.system.dto.SalaryStructureEntryDTO(s.id, s.employee.id, c.id, c.code, c.name, c.type, s.amount, s.effectiveStartDate, s.effectiveEndDate) FROM EmployeeSalaryStructure s JOIN s.component c WHERE s.isActive = true")
+    List<SalaryStructureEntryDTO> findAllActiveEntries();
+
+    @Query("SELECT COUNT(s) FROM EmployeeSalaryStructure s WHERE s.isActive = true")
+    long countActive();
+
+    // All active components for a date in one streamed query, grouped by employee.
+    // Employee (with department/grade) and component are fetch-joined so the payroll loop never goes back to the DB.
+    // Must be consumed inside a transaction and closed (try-with-resources).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM EmployeeSalaryStructure s JOIN FETCH s.employee e LEFT JOIN FETCH e.department LEFT JOIN FETCH e.grade JOIN FETCH s.component WHERE s.isActive = true AND s.effectiveStartDate <= :date AND (s.effectiveEndDate IS NULL OR s.effectiveEndDate >= :date) ORDER BY e.id")
+    Stream<EmployeeSalaryStructure> streamActiveByDate(LocalDate date);
+
+    // Same as streamActiveByDate, limited to an inclusive employee id range (one payroll partition)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM EmployeeSalaryStructure s JOIN FETCH s.employee e LEFT JOIN FETCH e.department LEFT JOIN FETCH e.grade JOIN FETCH s.component WHERE e.id BETWEEN :minEmployeeId AND :maxEmployeeId AND s.isActive = true AND s.effectiveStartDate <= :date AND (s.effectiveEndDate IS NULL OR s.effectiveEndDate >= :date) ORDER BY e.id")
+    Stream<EmployeeSalaryStructure> streamActiveByDateAndEmployeeRange(LocalDate date, Long minEmployeeId,
+            Long maxEmployeeId);
+
+    // Same as streamActiveByDate, limited to the given employees (delta recalculation)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM EmployeeSalaryStructure s JOIN FETCH s.employee e LEFT JOIN FETCH e.department LEFT JOIN FETCH e.grade JOIN FETCH s.component WHERE e.id IN :employeeIds AND s.isActive = true AND s.effectiveStartDate <= :date AND (s.effectiveEndDate IS NULL OR s.effectiveEndDate >= :date) ORDER BY e.id")
+    Stream<EmployeeSalaryStructure> streamActiveByDateAndEmployeeIds(LocalDate date, Collection<Long> employeeIds);
 }
@@ -0,0 +1,19 @@
+package com.audit.system.repository;
+
+import com.audit.system.dto.VehicleLimitDTO;
+import com.audit.system.model.EmployeeVehicle;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmployeeVehicleRepository extends JpaRepository<EmployeeVehicle, Long> {
+
+    // Owner and fuel limit of the given vehicles in one query, without loading the employees
+    @Query("SELECT new com.audit.system.dto.VehicleLimitDTO(v.id, v.employee.id, v.fuelAllowanceLimit, v.isActive) "
+            + "FROM EmployeeVehicle v WHERE v.id IN :vehicleIds")
+    List<VehicleLimitDTO> findLimitsByIdIn(Collection<Long> vehicleIds);
+}
@@ -0,0 +1,21 @@
+package com.audit.system.repository;
+
+import com.audit.system.model.EmployeeZakatSetting;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface EmployeeZakatSettingRepository extends JpaRepository<EmployeeZakatSetting, Long> {
+
+    // Settings in force on the date for all employees, latest start first; one query per payroll run
+    @Query("SELECT z FROM EmployeeZakatSetting z WHERE z.isActive = true AND z.effectiveStartDate <= :date "
+            + "AND (z.effectiveEndDate IS NULL OR z.effectiveEndDate >= :date) "
+            + "ORDER BY z.employeeId, z.effectiveStartDate DESC")
+    List<EmployeeZakatSetting> findActiveOn(LocalDate date);
+
+    List<EmployeeZakatSetting> findByEmployeeIdOrderByEffectiveStartDateDesc(Long employeeId);
+}
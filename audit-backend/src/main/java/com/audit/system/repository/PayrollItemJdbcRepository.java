@@ -0,0 +1,91 @@
+package com.audit.system.repository;
+
+import com.audit.system.model.PayrollItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Plain JDBC writer for payroll items: bulk payroll runs write through here instead of
+ * payrollItemRepository.save(), skipping the persistence context altogether. Ids come from
+ * payroll_items_id_seq in the same pooled blocks Hibernate uses for PayrollItem.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PayrollItemJdbcRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO payroll_items "
+            + "(id, payroll_run_id, employee_id, component_id, amount, calculation_base, calculation_rate, remarks) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // PayrollItem's allocationSize and the sequence's INCREMENT
+    private static final int ID_BLOCK = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // One JDBC batch for the whole list. Joins the caller's JPA transaction.
+    public void batchInsert(List<PayrollItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        assignIds(items);
+        jdbcTemplate.batchUpdate(INSERT_SQL, items, items.size(), (ps, item) -> {
+            ps.setLong(1, item.getId());
+            ps.setLong(2, item.getPayrollRun().getId());
+            ps.setLong(3, item.getEmployee().getId());
+            ps.setLong(4, item.getComponent().getId());
+            ps.setBigDecimal(5, item.getAmount());
+            ps.setBigDecimal(6, item.getCalculationBase());
+            ps.setBigDecimal(7, item.getCalculationRate());
+            ps.setString(8, item.getRemarks());
+        });
+    }
+
+    // Like Hibernate's pooled optimizer, each nextval is the top of a block of ID_BLOCK ids
+    private void assignIds(List<PayrollItem> items) {
+        int next = 0;
+        while (next < items.size()) {
+            int blocks = (items.size() - next + ID_BLOCK - 1) / ID_BLOCK;
+            for (Long hi : jdbcTemplate.queryForList("SELECT nextval('payroll_items_id_seq') FROM generate_series(1, ?)",
+                    Long.class, blocks)) {
+                for (long id = Math.max(1, hi - ID_BLOCK + 1); id <= hi && next < items.size(); id++) {
+                    items.get(next++).setId(id);
+                }
+            }
+        }
+    }
+
+    public int deleteByRun(Long payrollRunId) {
+        return jdbcTemplate.update("DELETE FROM payroll_items WHERE payroll_run_id = ?", payrollRunId);
+    }
+
+    public int deleteByRunAndEmployees(Long payrollRunId, Collection<Long> employeeIds) {
+        return jdbcTemplate.update("DELETE FROM payroll_items WHERE payroll_run_id = ? AND employee_id = ANY(?)", ps -> {
+            ps.setLong(1, payrollRunId);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", employeeIds.toArray()));
+        });
+    }
+
+    // Net pay (earnings minus deductions, plus claims) currently recorded in the run for the given employees
+    public BigDecimal sumNetPay(Long payrollRunId, Collection<Long> employeeIds) {
+        return jdbcTemplate.query("SELECT COALESCE(SUM(CASE "
+                + "WHEN c.type IN ('EARNING', 'CLAIM') THEN i.amount "
+                + "WHEN c.type IN ('DEDUCTION', 'STATUTORY_DEDUCTION') THEN -i.amount "
+                + "ELSE 0 END), 0) "
+                + "FROM payroll_items i JOIN salary_components c ON c.id = i.component_id "
+                + "WHERE i.payroll_run_id = ? AND i.employee_id = ANY(?)", ps -> {
+                    ps.setLong(1, payrollRunId);
+                    ps.setArray(2, ps.getConnection().createArrayOf("bigint", employeeIds.toArray()));
+                }, rs -> rs.next() ? rs.getBigDecimal(1) : BigDecimal.ZERO);
+    }
+
+    public int deleteByRunAndEmployeeRange(Long payrollRunId, Long minEmployeeId, Long maxEmployeeId) {
+        return jdbcTemplate.update(
+                "DELETE FROM payroll_items WHERE payroll_run_id = ? AND employee_id BETWEEN ? AND ?",
+                payrollRunId, minEmployeeId, maxEmployeeId);
+    }
+}
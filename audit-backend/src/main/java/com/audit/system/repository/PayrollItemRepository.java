@@ -1,8 +1,12 @@
 package com.audit.system.repository;
 
+import com.audit.system.dto.DepartmentCostRowDTO;
 import com.audit.system.model.PayrollItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -10,4 +14,17 @@ public interface PayrollItemRepository extends JpaRepository<PayrollItem, Long>
     List<PayrollItem> findByPayrollRunId(Long payrollRunId);
 
     List<PayrollItem> findByPayrollRunIdAndEmployeeId(Long payrollRunId, Long employeeId);
+
+    // One employee's items with run, employee and component fetched in the same query
+    @Query("SELECT i FROM PayrollItem i JOIN FETCH i.payrollRun JOIN FETCH i.component "
+            + "JOIN FETCH i.employee e LEFT JOIN FETCH e.department LEFT JOIN FETCH e.grade "
+            + "WHERE i.payrollRun.id = :payrollRunId AND e.id = :employeeId ORDER BY i.id")
+    List<PayrollItem> findPayslipItems(Long payrollRunId, Long employeeId);
+
+    // Item totals per run, department and component type; a projection, so no entities are loaded
+    @Query("SELECT new com.audit.system.dto.DepartmentCostRowDTO(r.id, d.name, d.costCenterCode, c.type, SUM(i.amount)) "
+            + "FROM PayrollItem i JOIN i.payrollRun r JOIN i.employee e LEFT JOIN e.department d JOIN i.component c "
+            + "WHERE r.id IN :payrollRunIds "
+            + "GROUP BY r.id, d.name, d.costCenterCode, c.type")
+    List<DepartmentCostRowDTO> sumByRunDepartmentAndType(Collection<Long> payrollRunIds);
 }
@@ -0,0 +1,44 @@
+package com.audit.system.repository;
+
+import com.audit.system.model.PayrollMonthlySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PayrollMonthlySummaryRepository extends JpaRepository<PayrollMonthlySummary, Long> {
+    List<PayrollMonthlySummary> findByYearOrderByMonth(Integer year);
+
+    Optional<PayrollMonthlySummary> findByMonthAndYear(Integer month, Integer year);
+
+    // Re-aggregates one run's items into its summary row in a single statement (insert or update)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO payroll_monthly_summaries (payroll_run_id, month, year, status, headcount, "
+            + "earning_total, deduction_total, statutory_deduction_total, company_contribution_total, claim_total, "
+            + "gross_pay, total_deductions, net_pay, refreshed_at) "
+            + "SELECT t.id, t.month, t.year, t.status, t.headcount, "
+            + "t.earning, t.deduction, t.statutory, t.contribution, t.claim, "
+            + "t.earning, t.deduction + t.statutory, t.earning - t.deduction - t.statutory + t.claim, LOCALTIMESTAMP "
+            + "FROM (SELECT r.id, r.month, r.year, r.status, COUNT(DISTINCT i.employee_id) AS headcount, "
+            + "COALESCE(SUM(i.amount) FILTER (WHERE c.type = 'EARNING'), 0) AS earning, "
+            + "COALESCE(SUM(i.amount) FILTER (WHERE c.type = 'DEDUCTION'), 0) AS deduction, "
+            + "COALESCE(SUM(i.amount) FILTER (WHERE c.type = 'STATUTORY_DEDUCTION'), 0) AS statutory, "
+            + "COALESCE(SUM(i.amount) FILTER (WHERE c.type = 'COMPANY_CONTRIBUTION'), 0) AS contribution, "
+            + "COALESCE(SUM(i.amount) FILTER (WHERE c.type = 'CLAIM'), 0) AS claim "
+            + "FROM payroll_runs r "
+            + "LEFT JOIN payroll_items i ON i.payroll_run_id = r.id "
+            + "LEFT JOIN salary_components c ON c.id = i.component_id "
+            + "WHERE r.id = :payrollRunId "
+            + "GROUP BY r.id, r.month, r.year, r.status) t "
+            + "ON CONFLICT (payroll_run_id) DO UPDATE SET status = EXCLUDED.status, headcount = EXCLUDED.headcount, "
+            + "earning_total = EXCLUDED.earning_total, deduction_total = EXCLUDED.deduction_total, "
+            + "statutory_deduction_total = EXCLUDED.statutory_deduction_total, "
+            + "company_contribution_total = EXCLUDED.company_contribution_total, claim_total = EXCLUDED.claim_total, "
+            + "gross_pay = EXCLUDED.gross_pay, total_deductions = EXCLUDED.total_deductions, "
+            + "net_pay = EXCLUDED.net_pay, refreshed_at = EXCLUDED.refreshed_at", nativeQuery = true)
+    void refresh(Long payrollRunId);
+}
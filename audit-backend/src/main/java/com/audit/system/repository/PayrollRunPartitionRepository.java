@@ -0,0 +1,18 @@
+package com.audit.system.repository;
+
+import com.audit.system.model.PayrollRunPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PayrollRunPartitionRepository extends JpaRepository<PayrollRunPartition, Long> {
+    List<PayrollRunPartition> findByPayrollRunIdOrderByPartitionNo(Long payrollRunId);
+
+    @Modifying
+    @Query("DELETE FROM PayrollRunPartition p WHERE p.payrollRun.id = :payrollRunId")
+    void deleteByPayrollRunId(Long payrollRunId);
+}
@@ -2,10 +2,26 @@ package com.audit.system.repository;
 
 import com.audit.system.model.PayrollRun;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
     Optional<PayrollRun> findByMonthAndYear(Integer month, Integer year);
+
+    List<PayrollRun> findByYearAndMonthBetween(Integer year, Integer fromMonth, Integer toMonth);
+
+    // Total payout per month of a year in one grouped query
+    @Query("SELECT r.month AS month, SUM(r.totalPayout) AS totalPayout FROM PayrollRun r WHERE r.year = :year GROUP BY r.month")
+    List<MonthlyPayout> sumPayoutByMonth(Integer year);
+
+    interface MonthlyPayout {
+        Integer getMonth();
+
+        BigDecimal getTotalPayout();
+    }
 }
@@ -0,0 +1,51 @@
+package com.audit.system.repository;
+
+import com.audit.system.model.PersonalFinance;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+
+/**
+ * Single-statement save for personal finance records. The row is inserted or, when the user already
+ * has one for the month, updated in place (created_at is kept) and returned, so a save is one round
+ * trip and concurrent saves for the same month cannot create duplicates.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PersonalFinanceJdbcRepository {
+
+    private static final String UPSERT_SQL = "INSERT INTO personal_finance (user_email, year, month, "
+            + "basic_salary, fixed_allowance, variable_allowance, bonus, total_income, "
+            + "epf, pcb, zakat_monthly, total_deductions, "
+            + "housing, transport, food, investment, donation, savings, gold_savings, total_expenses, "
+            + "net_salary, balance, net_worth, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (user_email, year, month) DO UPDATE SET "
+            + "basic_salary = EXCLUDED.basic_salary, fixed_allowance = EXCLUDED.fixed_allowance, "
+            + "variable_allowance = EXCLUDED.variable_allowance, bonus = EXCLUDED.bonus, "
+            + "total_income = EXCLUDED.total_income, epf = EXCLUDED.epf, pcb = EXCLUDED.pcb, "
+            + "zakat_monthly = EXCLUDED.zakat_monthly, total_deductions = EXCLUDED.total_deductions, "
+            + "housing = EXCLUDED.housing, transport = EXCLUDED.transport, food = EXCLUDED.food, "
+            + "investment = EXCLUDED.investment, donation = EXCLUDED.donation, savings = EXCLUDED.savings, "
+            + "gold_savings = EXCLUDED.gold_savings, total_expenses = EXCLUDED.total_expenses, "
+            + "net_salary = EXCLUDED.net_salary, balance = EXCLUDED.balance, net_worth = EXCLUDED.net_worth "
+            + "RETURNING *";
+
+    private static final BeanPropertyRowMapper<PersonalFinance> ROW_MAPPER =
+            BeanPropertyRowMapper.newInstance(PersonalFinance.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PersonalFinance upsert(PersonalFinance f) {
+        return jdbcTemplate.queryForObject(UPSERT_SQL, ROW_MAPPER,
+                f.getUserEmail(), f.getYear(), f.getMonth(),
+                f.getBasicSalary(), f.getFixedAllowance(), f.getVariableAllowance(), f.getBonus(), f.getTotalIncome(),
+                f.getEpf(), f.getPcb(), f.getZakatMonthly(), f.getTotalDeductions(),
+                f.getHousing(), f.getTransport(), f.getFood(), f.getInvestment(), f.getDonation(), f.getSavings(),
+                f.getGoldSavings(), f.getTotalExpenses(),
+                f.getNetSalary(), f.getBalance(), f.getNetWorth(), Timestamp.valueOf(f.getCreatedAt()));
+    }
+}
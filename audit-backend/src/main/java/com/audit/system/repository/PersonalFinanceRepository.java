@@ -2,6 +2,7 @@ package com.audit.system.repository;
 
 import com.audit.system.model.PersonalFinance;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +14,14 @@ public interface PersonalFinanceRepository extends JpaRepository<PersonalFinance
     List<PersonalFinance> findByUserEmailAndYear(String userEmail, int year);
 
     List<PersonalFinance> findByUserEmailAndYearAndMonth(String userEmail, int year, int month);
+
+    // Everything the dashboard summary needs in one aggregate: month count, summed surplus (balance,
+    // or income - deductions - expenses when no balance was stored) and the latest snapshots
+    @Query(value = "SELECT COUNT(*) AS months, "
+            + "COALESCE(SUM(COALESCE(balance, COALESCE(total_income, 0) - COALESCE(total_deductions, 0) "
+            + "- COALESCE(total_expenses, 0))), 0) AS totalSurplus, "
+            + "(ARRAY_AGG(savings ORDER BY year DESC, month DESC))[1] AS latestSavings, "
+            + "(ARRAY_AGG(gold_savings ORDER BY year DESC, month DESC))[1] AS latestGold "
+            + "FROM personal_finance WHERE user_email = :userEmail", nativeQuery = true)
+    PersonalFinanceTotals findTotals(String userEmail);
 }
@@ -0,0 +1,14 @@
+package com.audit.system.repository;
+
+import java.math.BigDecimal;
+
+// Projection of PersonalFinanceRepository.findTotals: one row per user, computed in the database
+public interface PersonalFinanceTotals {
+    long getMonths();
+
+    BigDecimal getTotalSurplus();
+
+    BigDecimal getLatestSavings();
+
+    BigDecimal getLatestGold();
+}
@@ -1,12 +1,19 @@
 package com.audit.system.repository;
 
 import com.audit.system.model.SalaryComponent;
+import com.audit.system.model.SalaryComponentType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SalaryComponentRepository extends JpaRepository<SalaryComponent, Long> {
     Optional<SalaryComponent> findByCode(String code);
+
+    List<SalaryComponent> findByCodeIn(Collection<String> codes);
+
+    List<SalaryComponent> findByType(SalaryComponentType type);
 }
@@ -0,0 +1,87 @@
+package com.audit.system.service;
+
+import com.audit.system.dto.AuditLogPageDTO;
+import com.audit.system.model.AuditLog;
+import com.audit.system.repository.AuditLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Audit history per record or per table with keyset pagination on (changed_at, id), newest first.
+ * Each page is one range scan of idx_audit_logs_record or idx_audit_logs_table, so paging through
+ * years of history costs the same per page as the first one. The cursor is "changedAt_id".
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditHistoryService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final AuditLogRepository auditLogRepository;
+
+    // "before" starts the history at a point in time instead of now; "after" wins if both are given
+    @Transactional(readOnly = true)
+    public AuditLogPageDTO findRecordHistory(String tableName, Long recordId, String after, LocalDateTime before,
+            int size) {
+        int pageSize = pageSize(size);
+        Cursor cursor = cursor(after, before);
+        List<AuditLog> rows = cursor == null
+                ? auditLogRepository.findByTableNameAndRecordIdOrderByChangedAtDescIdDesc(tableName, recordId,
+                        Limit.of(pageSize + 1))
+                : auditLogRepository.findRecordHistoryBefore(tableName, recordId, cursor.changedAt(), cursor.id(),
+                        Limit.of(pageSize + 1));
+        return page(rows, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public AuditLogPageDTO findTableHistory(String tableName, String after, LocalDateTime before, int size) {
+        int pageSize = pageSize(size);
+        Cursor cursor = cursor(after, before);
+        List<AuditLog> rows = cursor == null
+                ? auditLogRepository.findByTableNameOrderByChangedAtDescIdDesc(tableName, Limit.of(pageSize + 1))
+                : auditLogRepository.findTableHistoryBefore(tableName, cursor.changedAt(), cursor.id(),
+                        Limit.of(pageSize + 1));
+        return page(rows, pageSize);
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // One extra row tells whether another page exists
+    private static AuditLogPageDTO page(List<AuditLog> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<AuditLog> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            AuditLog last = items.get(items.size() - 1);
+            nextCursor = last.getChangedAt() + "_" + last.getId();
+        }
+        return new AuditLogPageDTO(items, nextCursor, hasMore);
+    }
+
+    static Cursor cursor(String after, LocalDateTime before) {
+        if (after != null && !after.isBlank()) {
+            int split = after.lastIndexOf('_');
+            if (split < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + after);
+            }
+            try {
+                return new Cursor(LocalDateTime.parse(after.substring(0, split)),
+                        Long.valueOf(after.substring(split + 1)));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed cursor: " + after);
+            }
+        }
+        return before == null ? null : new Cursor(before, Long.MAX_VALUE);
+    }
+
+    record Cursor(LocalDateTime changedAt, Long id) {
+    }
+}
@@ -0,0 +1,354 @@
+package com.audit.system.service;
+
+import com.audit.system.dto.ClaimBatchResultDTO;
+import com.audit.system.dto.ClaimDecisionDTO;
+import com.audit.system.dto.ClaimSubmissionDTO;
+import com.audit.system.dto.VehicleLimitDTO;
+import com.audit.system.model.SalaryComponent;
+import com.audit.system.model.SalaryComponentType;
+import com.audit.system.repository.AuditLogJdbcRepository;
+import com.audit.system.repository.ClaimJdbcRepository;
+import com.audit.system.repository.EmployeeRepository;
+import com.audit.system.repository.EmployeeVehicleRepository;
+import com.audit.system.repository.SalaryComponentRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk claim submission and approval. Submissions are read as a stream (JSON array or CSV) and
+ * handled in batches: per batch, employees and vehicles are looked up in one query each, the valid
+ * claims are inserted in one JDBC batch and a single audit entry records the batch. Approval and
+ * rejection are one UPDATE per request, whether by id list or filter.
+ */
+@Service
+@RequiredArgsConstructor
+public class ClaimService {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String FUEL = "FUEL";
+    private static final String SYSTEM_USER = "SYSTEM";
+
+    private final ClaimJdbcRepository claimJdbcRepository;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeVehicleRepository vehicleRepository;
+    private final SalaryComponentRepository salaryComponentRepository;
+    private final AuditLogJdbcRepository auditLogJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    // JSON array of ClaimSubmissionDTO, read element by element; an element that is not an object is
+    // a row error. Unreadable JSON fails the whole request; rollbackFor because the IOException is
+    // checked and batches may already be inserted.
+    @Transactional(rollbackFor = Exception.class)
+    public ClaimBatchResultDTO submitJson(InputStream in, String submittedBy) throws IOException {
+        Submission submission = new Submission(submittedBy);
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of claims.");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IllegalArgumentException("Unterminated JSON array of claims.");
+                }
+                if (token == JsonToken.START_OBJECT) {
+                    submission.add(parser.readValueAs(ClaimSubmissionDTO.class));
+                } else {
+                    submission.reject("not a claim object (" + parser.getText() + ")");
+                    parser.skipChildren(); // A nested array is skipped whole
+                }
+            }
+        }
+        return submission.finish();
+    }
+
+    // CSV with a header row naming the ClaimSubmissionDTO fields, e.g. employeeId,claimType,amount,claimDate,vehicleId
+    @Transactional(rollbackFor = Exception.class)
+    public ClaimBatchResultDTO submitCsv(InputStream in, String submittedBy) throws IOException {
+        Submission submission = new Submission(submittedBy);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                return submission.finish();
+            }
+            Map<String, Integer> header = new HashMap<>();
+            List<String> names = parseCsvLine(headerLine);
+            for (int i = 0; i < names.size(); i++) {
+                header.put(names.get(i).trim(), i);
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    submission.add(toSubmission(header, parseCsvLine(line)));
+                } catch (RuntimeException e) {
+                    submission.reject("unreadable (" + e.getMessage() + ")");
+                }
+            }
+        }
+        return submission.finish();
+    }
+
+    @Transactional
+    public ClaimBatchResultDTO submit(List<ClaimSubmissionDTO> claims, String submittedBy) {
+        Submission submission = new Submission(submittedBy);
+        claims.forEach(submission::add);
+        return submission.finish();
+    }
+
+    @Transactional
+    public ClaimBatchResultDTO approve(ClaimDecisionDTO decision) {
+        return decide(decision, "APPROVED");
+    }
+
+    @Transactional
+    public ClaimBatchResultDTO reject(ClaimDecisionDTO decision) {
+        return decide(decision, "REJECTED");
+    }
+
+    private ClaimBatchResultDTO decide(ClaimDecisionDTO decision, String status) {
+        String decidedBy = decision.getDecidedBy() != null ? decision.getDecidedBy() : SYSTEM_USER;
+        List<Long> changed;
+        if (decision.getIds() != null && !decision.getIds().isEmpty()) {
+            changed = claimJdbcRepository.decideByIds(decision.getIds(), status, decidedBy);
+        } else if (decision.getEmployeeId() != null || decision.getClaimType() != null
+                || decision.getFrom() != null || decision.getTo() != null) {
+            String claimType = decision.getClaimType() != null ? decision.getClaimType().toUpperCase(Locale.ROOT) : null;
+            changed = claimJdbcRepository.decideByFilter(decision.getEmployeeId(), claimType,
+                    decision.getFrom(), decision.getTo(), status, decidedBy);
+        } else {
+            // Refuse to approve every pending claim by accident
+            throw new IllegalArgumentException("Provide claim ids or at least one filter.");
+        }
+
+        ClaimBatchResultDTO result = new ClaimBatchResultDTO();
+        result.setProcessed(changed.size());
+        result.setClaimIds(changed);
+        if (!changed.isEmpty()) {
+            audit("UPDATE", changed, Map.of("operation", "BULK_" + status, "count", changed.size(),
+                    "claimIds", changed), decidedBy);
+        }
+        return result;
+    }
+
+    private void audit(String action, List<Long> claimIds, Map<String, Object> newValues, String changedBy) {
+        try {
+            // The batch is filed under its first claim id; the full id list is in new_values
+            auditLogJdbcRepository.insert("claims", claimIds.get(0), action, null,
+                    objectMapper.writeValueAsString(newValues), changedBy);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not write claim batch audit entry", e);
+        }
+    }
+
+    private static ClaimSubmissionDTO toSubmission(Map<String, Integer> header, List<String> values) {
+        ClaimSubmissionDTO claim = new ClaimSubmissionDTO();
+        String employeeId = column(header, values, "employeeId");
+        String amount = column(header, values, "amount");
+        String claimDate = column(header, values, "claimDate");
+        String vehicleId = column(header, values, "vehicleId");
+        claim.setEmployeeId(employeeId != null ? Long.valueOf(employeeId) : null);
+        claim.setClaimType(column(header, values, "claimType"));
+        claim.setAmount(amount != null ? new BigDecimal(amount) : null);
+        claim.setClaimDate(claimDate != null ? LocalDate.parse(claimDate) : null);
+        claim.setVehicleId(vehicleId != null ? Long.valueOf(vehicleId) : null);
+        claim.setReceiptRef(column(header, values, "receiptRef"));
+        claim.setDescription(column(header, values, "description"));
+        return claim;
+    }
+
+    private static String column(Map<String, Integer> header, List<String> values, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Splits one CSV line; fields may be double-quoted, with "" for a literal quote
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * One bulk submission: rows are buffered up to BATCH_SIZE, then validated and written together.
+     * Fuel usage per vehicle and month is carried across batches, so the limit holds for the whole request.
+     */
+    private class Submission {
+
+        private final String submittedBy;
+        private final ClaimBatchResultDTO result = new ClaimBatchResultDTO();
+        private final List<ClaimSubmissionDTO> pending = new ArrayList<>(BATCH_SIZE);
+        private final List<Integer> pendingRows = new ArrayList<>(BATCH_SIZE);
+        private final Map<String, BigDecimal> fuelUsed = new HashMap<>();
+        private Set<String> claimCodes;
+        private int row;
+
+        Submission(String submittedBy) {
+            this.submittedBy = submittedBy != null ? submittedBy : SYSTEM_USER;
+        }
+
+        void add(ClaimSubmissionDTO claim) {
+            row++;
+            pending.add(claim);
+            pendingRows.add(row);
+            if (pending.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(String reason) {
+            row++;
+            result.getErrors().add("row " + row + ": " + reason);
+        }
+
+        ClaimBatchResultDTO finish() {
+            flush();
+            return result;
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Set<Long> employeeIds = new HashSet<>();
+            Set<Long> vehicleIds = new HashSet<>();
+            for (ClaimSubmissionDTO claim : pending) {
+                if (claim.getEmployeeId() != null) {
+                    employeeIds.add(claim.getEmployeeId());
+                }
+                if (claim.getVehicleId() != null) {
+                    vehicleIds.add(claim.getVehicleId());
+                }
+            }
+            Set<Long> employees = employeeIds.isEmpty() ? Set.of()
+                    : new HashSet<>(employeeRepository.findExistingIds(employeeIds));
+            Map<Long, VehicleLimitDTO> vehicles = vehicleIds.isEmpty() ? Map.of()
+                    : vehicleRepository.findLimitsByIdIn(vehicleIds).stream()
+                            .collect(Collectors.toMap(VehicleLimitDTO::getVehicleId, Function.identity()));
+            if (claimCodes == null) {
+                // The CLAIM components payroll pays claims through, once per submission
+                claimCodes = salaryComponentRepository.findByType(SalaryComponentType.CLAIM).stream()
+                        .map(SalaryComponent::getCode).collect(Collectors.toSet());
+            }
+
+            List<ClaimSubmissionDTO> valid = new ArrayList<>(pending.size());
+            for (int i = 0; i < pending.size(); i++) {
+                ClaimSubmissionDTO claim = pending.get(i);
+                String error = validate(claim, employees, vehicles);
+                if (error != null) {
+                    result.getErrors().add("row " + pendingRows.get(i) + ": " + error);
+                } else {
+                    valid.add(claim);
+                }
+            }
+            pending.clear();
+            pendingRows.clear();
+
+            List<Long> ids = claimJdbcRepository.batchInsert(valid);
+            if (!ids.isEmpty()) {
+                Map<String, Object> newValues = new LinkedHashMap<>();
+                newValues.put("operation", "BULK_SUBMIT");
+                newValues.put("count", ids.size());
+                newValues.put("claimIds", ids);
+                audit("INSERT", ids, newValues, submittedBy);
+            }
+            result.setProcessed(result.getProcessed() + ids.size());
+            result.getClaimIds().addAll(ids);
+        }
+
+        // Null when the claim can be inserted; also normalises the claim type
+        private String validate(ClaimSubmissionDTO claim, Set<Long> employees, Map<Long, VehicleLimitDTO> vehicles) {
+            if (claim.getEmployeeId() == null || claim.getClaimType() == null || claim.getAmount() == null
+                    || claim.getClaimDate() == null) {
+                return "employeeId, claimType, amount and claimDate are required";
+            }
+            if (claim.getAmount().signum() <= 0 || claim.getAmount().scale() > 2) {
+                return "amount must be positive with at most 2 decimals";
+            }
+            if (!employees.contains(claim.getEmployeeId())) {
+                return "employee " + claim.getEmployeeId() + " not found";
+            }
+            claim.setClaimType(claim.getClaimType().trim().toUpperCase(Locale.ROOT));
+            String componentCode = PayrollCalculator.claimComponentCode(claim.getClaimType());
+            if (!claimCodes.contains(componentCode)) {
+                // Payroll has nothing to pay it through and would skip it in every run
+                return "claim type " + claim.getClaimType() + " has no " + componentCode + " component";
+            }
+
+            if (claim.getVehicleId() == null) {
+                return null;
+            }
+            VehicleLimitDTO vehicle = vehicles.get(claim.getVehicleId());
+            if (vehicle == null || !claim.getEmployeeId().equals(vehicle.getEmployeeId())) {
+                return "vehicle " + claim.getVehicleId() + " is not assigned to employee " + claim.getEmployeeId();
+            }
+            if (!vehicle.isActive()) {
+                return "vehicle " + claim.getVehicleId() + " is inactive";
+            }
+            if (FUEL.equals(claim.getClaimType()) && vehicle.getFuelAllowanceLimit() != null) {
+                // Monthly limit across this submission; payroll caps again against everything approved
+                String key = vehicle.getVehicleId() + ":" + YearMonth.from(claim.getClaimDate());
+                BigDecimal used = fuelUsed.getOrDefault(key, BigDecimal.ZERO).add(claim.getAmount());
+                if (used.compareTo(vehicle.getFuelAllowanceLimit()) > 0) {
+                    return "fuel claims for vehicle " + vehicle.getVehicleId() + " exceed its limit of "
+                            + vehicle.getFuelAllowanceLimit().toPlainString();
+                }
+                fuelUsed.put(key, used);
+            }
+            return null;
+        }
+    }
+}
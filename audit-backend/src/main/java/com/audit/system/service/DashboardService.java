@@ -1,56 +1,112 @@
 package com.audit.system.service;
 
+import com.audit.system.cache.FinalizedPayrollCache;
 import com.audit.system.dto.DepartmentCostDTO;
+import com.audit.system.dto.DepartmentCostRowDTO;
 import com.audit.system.dto.MonthlyTrendDTO;
 import com.audit.system.model.AuditLog;
+import com.audit.system.model.PayrollMonthlySummary;
 import com.audit.system.model.PayrollRun;
+import com.audit.system.model.SalaryComponentType;
 import com.audit.system.repository.AuditLogRepository;
+import com.audit.system.repository.PayrollItemRepository;
+import com.audit.system.repository.PayrollMonthlySummaryRepository;
 import com.audit.system.repository.PayrollRunRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
+    // Component types that are a cost to the company (deductions are paid out of earnings)
+    private static final Set<SalaryComponentType> COST_TYPES = EnumSet.of(
+            SalaryComponentType.EARNING, SalaryComponentType.CLAIM, SalaryComponentType.COMPANY_CONTRIBUTION);
+
     private final PayrollRunRepository payrollRunRepository;
     private final AuditLogRepository auditLogRepository;
+    private final PayrollMonthlySummaryRepository summaryRepository;
+    private final PayrollItemRepository payrollItemRepository;
+    private final FinalizedPayrollCache finalizedPayrollCache;
 
     public List<MonthlyTrendDTO> getYearlyTrend(int year) {
+        // One grouped query for the whole year, then fill in months without a run
+        BigDecimal[] payoutByMonth = new BigDecimal[13];
+        for (PayrollRunRepository.MonthlyPayout row : payrollRunRepository.sumPayoutByMonth(year)) {
+            payoutByMonth[row.getMonth()] = row.getTotalPayout();
+        }
+
         List<MonthlyTrendDTO> trends = new ArrayList<>();
-        // In a real scenario, we might want to fetch all runs for the year in one query
-        // keeping it simple for now
         for (int month = 1; month <= 12; month++) {
             MonthlyTrendDTO dto = new MonthlyTrendDTO();
             dto.setMonth(getMonthName(month));
-
-            PayrollRun run = payrollRunRepository.findByMonthAndYear(month, year).orElse(null);
-            dto.setTotalPayout(run != null ? run.getTotalPayout() : BigDecimal.ZERO);
-
+            dto.setTotalPayout(payoutByMonth[month] != null ? payoutByMonth[month] : BigDecimal.ZERO);
             trends.add(dto);
         }
         return trends;
     }
 
-    public List<DepartmentCostDTO> getDepartmentCosts(int year) {
-        // Mocking logic for department costs using Payroll Items would be ideal
-        // But for "Visual" demo, we can aggregate from Employees if Linked
-        // For now, let's return some realistic mock data for the Pie Chart
-        // In real app: Join PayrollItem -> Employee -> Department
-        List<DepartmentCostDTO> costs = new ArrayList<>();
-        costs.add(new DepartmentCostDTO("IT", new BigDecimal("45000")));
-        costs.add(new DepartmentCostDTO("HR", new BigDecimal("15000")));
-        costs.add(new DepartmentCostDTO("Finance", new BigDecimal("28000")));
-        costs.add(new DepartmentCostDTO("Operations", new BigDecimal("32000")));
+    // Precomputed per-run totals (gross, deductions, net, headcount, per component type)
+    public List<PayrollMonthlySummary> getMonthlySummaries(int year) {
+        return summaryRepository.findByYearOrderByMonth(year);
+    }
+
+    /**
+     * Cost per department for the months of a year, optionally limited to one cost center.
+     * Aggregated from payroll_items per run; rows of FINALIZED/PAID runs are served from the
+     * finalized payroll cache, so only DRAFT or not yet cached runs hit the database.
+     */
+    public List<DepartmentCostDTO> getDepartmentCosts(int year, int fromMonth, int toMonth, String costCenterCode) {
+        List<PayrollRun> runs = payrollRunRepository.findByYearAndMonthBetween(year, fromMonth, toMonth);
+
+        List<DepartmentCostRowDTO> rows = new ArrayList<>();
+        Map<Long, PayrollRun> uncached = new HashMap<>();
+        for (PayrollRun run : runs) {
+            List<DepartmentCostRowDTO> cached = finalizedPayrollCache.getDepartmentCosts(run.getId());
+            if (cached != null) {
+                rows.addAll(cached);
+            } else {
+                uncached.put(run.getId(), run);
+            }
+        }
+
+        if (!uncached.isEmpty()) {
+            Map<Long, List<DepartmentCostRowDTO>> loaded = new HashMap<>();
+            for (DepartmentCostRowDTO row : payrollItemRepository.sumByRunDepartmentAndType(uncached.keySet())) {
+                loaded.computeIfAbsent(row.getPayrollRunId(), id -> new ArrayList<>()).add(row);
+            }
+            uncached.forEach((runId, run) -> {
+                List<DepartmentCostRowDTO> runRows = loaded.getOrDefault(runId, Collections.emptyList());
+                finalizedPayrollCache.putDepartmentCosts(run, runRows);
+                rows.addAll(runRows);
+            });
+        }
+
+        // Merge runs per department
+        Map<String, DepartmentCostDTO> byDepartment = new LinkedHashMap<>();
+        for (DepartmentCostRowDTO row : rows) {
+            if (costCenterCode != null && !costCenterCode.equals(row.getCostCenterCode())) {
+                continue;
+            }
+            String name = row.getDepartmentName() != null ? row.getDepartmentName() : "Unassigned";
+            DepartmentCostDTO dto = byDepartment.computeIfAbsent(name, n -> new DepartmentCostDTO(n,
+                    row.getCostCenterCode(), BigDecimal.ZERO, new EnumMap<>(SalaryComponentType.class)));
+            dto.getCostByType().merge(row.getComponentType(), row.getAmount(), BigDecimal::add);
+            if (COST_TYPES.contains(row.getComponentType())) {
+                dto.setTotalCost(dto.getTotalCost().add(row.getAmount()));
+            }
+        }
+
+        List<DepartmentCostDTO> costs = new ArrayList<>(byDepartment.values());
+        costs.sort(Comparator.comparing(DepartmentCostDTO::getTotalCost).reversed());
         return costs;
     }
 
     public List<AuditLog> getRecentAuditLogs() {
-        return auditLogRepository.findTop10ByOrderByChangedAtDesc();
+        return auditLogRepository.findTop10ByOrderByChangedAtDescIdDesc();
     }
 
     private String getMonthName(int month) {
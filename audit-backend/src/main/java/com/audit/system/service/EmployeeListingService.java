@@ -0,0 +1,111 @@
+package com.audit.system.service;
+
+import com.audit.system.dto.EmployeePageDTO;
+import com.audit.system.model.EmploymentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Employee listing with keyset (seek) pagination: each page continues after the last id or
+ * employee code of the previous one, so every page is an index range scan regardless of depth.
+ * Only the selected columns are queried; no entities or lazy collections are loaded.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmployeeListingService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Selectable fields and their JPQL paths; department and grade are outer joined
+    private static final Map<String, String> FIELDS = new LinkedHashMap<>();
+    static {
+        FIELDS.put("id", "e.id");
+        FIELDS.put("employeeCode", "e.employeeCode");
+        FIELDS.put("fullName", "e.fullName");
+        FIELDS.put("status", "e.status");
+        FIELDS.put("joinDate", "e.joinDate");
+        FIELDS.put("resignDate", "e.resignDate");
+        FIELDS.put("departmentId", "d.id");
+        FIELDS.put("departmentName", "d.name");
+        FIELDS.put("costCenterCode", "d.costCenterCode");
+        FIELDS.put("gradeId", "g.id");
+        FIELDS.put("gradeName", "g.name");
+    }
+
+    private static final List<String> DEFAULT_FIELDS = List.of(
+            "id", "employeeCode", "fullName", "status", "departmentName", "gradeName");
+
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public EmployeePageDTO findPage(String after, int size, String sort, EmploymentStatus status,
+            Long departmentId, Long gradeId, Collection<String> fields) {
+        boolean byCode = "employeeCode".equals(sort);
+        if (!byCode && !"id".equals(sort)) {
+            throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        String sortField = byCode ? "employeeCode" : "id";
+
+        // The sort key is always selected, it becomes the cursor
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add(sortField);
+        selected.addAll(fields == null || fields.isEmpty() ? DEFAULT_FIELDS : fields);
+        for (String field : selected) {
+            if (!FIELDS.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        StringJoiner columns = new StringJoiner(", ");
+        for (String field : selected) {
+            columns.add(FIELDS.get(field) + " AS " + field);
+        }
+        jpql.append(columns).append(" FROM Employee e LEFT JOIN e.department d LEFT JOIN e.grade g WHERE 1 = 1");
+
+        // Only the filters actually given become predicates, so each combination gets its own plan
+        Map<String, Object> params = new HashMap<>();
+        if (after != null && !after.isBlank()) {
+            jpql.append(" AND ").append(FIELDS.get(sortField)).append(" > :after");
+            params.put("after", byCode ? after : Long.valueOf(after));
+        }
+        if (status != null) {
+            jpql.append(" AND e.status = :status");
+            params.put("status", status);
+        }
+        if (departmentId != null) {
+            jpql.append(" AND d.id = :departmentId");
+            params.put("departmentId", departmentId);
+        }
+        if (gradeId != null) {
+            jpql.append(" AND g.id = :gradeId");
+            params.put("gradeId", gradeId);
+        }
+        jpql.append(" ORDER BY ").append(FIELDS.get(sortField));
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        params.forEach(query::setParameter);
+        // One extra row tells whether another page exists
+        List<Tuple> rows = query.setMaxResults(pageSize + 1).getResultList();
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Map<String, Object>> items = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (Tuple row : rows.subList(0, Math.min(rows.size(), pageSize))) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (String field : selected) {
+                item.put(field, row.get(field));
+            }
+            items.add(item);
+        }
+
+        String nextCursor = hasMore ? String.valueOf(items.get(items.size() - 1).get(sortField)) : null;
+        return new EmployeePageDTO(items, nextCursor, hasMore);
+    }
+}
@@ -0,0 +1,182 @@
+package com.audit.system.service;
+
+import com.audit.system.audit.AuditSnapshot;
+import com.audit.system.cache.EmployeeStateCache;
+import com.audit.system.dto.EmployeeStateDTO;
+import com.audit.system.model.AuditLog;
+import com.audit.system.repository.AuditSnapshotJdbcRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+
+/**
+ * Rebuilds an employee and its salary structures as of any point in time from audit_logs. Every
+ * audit entry carries the full row, so replaying means taking the latest row per record, in chain
+ * (commit) order; replay starts at the newest snapshot before that time. While replaying, a
+ * snapshot is written after every audit.temporal.max-replay events, and a nightly pass does the
+ * same for every employee chained since the previous pass, so a reconstruction replays at most
+ * that many events (plus whatever arrived since the last pass). A late commit lands after every
+ * snapshot, but can still change a cached state: cached employees are dropped as their entries are
+ * chained, and points in time younger than audit.temporal.settle-seconds are not cached at all.
+ */
+@Slf4j
+@Service
+public class EmployeeTemporalService {
+
+    private final AuditSnapshotJdbcRepository snapshotRepository;
+    private final EmployeeStateCache stateCache;
+    private final ObjectMapper objectMapper;
+    private final int maxReplay;
+    private final long settleSeconds;
+    private final int lookbackDays;
+    // Chain positions covered by the last nightly pass and the last cache invalidation, null until the first run
+    private Long snapshotWatermark;
+    private Long invalidationWatermark;
+
+    public EmployeeTemporalService(AuditSnapshotJdbcRepository snapshotRepository, EmployeeStateCache stateCache,
+            ObjectMapper objectMapper,
+            @Value("${audit.temporal.max-replay:200}") int maxReplay,
+            @Value("${audit.temporal.settle-seconds:300}") long settleSeconds,
+            @Value("${audit.temporal.snapshot-lookback-days:2}") int lookbackDays) {
+        this.snapshotRepository = snapshotRepository;
+        this.stateCache = stateCache;
+        this.objectMapper = objectMapper;
+        this.maxReplay = maxReplay;
+        this.settleSeconds = settleSeconds;
+        this.lookbackDays = lookbackDays;
+    }
+
+    public EmployeeStateDTO getStateAsOf(Long employeeId, LocalDateTime asOf) {
+        if (asOf.isBefore(settledBefore())) {
+            return stateCache.getOrLoad(employeeId, asOf, () -> reconstruct(employeeId, asOf));
+        }
+        return reconstruct(employeeId, asOf);
+    }
+
+    // Lays down snapshots for recently changed employees, so tomorrow's queries start close to their time
+    @Scheduled(cron = "${audit.temporal.snapshot-cron:0 15 2 * * *}", zone = "${audit.system.timezone:Asia/Kuala_Lumpur}")
+    public void snapshotRecentChanges() {
+        if (snapshotWatermark == null) {
+            snapshotWatermark = snapshotRepository.findChainSeqBefore(LocalDateTime.now().minusDays(lookbackDays));
+        }
+        long head = snapshotRepository.findChainHead();
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> employeeIds = snapshotRepository.findEmployeesChangedBetween(snapshotWatermark, head);
+        for (Long employeeId : employeeIds) {
+            if (employeeId != null) {
+                reconstruct(employeeId, now);
+            }
+        }
+        snapshotWatermark = head;
+        log.info("Audit snapshot pass covered {} employees up to chain position {}", employeeIds.size(), head);
+    }
+
+    // Drops cached states of employees with newly chained entries: one that committed late may
+    // belong before a cached point in time. Loads still running are covered by LruCache.invalidateIf.
+    @Scheduled(fixedDelayString = "${audit.temporal.invalidate-interval-ms:30000}")
+    public void invalidateChanged() {
+        long head = snapshotRepository.findChainHead();
+        if (invalidationWatermark == null) {
+            stateCache.clear(); // States cached before the first run have no watermark to compare with
+        } else if (head > invalidationWatermark) {
+            for (Long employeeId : snapshotRepository.findEmployeesChangedBetween(invalidationWatermark, head)) {
+                if (employeeId != null) {
+                    stateCache.invalidateEmployee(employeeId);
+                }
+            }
+        }
+        invalidationWatermark = head;
+    }
+
+    EmployeeStateDTO reconstruct(Long employeeId, LocalDateTime asOf) {
+        AuditSnapshot snapshot = snapshotRepository.findLatest(employeeId, asOf);
+        State state = snapshot == null ? new State() : read(snapshot.getState());
+        List<AuditLog> events = snapshotRepository.findEvents(employeeId, snapshot, asOf);
+
+        // A snapshot must hold every entry up to its chain position, so none at or past an entry this replay skips
+        OptionalLong skipped = snapshotRepository.findFirstSeqAfter(employeeId,
+                snapshot == null ? 0L : snapshot.getAsOfSeq(), asOf);
+        LocalDateTime maxChangedAt = snapshot == null ? null : snapshot.getMaxChangedAt();
+        int sinceSnapshot = 0;
+        for (AuditLog event : events) {
+            apply(state, employeeId, event);
+            if (maxChangedAt == null || event.getChangedAt().isAfter(maxChangedAt)) {
+                maxChangedAt = event.getChangedAt();
+            }
+            Long seq = event.getChainSeq(); // Unchained entries come last and have no position yet
+            if (++sinceSnapshot >= maxReplay && seq != null && (skipped.isEmpty() || seq < skipped.getAsLong())) {
+                snapshotRepository.save(new AuditSnapshot(employeeId, seq, maxChangedAt, write(state)));
+                sinceSnapshot = 0;
+            }
+        }
+
+        return new EmployeeStateDTO(employeeId, asOf, state.getEmployee(), new ArrayList<>(state.getStructures().values()),
+                snapshot == null ? null : snapshot.getMaxChangedAt(), events.size());
+    }
+
+    // Each entry holds the whole row: INSERT/UPDATE replace it, DELETE removes it
+    private void apply(State state, Long employeeId, AuditLog event) {
+        boolean deleted = "DELETE".equals(event.getAction()) || event.getNewValues() == null;
+        Map<String, Object> row = deleted ? null : readRow(event.getNewValues());
+        if ("employees".equals(event.getTableName())) {
+            state.setEmployee(row);
+        } else if (deleted || !Objects.equals(employeeId, toLong(row.get("employee_id")))) {
+            state.getStructures().remove(event.getRecordId());
+        } else {
+            state.getStructures().put(event.getRecordId(), row);
+        }
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number n ? n.longValue() : value == null ? null : Long.valueOf(value.toString());
+    }
+
+    private LocalDateTime settledBefore() {
+        return LocalDateTime.now().minusSeconds(settleSeconds);
+    }
+
+    private Map<String, Object> readRow(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<LinkedHashMap<String, Object>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable audit row: " + json, e);
+        }
+    }
+
+    private State read(String json) {
+        try {
+            return objectMapper.readValue(json, State.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable audit snapshot", e);
+        }
+    }
+
+    private String write(State state) {
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write audit snapshot", e);
+        }
+    }
+
+    // Snapshot content: the employee row and its salary structure rows by id
+    @Data
+    static class State {
+        private Map<String, Object> employee;
+        private TreeMap<Long, Map<String, Object>> structures = new TreeMap<>();
+    }
+}
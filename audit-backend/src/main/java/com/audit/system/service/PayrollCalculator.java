@@ -0,0 +1,418 @@
+package com.audit.system.service;
+
+import com.audit.system.dto.ClaimEntryDTO;
+import com.audit.system.model.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes payroll items and pay totals for a single run, one employee at a time.
+ * Not a Spring bean: it holds no repositories, so it can be fed by any loader
+ * (the bulk stream in PayrollService, tests, benchmarks).
+ *
+ * Pay is summed in sen (see Sen) into per-employee long arrays, so the arithmetic allocates
+ * nothing; BigDecimal is only produced for the totals. Results equal the former BigDecimal
+ * add/subtract chain exactly, including the scale (the largest scale among the amounts).
+ *
+ * With a StatutoryContributionEngine, EPF/SOCSO/EIS/PCB items are added from the bases of the
+ * flagged earnings, unless the employee has an explicit structure for that component. Zakat is
+ * taken from the employee's setting in the preloaded map (fixed amount, or a percentage of the
+ * gross computed in the same pass), again unless a ZAKAT_DED structure exists.
+ *
+ * Claims (preloaded per employee) become CLAIM items and are added to net pay. Fuel claims on a
+ * vehicle are capped at the vehicle's fuel allowance limit in claim-date order; every claim that
+ * produced an item is reported by getPaidClaimIds() so the caller can mark them paid in bulk.
+ * Employees with claims but no components never reach calculate(); getUnvisitedClaimEmployeeIds()
+ * names them and calculateClaims() pays their claims alone.
+ */
+public class PayrollCalculator {
+
+    public static final String ZAKAT_CODE = "ZAKAT_DED";
+    public static final String FUEL_CLAIM_TYPE = "FUEL";
+
+    // Claim types whose component code is not simply CLAIM_<type>
+    private static final Map<String, String> CLAIM_CODES = Map.of("MEDICAL", "CLAIM_MED");
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final PayrollRun run;
+    private final StatutoryContributionEngine statutoryEngine;
+    // Generated component per code (statutory, zakat, claims); codes without a configured component are not generated
+    private final Map<String, SalaryComponent> components;
+    // Zakat setting in force for the run date per employee id
+    private final Map<Long, EmployeeZakatSetting> zakatSettings;
+    // Payable claims per employee id, in claim-date order
+    private final Map<Long, List<ClaimEntryDTO>> claims;
+    private final List<Long> paidClaimIds = new ArrayList<>();
+    // Employees whose claims have been through addClaims
+    private final Set<Long> claimEmployeesVisited = new HashSet<>();
+
+    // Per employee, in the order they were calculated
+    private long[] employeeIds = new long[INITIAL_CAPACITY];
+    private long[] grossSen = new long[INITIAL_CAPACITY];
+    private long[] deductionSen = new long[INITIAL_CAPACITY];
+    private long[] netSen = new long[INITIAL_CAPACITY];
+
+    private long totalPayoutSen;
+    private int resultScale;
+    private int employeeCount;
+    private int itemCount;
+
+    public PayrollCalculator(PayrollRun run) {
+        this(run, null, Map.of(), Map.of(), Map.of());
+    }
+
+    public PayrollCalculator(PayrollRun run, StatutoryContributionEngine statutoryEngine,
+            Map<String, SalaryComponent> statutoryComponents) {
+        this(run, statutoryEngine, statutoryComponents, Map.of(), Map.of());
+    }
+
+    public PayrollCalculator(PayrollRun run, StatutoryContributionEngine statutoryEngine,
+            Map<String, SalaryComponent> components, Map<Long, EmployeeZakatSetting> zakatSettings,
+            Map<Long, List<ClaimEntryDTO>> claims) {
+        this.run = run;
+        this.statutoryEngine = statutoryEngine;
+        this.components = components;
+        this.zakatSettings = zakatSettings;
+        this.claims = claims;
+    }
+
+    /**
+     * Builds the items for one employee from their active components and adds the
+     * employee's net pay to the run total.
+     */
+    public List<PayrollItem> calculate(Employee emp, List<EmployeeSalaryStructure> components) {
+        List<PayrollItem> items = new ArrayList<>(components.size());
+
+        long gross = 0;
+        long deductions = 0;
+        long claimTotal = 0;
+
+        // Statutory bases from the component flags, and the statutory codes set explicitly
+        long epfBase = 0;
+        long socsoBase = 0;
+        long eisBase = 0;
+        long taxableBase = 0;
+        int explicitCodes = 0;
+        long explicitEpf = 0;
+        boolean explicitZakat = false;
+
+        for (EmployeeSalaryStructure struct : components) {
+            BigDecimal amount = struct.getAmount();
+            SalaryComponentType type = struct.getComponent().getType();
+
+            PayrollItem item = new PayrollItem();
+            item.setPayrollRun(run);
+            item.setEmployee(emp);
+            item.setComponent(struct.getComponent());
+            item.setAmount(amount);
+            item.setCalculationBase(amount); // Simplified
+            items.add(item);
+
+            if (isEarning(type)) {
+                long sen = Sen.of(amount);
+                gross = Sen.add(gross, sen);
+                resultScale = Math.max(resultScale, amount.scale());
+                if (statutoryEngine != null) {
+                    SalaryComponent component = struct.getComponent();
+                    epfBase = component.isEpfApplicable() ? Sen.add(epfBase, sen) : epfBase;
+                    socsoBase = component.isSocsoApplicable() ? Sen.add(socsoBase, sen) : socsoBase;
+                    eisBase = component.isEisApplicable() ? Sen.add(eisBase, sen) : eisBase;
+                    taxableBase = component.isTaxable() ? Sen.add(taxableBase, sen) : taxableBase;
+                }
+            } else if (isDeduction(type)) {
+                deductions = Sen.add(deductions, Sen.of(amount));
+                resultScale = Math.max(resultScale, amount.scale());
+            } else if (isClaim(type)) {
+                claimTotal = Sen.add(claimTotal, Sen.of(amount));
+                resultScale = Math.max(resultScale, amount.scale());
+            }
+            if (!zakatSettings.isEmpty() && ZAKAT_CODE.equals(struct.getComponent().getCode())) {
+                explicitZakat = true;
+            }
+            if (statutoryEngine != null) {
+                int bit = statutoryBit(struct.getComponent().getCode());
+                explicitCodes |= bit;
+                if (bit == statutoryBit(StatutoryContributionEngine.EPF_EMPLOYEE)) {
+                    explicitEpf = Sen.add(explicitEpf, Sen.of(amount));
+                }
+            }
+        }
+
+        if (statutoryEngine != null) {
+            StatutoryContributionEngine e = statutoryEngine;
+            long epfEmployee = (explicitCodes & statutoryBit(StatutoryContributionEngine.EPF_EMPLOYEE)) != 0
+                    ? explicitEpf : e.epfEmployee(epfBase);
+            deductions = Sen.add(deductions, addStatutory(items, emp, explicitCodes,
+                    StatutoryContributionEngine.EPF_EMPLOYEE, e.epfEmployee(epfBase), epfBase, e.epfEmployeeRate()));
+            deductions = Sen.add(deductions, addStatutory(items, emp, explicitCodes,
+                    StatutoryContributionEngine.EPF_EMPLOYER, e.epfEmployer(epfBase), epfBase,
+                    e.epfEmployerRate(epfBase)));
+            deductions = Sen.add(deductions, addStatutory(items, emp, explicitCodes,
+                    StatutoryContributionEngine.SOCSO_EMPLOYEE, e.socsoEmployee(socsoBase), socsoBase,
+                    e.socsoEmployeeRate()));
+            deductions = Sen.add(deductions, addStatutory(items, emp, explicitCodes,
+                    StatutoryContributionEngine.SOCSO_EMPLOYER, e.socsoEmployer(socsoBase), socsoBase,
+                    e.socsoEmployerRate()));
+            deductions = Sen.add(deductions, addStatutory(items, emp, explicitCodes,
+                    StatutoryContributionEngine.EIS_EMPLOYEE, e.eisEmployee(eisBase), eisBase, e.eisRate()));
+            deductions = Sen.add(deductions, addStatutory(items, emp, explicitCodes,
+                    StatutoryContributionEngine.EIS_EMPLOYER, e.eisEmployer(eisBase), eisBase, e.eisRate()));
+            deductions = Sen.add(deductions, addStatutory(items, emp, explicitCodes,
+                    StatutoryContributionEngine.PCB, e.pcb(taxableBase, epfEmployee), taxableBase,
+                    e.pcbRate(taxableBase, epfEmployee)));
+        }
+
+        if (!explicitZakat && !zakatSettings.isEmpty()) {
+            deductions = Sen.add(deductions, addZakat(items, emp, gross));
+        }
+
+        if (!claims.isEmpty()) {
+            claimTotal = Sen.add(claimTotal, addClaims(items, emp));
+        }
+
+        long net = Sen.add(Sen.subtract(gross, deductions), claimTotal);
+        record(emp.getId(), gross, deductions, net);
+        itemCount += items.size();
+        return items;
+    }
+
+    /**
+     * Builds the claim items of an employee without active components: no earnings, so no
+     * statutory or zakat items either. Returns no items (and records nothing) if none is payable.
+     */
+    public List<PayrollItem> calculateClaims(Employee emp) {
+        List<PayrollItem> items = new ArrayList<>();
+        long claimTotal = addClaims(items, emp);
+        if (!items.isEmpty()) {
+            record(emp.getId(), 0, 0, claimTotal);
+            itemCount += items.size();
+        }
+        return items;
+    }
+
+    // Adds one generated statutory item; returns the amount if it is a deduction from pay
+    private long addStatutory(List<PayrollItem> items, Employee emp, int explicitCodes, String code, long amountSen,
+            long baseSen, BigDecimal rate) {
+        SalaryComponent component = components.get(code);
+        if (component == null || amountSen == 0 || (explicitCodes & statutoryBit(code)) != 0) {
+            return 0;
+        }
+        PayrollItem item = new PayrollItem();
+        item.setPayrollRun(run);
+        item.setEmployee(emp);
+        item.setComponent(component);
+        item.setAmount(Sen.toBigDecimal(amountSen));
+        item.setCalculationBase(Sen.toBigDecimal(baseSen));
+        item.setCalculationRate(rate);
+        items.add(item);
+
+        if (!isDeduction(component.getType())) {
+            return 0;
+        }
+        resultScale = Math.max(resultScale, Sen.SCALE);
+        return amountSen;
+    }
+
+    // Zakat stage: a map lookup, no query; percentage settings apply to this pass's gross pay
+    private long addZakat(List<PayrollItem> items, Employee emp, long grossSen) {
+        EmployeeZakatSetting setting = zakatSettings.get(emp.getId());
+        SalaryComponent component = components.get(ZAKAT_CODE);
+        if (setting == null || component == null) {
+            return 0;
+        }
+
+        long amountSen;
+        long baseSen;
+        BigDecimal rate = null;
+        if (setting.getDeductionType() == ZakatDeductionType.PERCENTAGE) {
+            // A rate of 2.50 (%) in sen is 250, i.e. basis points
+            amountSen = Sen.percent(grossSen, Sen.of(setting.getAmountOrRate()), RoundingMode.HALF_UP);
+            baseSen = grossSen;
+            rate = setting.getAmountOrRate();
+        } else {
+            amountSen = Sen.of(setting.getAmountOrRate());
+            baseSen = amountSen;
+        }
+        if (amountSen <= 0) {
+            return 0;
+        }
+
+        PayrollItem item = new PayrollItem();
+        item.setPayrollRun(run);
+        item.setEmployee(emp);
+        item.setComponent(component);
+        item.setAmount(Sen.toBigDecimal(amountSen));
+        item.setCalculationBase(Sen.toBigDecimal(baseSen));
+        item.setCalculationRate(rate);
+        item.setRemarks(setting.getZakatBody());
+        items.add(item);
+
+        if (!isDeduction(component.getType())) {
+            return 0;
+        }
+        resultScale = Math.max(resultScale, Sen.SCALE);
+        return amountSen;
+    }
+
+    // Claims stage: one item per claim; fuel claims draw down their vehicle's limit for the month
+    private long addClaims(List<PayrollItem> items, Employee emp) {
+        List<ClaimEntryDTO> employeeClaims = claims.get(emp.getId());
+        if (employeeClaims == null) {
+            return 0;
+        }
+
+        claimEmployeesVisited.add(emp.getId());
+        long total = 0;
+        Map<Long, Long> fuelUsedSen = null;
+        for (ClaimEntryDTO claim : employeeClaims) {
+            SalaryComponent component = components.get(claimComponentCode(claim.getClaimType()));
+            if (component == null) {
+                // No component to pay it through: leave the claim approved for a later run
+                continue;
+            }
+
+            long amountSen = Sen.of(claim.getAmount());
+            String remarks = "Claim #" + claim.getClaimId();
+            if (FUEL_CLAIM_TYPE.equals(claim.getClaimType()) && claim.getVehicleId() != null
+                    && claim.getFuelAllowanceLimit() != null) {
+                if (fuelUsedSen == null) {
+                    fuelUsedSen = new HashMap<>(4);
+                }
+                long used = fuelUsedSen.getOrDefault(claim.getVehicleId(), 0L);
+                long remaining = Math.max(0, Sen.subtract(Sen.of(claim.getFuelAllowanceLimit()), used));
+                if (amountSen > remaining) {
+                    amountSen = remaining;
+                    remarks += " capped at fuel limit " + claim.getFuelAllowanceLimit().toPlainString();
+                }
+                fuelUsedSen.put(claim.getVehicleId(), Sen.add(used, amountSen));
+            }
+            if (amountSen <= 0) {
+                // Nothing left to pay (fuel limit used up): no RM0.00 item, and the claim stays approved
+                continue;
+            }
+
+            PayrollItem item = new PayrollItem();
+            item.setPayrollRun(run);
+            item.setEmployee(emp);
+            item.setComponent(component);
+            item.setAmount(Sen.toBigDecimal(amountSen));
+            item.setCalculationBase(claim.getAmount());
+            item.setRemarks(remarks);
+            items.add(item);
+            paidClaimIds.add(claim.getClaimId());
+
+            total = Sen.add(total, amountSen);
+            resultScale = Math.max(resultScale, Sen.SCALE);
+        }
+        return total;
+    }
+
+    public static String claimComponentCode(String claimType) {
+        return CLAIM_CODES.getOrDefault(claimType, "CLAIM_" + claimType);
+    }
+
+    private static int statutoryBit(String code) {
+        if (code == null) {
+            return 0;
+        }
+        String[] codes = StatutoryContributionEngine.CODES;
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i].equals(code)) {
+                return 1 << i;
+            }
+        }
+        return 0;
+    }
+
+    private void record(Long employeeId, long gross, long deductions, long net) {
+        if (employeeCount == netSen.length) {
+            int capacity = Math.multiplyExact(netSen.length, 2);
+            employeeIds = Arrays.copyOf(employeeIds, capacity);
+            grossSen = Arrays.copyOf(grossSen, capacity);
+            deductionSen = Arrays.copyOf(deductionSen, capacity);
+            netSen = Arrays.copyOf(netSen, capacity);
+        }
+        employeeIds[employeeCount] = employeeId != null ? employeeId : 0L;
+        grossSen[employeeCount] = gross;
+        deductionSen[employeeCount] = deductions;
+        netSen[employeeCount] = net;
+        employeeCount++;
+        totalPayoutSen = Sen.add(totalPayoutSen, net);
+    }
+
+    // Sign rules shared with anything that re-derives pay from stored items (payslips, summaries)
+    public static boolean isEarning(SalaryComponentType type) {
+        return type == SalaryComponentType.EARNING;
+    }
+
+    public static boolean isDeduction(SalaryComponentType type) {
+        return type == SalaryComponentType.DEDUCTION || type == SalaryComponentType.STATUTORY_DEDUCTION;
+    }
+
+    // Claims are reimbursed on top of net pay but are not part of gross pay
+    public static boolean isClaim(SalaryComponentType type) {
+        return type == SalaryComponentType.CLAIM;
+    }
+
+    public BigDecimal getTotalPayout() {
+        return Sen.toBigDecimal(totalPayoutSen, resultScale);
+    }
+
+    public long getTotalPayoutSen() {
+        return totalPayoutSen;
+    }
+
+    // Per-employee results by calculation order (0 .. employeeCount - 1), in sen
+    public long getEmployeeId(int index) {
+        return employeeIds[checkIndex(index)];
+    }
+
+    public long getGrossSen(int index) {
+        return grossSen[checkIndex(index)];
+    }
+
+    public long getDeductionSen(int index) {
+        return deductionSen[checkIndex(index)];
+    }
+
+    public long getNetSen(int index) {
+        return netSen[checkIndex(index)];
+    }
+
+    public int getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    // Claims that produced an item so far (capped ones included)
+    public List<Long> getPaidClaimIds() {
+        return paidClaimIds;
+    }
+
+    // Employees with payable claims that have not been calculated yet, in id order
+    public List<Long> getUnvisitedClaimEmployeeIds() {
+        return claims.keySet().stream()
+                .filter(id -> !claimEmployeesVisited.contains(id))
+                .sorted()
+                .toList();
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= employeeCount) {
+            throw new IndexOutOfBoundsException("Employee index " + index + " of " + employeeCount);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,103 @@
+package com.audit.system.service;
+
+import com.audit.system.dto.PayrollJobStatusDTO;
+import com.audit.system.model.PayrollRun;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * An asynchronous payroll computation submitted through PayrollJobService.
+ * State changes come from the job thread, reads from request threads.
+ */
+@Getter
+public class PayrollJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    private final String id;
+    private final int month;
+    private final int year;
+    private final PayrollRunMode mode;
+    private final PayrollProgress progress = new PayrollProgress();
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile Long payrollRunId;
+    private volatile BigDecimal totalPayout;
+    private volatile String error;
+
+    public PayrollJob(String id, int month, int year, PayrollRunMode mode) {
+        this.id = id;
+        this.month = month;
+        this.year = year;
+        this.mode = mode;
+    }
+
+    public String getPeriod() {
+        return year + "-" + month;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void complete(PayrollRun run) {
+        payrollRunId = run.getId();
+        totalPayout = run.getTotalPayout();
+        finish(Status.COMPLETED);
+    }
+
+    void fail(String message) {
+        error = message;
+        finish(Status.FAILED);
+    }
+
+    void cancelled() {
+        finish(Status.CANCELLED);
+    }
+
+    private void finish(Status finalStatus) {
+        finishedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+
+    public PayrollJobStatusDTO toStatusDTO() {
+        PayrollJobStatusDTO dto = new PayrollJobStatusDTO();
+        dto.setJobId(id);
+        dto.setMonth(month);
+        dto.setYear(year);
+        dto.setMode(mode.name());
+        dto.setStatus(status.name());
+        dto.setCancelRequested(progress.isCancelled());
+        dto.setEmployeesProcessed(progress.getEmployeesProcessed());
+        dto.setItemsWritten(progress.getItemsWritten());
+        dto.setSubmittedAt(submittedAt);
+        dto.setStartedAt(startedAt);
+        dto.setFinishedAt(finishedAt);
+        dto.setPayrollRunId(payrollRunId);
+        dto.setTotalPayout(totalPayout);
+        dto.setError(error);
+
+        if (startedAt != null) {
+            long elapsedMillis = Duration.between(startedAt, finishedAt != null ? finishedAt : LocalDateTime.now())
+                    .toMillis();
+            dto.setElapsedMillis(elapsedMillis);
+            dto.setEmployeesPerSecond(elapsedMillis > 0
+                    ? progress.getEmployeesProcessed() * 1000.0 / elapsedMillis
+                    : 0.0);
+        }
+        return dto;
+    }
+}
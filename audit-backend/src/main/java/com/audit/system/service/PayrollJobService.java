@@ -0,0 +1,106 @@
+package com.audit.system.service;
+
+import com.audit.system.model.PayrollRun;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs payroll computations off the request thread on the bounded payrollJobExecutor.
+ * At most one job per month/year is active; a second submission gets the active job back.
+ */
+@Service
+@RequiredArgsConstructor
+public class PayrollJobService {
+
+    // Finished jobs kept for status polling before the oldest are dropped
+    private static final int MAX_FINISHED_JOBS = 100;
+
+    private final PayrollService payrollService;
+    @Qualifier("payrollJobExecutor")
+    private final Executor jobExecutor;
+
+    private final Map<String, PayrollJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, PayrollJob> activeByPeriod = new ConcurrentHashMap<>();
+    private final Queue<PayrollJob> finished = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Queues a payroll job, or returns the job already active for the same month/year.
+     * Throws RejectedExecutionException when the job queue is full.
+     */
+    public PayrollJob submit(int month, int year, PayrollRunMode mode) {
+        PayrollJob candidate = new PayrollJob(UUID.randomUUID().toString(), month, year, mode);
+        PayrollJob active = activeByPeriod.putIfAbsent(candidate.getPeriod(), candidate);
+        if (active != null) {
+            return active;
+        }
+
+        jobs.put(candidate.getId(), candidate);
+        try {
+            jobExecutor.execute(() -> run(candidate));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(candidate.getId());
+            activeByPeriod.remove(candidate.getPeriod(), candidate);
+            throw e;
+        }
+        return candidate;
+    }
+
+    public Optional<PayrollJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    // Cancellation is cooperative: the run stops at its next employee or batch boundary and rolls back
+    public Optional<PayrollJob> cancel(String jobId) {
+        PayrollJob job = jobs.get(jobId);
+        if (job != null && !job.isFinished()) {
+            job.getProgress().cancel();
+        }
+        return Optional.ofNullable(job);
+    }
+
+    private void run(PayrollJob job) {
+        try {
+            job.getProgress().checkCancelled();
+            job.start();
+            PayrollRun run = switch (job.getMode()) {
+                case FULL -> payrollService.generatePayroll(job.getMonth(), job.getYear(), job.getProgress());
+                case PARTITIONED -> payrollService.generatePayrollPartitioned(job.getMonth(), job.getYear(),
+                        job.getProgress());
+                case DELTA -> payrollService.recalculatePayroll(job.getMonth(), job.getYear(), job.getProgress());
+            };
+            job.complete(run);
+        } catch (CancellationException e) {
+            job.cancelled();
+        } catch (RuntimeException e) {
+            if (job.getProgress().isCancelled()) {
+                job.cancelled();
+            } else {
+                job.fail(e.getMessage());
+            }
+        } finally {
+            activeByPeriod.remove(job.getPeriod(), job);
+            retire(job);
+        }
+    }
+
+    private void retire(PayrollJob job) {
+        finished.add(job);
+        while (finished.size() > MAX_FINISHED_JOBS) {
+            PayrollJob oldest = finished.poll();
+            if (oldest != null) {
+                jobs.remove(oldest.getId());
+            }
+        }
+    }
+}
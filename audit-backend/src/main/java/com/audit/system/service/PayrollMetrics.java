@@ -0,0 +1,53 @@
+package com.audit.system.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for payroll computations, tagged by run mode:
+ * payroll.run.duration, payroll.run.phase (load/compute/persist), payroll.run.employees, payroll.run.items.
+ */
+@Component
+@RequiredArgsConstructor
+public class PayrollMetrics {
+
+    private final MeterRegistry registry;
+
+    public void recordRun(PayrollRunMode mode, PayrollProgress progress, long durationNanos) {
+        String modeTag = mode.name();
+        Timer.builder("payroll.run.duration")
+                .description("Wall time of a payroll computation")
+                .tag("mode", modeTag)
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        recordPhase(modeTag, "load", progress.getLoadNanos());
+        recordPhase(modeTag, "compute", progress.getComputeNanos());
+        recordPhase(modeTag, "persist", progress.getPersistNanos());
+
+        DistributionSummary.builder("payroll.run.employees")
+                .description("Employees computed per payroll run")
+                .tag("mode", modeTag)
+                .register(registry)
+                .record(progress.getEmployeesProcessed());
+        DistributionSummary.builder("payroll.run.items")
+                .description("Payroll items written per payroll run")
+                .tag("mode", modeTag)
+                .register(registry)
+                .record(progress.getItemsWritten());
+    }
+
+    // Summed over partitions, so for partitioned runs a phase can exceed the wall time
+    private void recordPhase(String mode, String phase, long nanos) {
+        Timer.builder("payroll.run.phase")
+                .description("Time spent per payroll computation phase")
+                .tag("mode", mode)
+                .tag("phase", phase)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,81 @@
+package com.audit.system.service;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress counters and cancellation flag for one payroll computation.
+ * Shared by all partitions of a run, so every field is thread-safe.
+ */
+public class PayrollProgress {
+
+    private final AtomicInteger employeesProcessed = new AtomicInteger();
+    private final AtomicInteger itemsWritten = new AtomicInteger();
+    private volatile boolean cancelled;
+
+    // Time spent per phase, summed over all partitions: reading structures, computing, writing items
+    private final AtomicLong loadNanos = new AtomicLong();
+    private final AtomicLong computeNanos = new AtomicLong();
+    private final AtomicLong persistNanos = new AtomicLong();
+
+    public void addEmployeesProcessed(int count) {
+        employeesProcessed.addAndGet(count);
+    }
+
+    public void addItemsWritten(int count) {
+        itemsWritten.addAndGet(count);
+    }
+
+    public void addLoadNanos(long nanos) {
+        loadNanos.addAndGet(nanos);
+    }
+
+    public void addComputeNanos(long nanos) {
+        computeNanos.addAndGet(nanos);
+    }
+
+    public void addPersistNanos(long nanos) {
+        persistNanos.addAndGet(nanos);
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // Called between employees and batches; throwing rolls back the current transaction
+    public void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Payroll run was cancelled.");
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public int getEmployeesProcessed() {
+        return employeesProcessed.get();
+    }
+
+    public int getItemsWritten() {
+        return itemsWritten.get();
+    }
+
+    public long getLoadNanos() {
+        return loadNanos.get();
+    }
+
+    public long getComputeNanos() {
+        return computeNanos.get();
+    }
+
+    public long getPersistNanos() {
+        return persistNanos.get();
+    }
+
+    public static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -0,0 +1,7 @@
+package com.audit.system.service;
+
+public enum PayrollRunMode {
+    FULL, // Recompute every employee in one transaction
+    PARTITIONED, // Recompute every employee in parallel id-range partitions (resumable)
+    DELTA // Recompute only employees changed since the run was last computed
+}
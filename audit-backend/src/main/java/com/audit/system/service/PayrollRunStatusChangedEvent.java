@@ -0,0 +1,15 @@
+package com.audit.system.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by PayrollService when a run moves between DRAFT, FINALIZED and PAID
+@Getter
+@AllArgsConstructor
+public class PayrollRunStatusChangedEvent {
+    private final Long payrollRunId;
+    private final int month;
+    private final int year;
+    private final String oldStatus;
+    private final String newStatus;
+}
@@ -1,27 +1,253 @@
 package com.audit.system.service;
 
+import com.audit.system.dto.ClaimEntryDTO;
 import com.audit.system.model.*;
 import com.audit.system.repository.*;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PayrollService {
 
+    // Items written per JDBC batch; the persistence context is cleared after each batch
+    private static final int BATCH_SIZE = 1000;
+
+    // A delta run looks back this far before the watermark, since audit rows are stamped with their
+    // transaction's start time and may commit after the previous computation began
+    private static final Duration DELTA_WATERMARK_OVERLAP = Duration.ofMinutes(5);
+
     private final EmployeeRepository employeeRepository;
     private final EmployeeSalaryStructureRepository salaryStructureRepository;
     private final PayrollRunRepository payrollRunRepository;
     private final PayrollItemRepository payrollItemRepository;
+    private final PayrollItemJdbcRepository payrollItemJdbcRepository;
+    private final PayrollRunPartitionRepository partitionRepository;
+    private final PayrollMonthlySummaryRepository summaryRepository;
+    private final SalaryComponentRepository salaryComponentRepository;
+    private final EmployeeZakatSettingRepository zakatSettingRepository;
+    private final ClaimRepository claimRepository;
+    private final ClaimJdbcRepository claimJdbcRepository;
+    private final StatutoryContributionEngine statutoryEngine;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PayrollMetrics payrollMetrics;
+    @Qualifier("payrollPartitionExecutor")
+    private final Executor partitionExecutor;
+
+    @Value("${payroll.partition.count:16}")
+    private int partitionCount = 16;
 
     @Transactional
     public PayrollRun generatePayroll(int month, int year) {
-        // 1. Create or Get Payroll Run
+        return generatePayroll(month, year, new PayrollProgress());
+    }
+
+    @Transactional
+    public PayrollRun generatePayroll(int month, int year, PayrollProgress progress) {
+        // 1. Create or Get Payroll Run, dropping items and partition plans from earlier computations
+        PayrollRun run = openRun(month, year);
+        LocalDate runDate = endOfMonth(month, year);
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        payrollItemJdbcRepository.deleteByRun(run.getId());
+        claimJdbcRepository.releaseByRun(run.getId());
+        partitionRepository.deleteByPayrollRunId(run.getId());
+
+        // 2. Stream every active component for the run date in one query and compute in memory
+        PayrollCalculator calculator = newCalculator(run, loadZakatSettings(runDate), loadClaims(run, runDate));
+        try (Stream<EmployeeSalaryStructure> structures = salaryStructureRepository.streamActiveByDate(runDate)) {
+            calculateAndPersist(calculator, structures, progress);
+        }
+        payUnvisitedClaims(calculator, run, employeeId -> true, progress);
+        claimJdbcRepository.markPaid(run.getId(), calculator.getPaidClaimIds());
+
+        run.setTotalPayout(calculator.getTotalPayout());
+        run.setComputedAt(startedAt);
+        recordRunMetrics(run, PayrollRunMode.FULL, progress, startNanos);
+        PayrollRun saved = payrollRunRepository.save(run);
+        summaryRepository.refresh(saved.getId());
+        return saved;
+    }
+
+    /**
+     * Delta run for a DRAFT: only employees whose record, salary structures, zakat settings or claims
+     * changed since the run was last computed are recomputed. Their items are replaced and totalPayout
+     * is adjusted by the difference, so a re-run costs in proportion to what changed.
+     */
+    @Transactional
+    public PayrollRun recalculatePayroll(int month, int year) {
+        return recalculatePayroll(month, year, new PayrollProgress());
+    }
+
+    @Transactional
+    public PayrollRun recalculatePayroll(int month, int year, PayrollProgress progress) {
+        PayrollRun run = openRun(month, year);
+        if (run.getComputedAt() == null) {
+            return generatePayroll(month, year, progress);
+        }
+        if (partitionRepository.findByPayrollRunIdOrderByPartitionNo(run.getId()).stream()
+                .anyMatch(p -> !"COMPLETED".equals(p.getStatus()))) {
+            throw new RuntimeException("Partitioned payroll run is incomplete, resume it before recalculating.");
+        }
+
+        LocalDate runDate = endOfMonth(month, year);
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+
+        // 1. Find changed employees and take their current contribution out of the run
+        List<Long> changed = employeeRepository.findIdsChangedSince(run.getComputedAt().minus(DELTA_WATERMARK_OVERLAP));
+        BigDecimal previousNet = BigDecimal.ZERO;
+        PayrollCalculator calculator = newCalculator(run, loadZakatSettings(runDate), loadClaims(run, runDate));
+        if (!changed.isEmpty()) {
+            previousNet = payrollItemJdbcRepository.sumNetPay(run.getId(), changed);
+            payrollItemJdbcRepository.deleteByRunAndEmployees(run.getId(), changed);
+            claimJdbcRepository.releaseByRunAndEmployees(run.getId(), changed);
+
+            // 2. Recompute them in chunks to keep the IN list bounded
+            for (int from = 0; from < changed.size(); from += BATCH_SIZE) {
+                List<Long> chunk = changed.subList(from, Math.min(from + BATCH_SIZE, changed.size()));
+                try (Stream<EmployeeSalaryStructure> structures = salaryStructureRepository
+                        .streamActiveByDateAndEmployeeIds(runDate, chunk)) {
+                    calculateAndPersist(calculator, structures, progress);
+                }
+            }
+            Set<Long> changedIds = new HashSet<>(changed);
+            payUnvisitedClaims(calculator, run, changedIds::contains, progress);
+            claimJdbcRepository.markPaid(run.getId(), calculator.getPaidClaimIds());
+        }
+
+        BigDecimal currentTotal = run.getTotalPayout() != null ? run.getTotalPayout() : BigDecimal.ZERO;
+        run.setTotalPayout(currentTotal.subtract(previousNet).add(calculator.getTotalPayout()));
+        run.setComputedAt(startedAt);
+        recordRunMetrics(run, PayrollRunMode.DELTA, progress, startNanos);
+        PayrollRun saved = payrollRunRepository.save(run);
+        summaryRepository.refresh(saved.getId());
+        return saved;
+    }
+
+    // Locks a DRAFT run; finalized runs can no longer be regenerated
+    @Transactional
+    public PayrollRun finalizePayroll(int month, int year) {
+        PayrollRun run = payrollRunRepository.findByMonthAndYear(month, year)
+                .orElseThrow(() -> new RuntimeException("Payroll run not found for " + month + "/" + year));
+        if (!"DRAFT".equals(run.getStatus())) {
+            throw new RuntimeException("Only DRAFT payroll runs can be finalized.");
+        }
+        if (partitionRepository.findByPayrollRunIdOrderByPartitionNo(run.getId()).stream()
+                .anyMatch(p -> !"COMPLETED".equals(p.getStatus()))) {
+            throw new RuntimeException("Partitioned payroll run is incomplete, resume it before finalizing.");
+        }
+
+        run.setStatus("FINALIZED");
+        PayrollRun saved = payrollRunRepository.save(run);
+        summaryRepository.refresh(saved.getId());
+        eventPublisher.publishEvent(new PayrollRunStatusChangedEvent(saved.getId(), month, year, "DRAFT", "FINALIZED"));
+        return saved;
+    }
+
+    // Records that a FINALIZED run has been paid out
+    @Transactional
+    public PayrollRun markPaid(int month, int year) {
+        PayrollRun run = payrollRunRepository.findByMonthAndYear(month, year)
+                .orElseThrow(() -> new RuntimeException("Payroll run not found for " + month + "/" + year));
+        if (!"FINALIZED".equals(run.getStatus())) {
+            throw new RuntimeException("Only FINALIZED payroll runs can be marked as paid.");
+        }
+
+        run.setStatus("PAID");
+        PayrollRun saved = payrollRunRepository.save(run);
+        summaryRepository.refresh(saved.getId());
+        eventPublisher.publishEvent(new PayrollRunStatusChangedEvent(saved.getId(), month, year, "FINALIZED", "PAID"));
+        return saved;
+    }
+
+    /**
+     * Partitioned run: employees are split into id ranges computed in parallel on the partition executor,
+     * each partition committing its own items. Completed partitions are recorded, so calling this again
+     * after a failure only recomputes the partitions that did not complete.
+     */
+    public PayrollRun generatePayrollPartitioned(int month, int year) {
+        return generatePayrollPartitioned(month, year, new PayrollProgress());
+    }
+
+    public PayrollRun generatePayrollPartitioned(int month, int year, PayrollProgress progress) {
+        LocalDate runDate = endOfMonth(month, year);
+        long startNanos = System.nanoTime();
+
+        // 1. Create or Get Payroll Run, then plan (or resume) its partitions
+        PayrollRun run = transactionTemplate.execute(status -> openRun(month, year));
+        List<PayrollRunPartition> partitions = transactionTemplate.execute(status -> planPartitions(run));
+        // Zakat settings and claims are read once and shared read-only by every partition
+        Map<Long, EmployeeZakatSetting> zakatSettings = loadZakatSettings(runDate);
+        Map<Long, List<ClaimEntryDTO>> claims = loadClaims(run, runDate);
+
+        // 2. Compute outstanding partitions in parallel
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (PayrollRunPartition partition : partitions) {
+            if (!"COMPLETED".equals(partition.getStatus())) {
+                futures.add(CompletableFuture.runAsync(() -> runPartition(run, partition, runDate, zakatSettings, claims, progress),
+                        partitionExecutor));
+            }
+        }
+        List<String> failures = new ArrayList<>();
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                failures.add(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new RuntimeException(failures.size() + " payroll partition(s) failed, re-run to resume: " + failures);
+        }
+
+        // 3. Reduce partition totals into the run
+        return transactionTemplate.execute(status -> {
+            BigDecimal totalRunPayout = partitionRepository.findByPayrollRunIdOrderByPartitionNo(run.getId()).stream()
+                    .map(PayrollRunPartition::getTotalPayout)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            run.setTotalPayout(totalRunPayout);
+            recordRunMetrics(run, PayrollRunMode.PARTITIONED, progress, startNanos);
+            PayrollRun saved = payrollRunRepository.save(run);
+            summaryRepository.refresh(saved.getId());
+            return saved;
+        });
+    }
+
+    public List<PayrollRunPartition> getPartitions(Long runId) {
+        return partitionRepository.findByPayrollRunIdOrderByPartitionNo(runId);
+    }
+
+    private PayrollRun openRun(int month, int year) {
         PayrollRun run = payrollRunRepository.findByMonthAndYear(month, year)
                 .orElseGet(() -> {
                     PayrollRun newRun = new PayrollRun();
@@ -30,49 +256,192 @@ public class PayrollService {
                     return payrollRunRepository.save(newRun);
                 });
 
-        if ("FINALIZED".equals(run.getStatus())) {
-            throw new RuntimeException("Payroll for this month is already finalized.");
+        // FINALIZED and PAID runs are settled: recomputing would replace paid items and release their claims
+        if (!"DRAFT".equals(run.getStatus())) {
+            throw new RuntimeException("Payroll for this month is already " + run.getStatus() + ".");
+        }
+        return run;
+    }
+
+    // Calculator with the statutory, zakat and claim components configured in salary_components (missing codes are skipped)
+    private PayrollCalculator newCalculator(PayrollRun run, Map<Long, EmployeeZakatSetting> zakatSettings,
+            Map<Long, List<ClaimEntryDTO>> claims) {
+        List<String> codes = new ArrayList<>(Arrays.asList(StatutoryContributionEngine.CODES));
+        codes.add(PayrollCalculator.ZAKAT_CODE);
+        Map<String, SalaryComponent> components = new HashMap<>();
+        for (SalaryComponent component : salaryComponentRepository.findByCodeIn(codes)) {
+            components.put(component.getCode(), component);
+        }
+        for (SalaryComponent component : salaryComponentRepository.findByType(SalaryComponentType.CLAIM)) {
+            components.put(component.getCode(), component);
+        }
+        return new PayrollCalculator(run, statutoryEngine, components, zakatSettings, claims);
+    }
+
+    // Zakat setting in force on the run date per employee; the latest effective start wins on overlap
+    private Map<Long, EmployeeZakatSetting> loadZakatSettings(LocalDate runDate) {
+        Map<Long, EmployeeZakatSetting> settings = new HashMap<>();
+        for (EmployeeZakatSetting setting : zakatSettingRepository.findActiveOn(runDate)) {
+            settings.putIfAbsent(setting.getEmployeeId(), setting);
         }
+        return settings;
+    }
+
+    // Stores the phase timings and row counts on the run and publishes them as meters
+    private void recordRunMetrics(PayrollRun run, PayrollRunMode mode, PayrollProgress progress, long startNanos) {
+        long durationNanos = System.nanoTime() - startNanos;
+        run.setLastRunMode(mode.name());
+        run.setEmployeeCount(progress.getEmployeesProcessed());
+        run.setItemCount(progress.getItemsWritten());
+        run.setLoadMillis(PayrollProgress.toMillis(progress.getLoadNanos()));
+        run.setComputeMillis(PayrollProgress.toMillis(progress.getComputeNanos()));
+        run.setPersistMillis(PayrollProgress.toMillis(progress.getPersistNanos()));
+        run.setDurationMillis(PayrollProgress.toMillis(durationNanos));
+        payrollMetrics.recordRun(mode, progress, durationNanos);
+    }
+
+    // Approved claims dated in the run month, grouped per employee, in one query for the whole run
+    private Map<Long, List<ClaimEntryDTO>> loadClaims(PayrollRun run, LocalDate runDate) {
+        return claimRepository.findPayableEntries(run.getId(), runDate.withDayOfMonth(1), runDate).stream()
+                .collect(Collectors.groupingBy(ClaimEntryDTO::getEmployeeId));
+    }
 
-        LocalDate runDate = LocalDate.of(year, month, 1).plusMonths(1).minusDays(1); // End of month
-        List<Employee> employees = employeeRepository.findAll(); // optimized: filter by active status
+    private LocalDate endOfMonth(int month, int year) {
+        return LocalDate.of(year, month, 1).plusMonths(1).minusDays(1);
+    }
+
+    // Resumes an unfinished plan as-is; otherwise starts over with evenly sized employee id ranges
+    private List<PayrollRunPartition> planPartitions(PayrollRun run) {
+        List<PayrollRunPartition> existing = partitionRepository.findByPayrollRunIdOrderByPartitionNo(run.getId());
+        if (existing.stream().anyMatch(p -> !"COMPLETED".equals(p.getStatus()))) {
+            return existing;
+        }
 
-        BigDecimal totalRunPayout = BigDecimal.ZERO;
+        payrollItemJdbcRepository.deleteByRun(run.getId());
+        partitionRepository.deleteByPayrollRunId(run.getId());
+        run.setComputedAt(LocalDateTime.now());
+        payrollRunRepository.save(run);
 
-        for (Employee emp : employees) {
-            // Get active components
-            List<EmployeeSalaryStructure> components = salaryStructureRepository
-                    .findActiveByEmployeeAndDate(emp.getId(), runDate);
+        // First and last ranges are open-ended so employees added later still fall into a partition
+        List<Long> ids = employeeRepository.findAllIds();
+        int count = Math.max(1, Math.min(partitionCount, ids.size()));
+        List<PayrollRunPartition> plan = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PayrollRunPartition partition = new PayrollRunPartition();
+            partition.setPayrollRun(run);
+            partition.setPartitionNo(i + 1);
+            partition.setMinEmployeeId(i == 0 ? 0L : ids.get(i * ids.size() / count));
+            partition.setMaxEmployeeId(i == count - 1 ? Long.MAX_VALUE : ids.get((i + 1) * ids.size() / count) - 1);
+            plan.add(partition);
+        }
+        return partitionRepository.saveAll(plan);
+    }
 
-            BigDecimal grossPay = BigDecimal.ZERO;
-            BigDecimal totalDeductions = BigDecimal.ZERO;
+    private void runPartition(PayrollRun run, PayrollRunPartition partition, LocalDate runDate,
+            Map<Long, EmployeeZakatSetting> zakatSettings, Map<Long, List<ClaimEntryDTO>> claims,
+            PayrollProgress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                progress.checkCancelled();
+                // Items and the COMPLETED mark commit together, so a partition is either fully written or redone
+                payrollItemJdbcRepository.deleteByRunAndEmployeeRange(run.getId(),
+                        partition.getMinEmployeeId(), partition.getMaxEmployeeId());
+                claimJdbcRepository.releaseByRunAndEmployeeRange(run.getId(),
+                        partition.getMinEmployeeId(), partition.getMaxEmployeeId());
 
-            for (EmployeeSalaryStructure struct : components) {
-                BigDecimal amount = struct.getAmount();
-                SalaryComponentType type = struct.getComponent().getType();
+                PayrollCalculator calculator = newCalculator(run, zakatSettings, claims);
+                try (Stream<EmployeeSalaryStructure> structures = salaryStructureRepository
+                        .streamActiveByDateAndEmployeeRange(runDate, partition.getMinEmployeeId(),
+                                partition.getMaxEmployeeId())) {
+                    calculateAndPersist(calculator, structures, progress);
+                }
+                payUnvisitedClaims(calculator, run, employeeId -> employeeId >= partition.getMinEmployeeId()
+                        && employeeId <= partition.getMaxEmployeeId(), progress);
+                claimJdbcRepository.markPaid(run.getId(), calculator.getPaidClaimIds());
 
-                // Create Item
-                PayrollItem item = new PayrollItem();
-                item.setPayrollRun(run);
-                item.setEmployee(emp);
-                item.setComponent(struct.getComponent());
-                item.setAmount(amount);
-                item.setCalculationBase(amount); // Simplified
+                partition.setStatus("COMPLETED");
+                partition.setTotalPayout(calculator.getTotalPayout());
+                partition.setEmployeeCount(calculator.getEmployeeCount());
+                partition.setItemCount(calculator.getItemCount());
+                partition.setErrorMessage(null);
+                partition.setCompletedAt(LocalDateTime.now());
+                partitionRepository.save(partition);
+            });
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> {
+                partition.setStatus("FAILED");
+                partition.setErrorMessage(e.getMessage());
+                partitionRepository.save(partition);
+            });
+            throw new RuntimeException("Partition " + partition.getPartitionNo() + ": " + e.getMessage(), e);
+        }
+    }
 
-                payrollItemRepository.save(item);
+    // Groups the employee-ordered stream per employee, computes each group and writes items in JDBC batches
+    private void calculateAndPersist(PayrollCalculator calculator, Stream<EmployeeSalaryStructure> structures,
+            PayrollProgress progress) {
+        List<PayrollItem> batch = new ArrayList<>(BATCH_SIZE);
+        List<EmployeeSalaryStructure> employeeComponents = new ArrayList<>();
 
-                if (type == SalaryComponentType.EARNING) {
-                    grossPay = grossPay.add(amount);
-                } else if (type == SalaryComponentType.DEDUCTION || type == SalaryComponentType.STATUTORY_DEDUCTION) {
-                    totalDeductions = totalDeductions.add(amount);
+        // Phase timings: load = fetching rows from the stream, compute = calculator, persist = flush
+        Iterator<EmployeeSalaryStructure> iterator = structures.iterator();
+        long t0 = System.nanoTime();
+        while (iterator.hasNext()) {
+            EmployeeSalaryStructure struct = iterator.next();
+            long t1 = System.nanoTime();
+            progress.addLoadNanos(t1 - t0);
+            if (!employeeComponents.isEmpty()
+                    && !employeeComponents.get(0).getEmployee().getId().equals(struct.getEmployee().getId())) {
+                batch.addAll(calculator.calculate(employeeComponents.get(0).getEmployee(), employeeComponents));
+                progress.addComputeNanos(System.nanoTime() - t1);
+                employeeComponents.clear();
+                progress.addEmployeesProcessed(1);
+                progress.checkCancelled();
+                if (batch.size() >= BATCH_SIZE) {
+                    flush(batch, progress);
                 }
             }
+            employeeComponents.add(struct);
+            t0 = System.nanoTime();
+        }
+        progress.addLoadNanos(System.nanoTime() - t0);
+
+        if (!employeeComponents.isEmpty()) {
+            long t1 = System.nanoTime();
+            batch.addAll(calculator.calculate(employeeComponents.get(0).getEmployee(), employeeComponents));
+            progress.addComputeNanos(System.nanoTime() - t1);
+            progress.addEmployeesProcessed(1);
+        }
+        flush(batch, progress);
+    }
 
-            BigDecimal netPay = grossPay.subtract(totalDeductions);
-            totalRunPayout = totalRunPayout.add(netPay);
+    // Employees in scope with approved claims but no active salary structure on the run date get a
+    // payslip of their claims alone, instead of the claims staying APPROVED unnoticed
+    private void payUnvisitedClaims(PayrollCalculator calculator, PayrollRun run, LongPredicate inScope,
+            PayrollProgress progress) {
+        List<PayrollItem> batch = new ArrayList<>();
+        int employees = 0;
+        for (Long employeeId : calculator.getUnvisitedClaimEmployeeIds()) {
+            if (inScope.test(employeeId)) {
+                batch.addAll(calculator.calculateClaims(employeeRepository.getReferenceById(employeeId)));
+                progress.addEmployeesProcessed(1);
+                employees++;
+            }
         }
+        if (employees > 0) {
+            log.info("Payroll run {}: paid claims of {} employees without an active salary structure",
+                    run.getId(), employees);
+            flush(batch, progress);
+        }
+    }
 
-        run.setTotalPayout(totalRunPayout);
-        return payrollRunRepository.save(run);
+    private void flush(List<PayrollItem> batch, PayrollProgress progress) {
+        long start = System.nanoTime();
+        payrollItemJdbcRepository.batchInsert(batch);
+        progress.addPersistNanos(System.nanoTime() - start);
+        progress.addItemsWritten(batch.size());
+        batch.clear();
+        // Drop the entities streamed so far so memory stays flat for large runs
+        entityManager.clear();
     }
 }
@@ -0,0 +1,92 @@
+package com.audit.system.service;
+
+import com.audit.system.cache.FinalizedPayrollCache;
+import com.audit.system.dto.CacheStatsDTO;
+import com.audit.system.dto.PayslipDTO;
+import com.audit.system.dto.PayslipLineDTO;
+import com.audit.system.model.Employee;
+import com.audit.system.model.PayrollItem;
+import com.audit.system.model.PayrollRun;
+import com.audit.system.model.SalaryComponentType;
+import com.audit.system.repository.PayrollItemRepository;
+import com.audit.system.repository.PayrollRunRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read side of payroll runs: run totals and per-employee payslips. Views of FINALIZED/PAID runs are
+ * cached; DRAFT runs are always read from the database.
+ */
+@Service
+@RequiredArgsConstructor
+public class PayslipService {
+
+    private final PayrollRunRepository payrollRunRepository;
+    private final PayrollItemRepository payrollItemRepository;
+    private final FinalizedPayrollCache finalizedPayrollCache;
+
+    // A copy of the run: changing it does not touch the cache or the database
+    public Optional<PayrollRun> getRun(int month, int year) {
+        return Optional.ofNullable(finalizedPayrollCache.getRun(month, year,
+                () -> payrollRunRepository.findByMonthAndYear(month, year).orElse(null)));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<PayslipDTO> getPayslip(Long runId, Long employeeId) {
+        return Optional.ofNullable(finalizedPayrollCache.getPayslip(runId, employeeId,
+                () -> loadPayslip(runId, employeeId)));
+    }
+
+    public List<CacheStatsDTO> getCacheStats() {
+        return finalizedPayrollCache.stats();
+    }
+
+    private PayslipDTO loadPayslip(Long runId, Long employeeId) {
+        List<PayrollItem> items = payrollItemRepository.findPayslipItems(runId, employeeId);
+        if (items.isEmpty()) {
+            return null;
+        }
+        return toPayslip(items.get(0).getPayrollRun(), items.get(0).getEmployee(), items);
+    }
+
+    private PayslipDTO toPayslip(PayrollRun run, Employee emp, List<PayrollItem> items) {
+        List<PayslipLineDTO> lines = new ArrayList<>(items.size());
+        BigDecimal grossPay = BigDecimal.ZERO;
+        BigDecimal totalDeductions = BigDecimal.ZERO;
+        BigDecimal totalClaims = BigDecimal.ZERO;
+
+        for (PayrollItem item : items) {
+            SalaryComponentType type = item.getComponent().getType();
+            lines.add(new PayslipLineDTO(item.getComponent().getCode(), item.getComponent().getName(), type,
+                    item.getAmount(), item.getCalculationBase(), item.getCalculationRate(), item.getRemarks()));
+            if (PayrollCalculator.isEarning(type)) {
+                grossPay = grossPay.add(item.getAmount());
+            } else if (PayrollCalculator.isDeduction(type)) {
+                totalDeductions = totalDeductions.add(item.getAmount());
+            } else if (PayrollCalculator.isClaim(type)) {
+                totalClaims = totalClaims.add(item.getAmount());
+            }
+        }
+
+        PayslipDTO dto = new PayslipDTO();
+        dto.setPayrollRunId(run.getId());
+        dto.setMonth(run.getMonth());
+        dto.setYear(run.getYear());
+        dto.setRunStatus(run.getStatus());
+        dto.setEmployeeId(emp.getId());
+        dto.setEmployeeCode(emp.getEmployeeCode());
+        dto.setEmployeeName(emp.getFullName());
+        dto.setLines(List.copyOf(lines));
+        dto.setGrossPay(grossPay);
+        dto.setTotalDeductions(totalDeductions);
+        dto.setTotalClaims(totalClaims);
+        dto.setNetPay(grossPay.subtract(totalDeductions).add(totalClaims));
+        return dto;
+    }
+}
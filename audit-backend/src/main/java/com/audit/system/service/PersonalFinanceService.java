@@ -1,46 +1,37 @@
 package com.audit.system.service;
 
+import com.audit.system.cache.FinanceSummaryCache;
+import com.audit.system.dto.PersonalFinanceSummaryDTO;
 import com.audit.system.model.PersonalFinance;
+import com.audit.system.repository.PersonalFinanceJdbcRepository;
 import com.audit.system.repository.PersonalFinanceRepository;
+import com.audit.system.repository.PersonalFinanceTotals;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PersonalFinanceService {
 
     private final PersonalFinanceRepository repository;
+    private final PersonalFinanceJdbcRepository jdbcRepository;
+    private final FinanceSummaryCache summaryCache;
 
+    // One upsert on (user_email, year, month): no read before write, no duplicates under concurrent saves
     public PersonalFinance saveCalculation(PersonalFinance finance) {
-        // Prevent duplicates for the same month/year
-        List<PersonalFinance> existingList = repository.findByUserEmailAndYearAndMonth(
-                finance.getUserEmail(), finance.getYear(), finance.getMonth());
-
-        PersonalFinance existing = existingList.isEmpty() ? null : existingList.get(0);
-
-        if (existing != null) {
-            System.out.println("Updating existing record for: " + finance.getUserEmail() + " " + finance.getMonth()
-                    + "/" + finance.getYear());
-            finance.setId(existing.getId()); // Update existing record
-
-            // Preserve createdAt
-            if (existing.getCreatedAt() != null) {
-                finance.setCreatedAt(existing.getCreatedAt());
-            } else {
-                finance.setCreatedAt(java.time.LocalDateTime.now());
-            }
-        } else {
-            System.out.println("Creating NEW record for: " + finance.getUserEmail() + " " + finance.getMonth() + "/"
-                    + finance.getYear());
-            if (finance.getCreatedAt() == null) {
-                finance.setCreatedAt(java.time.LocalDateTime.now());
-            }
+        log.debug("Saving record for: {} {}/{}", finance.getUserEmail(), finance.getMonth(), finance.getYear());
+        if (finance.getCreatedAt() == null) {
+            finance.setCreatedAt(java.time.LocalDateTime.now()); // Kept as-is when the month already exists
         }
 
-        return repository.save(finance);
+        PersonalFinance saved = jdbcRepository.upsert(finance);
+        summaryCache.invalidate(saved.getUserEmail());
+        return saved;
     }
 
     public PersonalFinance getLatestRecord(String email) {
@@ -52,6 +43,23 @@ public class PersonalFinanceService {
         return repository.findByUserEmailOrderByYearDescMonthDesc(email);
     }
 
+    // Dashboard summary from one aggregate query, cached per user until their next save or delete
+    public PersonalFinanceSummaryDTO getSummary(String email) {
+        return summaryCache.getOrLoad(email, this::loadSummary);
+    }
+
+    private PersonalFinanceSummaryDTO loadSummary(String email) {
+        PersonalFinanceTotals totals = repository.findTotals(email);
+        if (totals == null || totals.getMonths() == 0) {
+            return new PersonalFinanceSummaryDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+        BigDecimal savings = totals.getLatestSavings() != null ? totals.getLatestSavings() : BigDecimal.ZERO;
+        BigDecimal gold = totals.getLatestGold() != null ? totals.getLatestGold() : BigDecimal.ZERO;
+        BigDecimal average = totals.getTotalSurplus().divide(BigDecimal.valueOf(totals.getMonths()), 2,
+                java.math.RoundingMode.HALF_UP);
+        return new PersonalFinanceSummaryDTO(savings.add(gold), average, savings, gold);
+    }
+
     // Aggregations needed for Dashboard
     public BigDecimal calculateNetWorth(String email) {
         List<PersonalFinance> history = getHistory(email);
@@ -121,7 +129,10 @@ public class PersonalFinanceService {
 
     public void deleteCalculation(Long id) {
         if (id != null) {
-            repository.deleteById(id);
+            repository.findById(id).ifPresent(finance -> {
+                repository.delete(finance);
+                summaryCache.invalidate(finance.getUserEmail());
+            });
         }
     }
 }
@@ -0,0 +1,232 @@
+package com.audit.system.service;
+
+import com.audit.system.dto.SalaryStructureEntryDTO;
+import com.audit.system.model.EmployeeSalaryStructure;
+import com.audit.system.repository.EmployeeSalaryStructureRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory interval index over active salary structures, answering "active components for
+ * employee X on date D" without a database query.
+ *
+ * Each employee maps to an immutable array of entries sorted by effective start date; updates
+ * replace the array (copy-on-write), so readers never lock. The index loads on first use and is
+ * kept current by SalaryStructureIndexListener after each commit; updates arriving while a load
+ * reads its snapshot are applied on top of it once it is in. If the number of entries would
+ * exceed payroll.structure-index.max-entries the index switches itself off and lookups go to the
+ * repository instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalaryStructureIndex {
+
+    private static final Comparator<SalaryStructureEntryDTO> BY_START =
+            Comparator.comparing(SalaryStructureEntryDTO::getEffectiveStartDate);
+
+    private final EmployeeSalaryStructureRepository salaryStructureRepository;
+
+    @Value("${payroll.structure-index.max-entries:500000}")
+    private int maxEntries = 500000;
+
+    private final Map<Long, SalaryStructureEntryDTO[]> byEmployee = new ConcurrentHashMap<>();
+    private final AtomicInteger entryCount = new AtomicInteger();
+    private volatile boolean loaded;
+    private volatile boolean disabled;
+    // Non-null while load() runs: updates the snapshot it reads may have missed, guarded by itself
+    private final Object loadLock = new Object();
+    private List<Runnable> updatesDuringLoad;
+
+    // Active components of one employee on the date
+    public List<SalaryStructureEntryDTO> findActive(Long employeeId, LocalDate date) {
+        if (!ensureLoaded()) {
+            return salaryStructureRepository.findActiveByEmployeeAndDate(employeeId, date).stream()
+                    .map(SalaryStructureIndex::toEntry)
+                    .toList();
+        }
+        return activeOn(byEmployee.get(employeeId), date);
+    }
+
+    // Active components of every employee on the date, keyed by employee id
+    public Map<Long, List<SalaryStructureEntryDTO>> findAllActive(LocalDate date) {
+        if (!ensureLoaded()) {
+            Map<Long, List<SalaryStructureEntryDTO>> result = new HashMap<>();
+            for (SalaryStructureEntryDTO entry : salaryStructureRepository.findAllActiveEntries()) {
+                if (entry.isEffectiveOn(date)) {
+                    result.computeIfAbsent(entry.getEmployeeId(), id -> new ArrayList<>()).add(entry);
+                }
+            }
+            return result;
+        }
+
+        Map<Long, List<SalaryStructureEntryDTO>> result = new HashMap<>(byEmployee.size() * 2);
+        byEmployee.forEach((employeeId, entries) -> {
+            List<SalaryStructureEntryDTO> active = activeOn(entries, date);
+            if (!active.isEmpty()) {
+                result.put(employeeId, active);
+            }
+        });
+        return result;
+    }
+
+    // Adds or replaces a structure; inactive structures are removed
+    public void upsert(SalaryStructureEntryDTO entry, boolean active) {
+        if (deferredDuringLoad(() -> applyUpsert(entry, active)) || !loaded || disabled) {
+            return; // picked up by the next full load
+        }
+        applyUpsert(entry, active);
+    }
+
+    public void remove(Long employeeId, Long structureId) {
+        if (deferredDuringLoad(() -> applyRemove(employeeId, structureId)) || !loaded || disabled) {
+            return;
+        }
+        applyRemove(employeeId, structureId);
+    }
+
+    private boolean deferredDuringLoad(Runnable update) {
+        synchronized (loadLock) {
+            if (updatesDuringLoad == null) {
+                return false;
+            }
+            updatesDuringLoad.add(update);
+            return true;
+        }
+    }
+
+    private void applyUpsert(SalaryStructureEntryDTO entry, boolean active) {
+        byEmployee.compute(entry.getEmployeeId(), (employeeId, current) -> {
+            List<SalaryStructureEntryDTO> entries = new ArrayList<>();
+            if (current != null) {
+                for (SalaryStructureEntryDTO existing : current) {
+                    if (!existing.getStructureId().equals(entry.getStructureId())) {
+                        entries.add(existing);
+                    }
+                }
+                entryCount.addAndGet(entries.size() - current.length);
+            }
+            if (active) {
+                entries.add(entry);
+                entryCount.incrementAndGet();
+            }
+            entries.sort(BY_START);
+            return entries.isEmpty() ? null : entries.toArray(new SalaryStructureEntryDTO[0]);
+        });
+        if (entryCount.get() > maxEntries) {
+            disable();
+        }
+    }
+
+    private void applyRemove(Long employeeId, Long structureId) {
+        byEmployee.computeIfPresent(employeeId, (id, current) -> {
+            SalaryStructureEntryDTO[] remaining = Arrays.stream(current)
+                    .filter(e -> !e.getStructureId().equals(structureId))
+                    .toArray(SalaryStructureEntryDTO[]::new);
+            entryCount.addAndGet(remaining.length - current.length);
+            return remaining.length == 0 ? null : remaining;
+        });
+    }
+
+    // Drops the index; the next lookup loads it again
+    public synchronized void reload() {
+        byEmployee.clear();
+        entryCount.set(0);
+        loaded = false;
+        disabled = false;
+    }
+
+    public int size() {
+        return entryCount.get();
+    }
+
+    public boolean isDisabled() {
+        return disabled;
+    }
+
+    static SalaryStructureEntryDTO toEntry(EmployeeSalaryStructure struct) {
+        return new SalaryStructureEntryDTO(struct.getId(), struct.getEmployee().getId(),
+                struct.getComponent().getId(), struct.getComponent().getCode(), struct.getComponent().getName(),
+                struct.getComponent().getType(), struct.getAmount(),
+                struct.getEffectiveStartDate(), struct.getEffectiveEndDate());
+    }
+
+    private boolean ensureLoaded() {
+        if (!loaded) {
+            load();
+        }
+        return !disabled;
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        long count = salaryStructureRepository.countActive();
+        if (count > maxEntries) {
+            log.warn("Salary structure index disabled: {} active structures exceed the limit of {}", count, maxEntries);
+            disabled = true;
+            loaded = true;
+            return;
+        }
+
+        synchronized (loadLock) {
+            updatesDuringLoad = new ArrayList<>();
+        }
+        try {
+            Map<Long, List<SalaryStructureEntryDTO>> grouped = new HashMap<>();
+            for (SalaryStructureEntryDTO entry : salaryStructureRepository.findAllActiveEntries()) {
+                grouped.computeIfAbsent(entry.getEmployeeId(), id -> new ArrayList<>()).add(entry);
+            }
+            grouped.forEach((employeeId, entries) -> {
+                entries.sort(BY_START);
+                byEmployee.put(employeeId, entries.toArray(new SalaryStructureEntryDTO[0]));
+                entryCount.addAndGet(entries.size());
+            });
+            // Under the lock, so no update slips in between these and the direct path
+            synchronized (loadLock) {
+                for (Runnable update : updatesDuringLoad) {
+                    if (!disabled) {
+                        update.run();
+                    }
+                }
+                loaded = true;
+            }
+        } finally {
+            synchronized (loadLock) {
+                updatesDuringLoad = null;
+            }
+        }
+    }
+
+    private synchronized void disable() {
+        log.warn("Salary structure index disabled: {} entries exceed the limit of {}", entryCount.get(), maxEntries);
+        byEmployee.clear();
+        entryCount.set(0);
+        disabled = true;
+    }
+
+    // Entries are sorted by start date, so the scan stops at the first entry starting after the date
+    private static List<SalaryStructureEntryDTO> activeOn(SalaryStructureEntryDTO[] entries, LocalDate date) {
+        if (entries == null) {
+            return Collections.emptyList();
+        }
+        List<SalaryStructureEntryDTO> active = new ArrayList<>();
+        for (SalaryStructureEntryDTO entry : entries) {
+            if (entry.getEffectiveStartDate().isAfter(date)) {
+                break;
+            }
+            if (entry.getEffectiveEndDate() == null || !entry.getEffectiveEndDate().isBefore(date)) {
+                active.add(entry);
+            }
+        }
+        return active;
+    }
+}
@@ -0,0 +1,52 @@
+package com.audit.system.service;
+
+import com.audit.system.dto.SalaryStructureEntryDTO;
+import com.audit.system.model.EmployeeSalaryStructure;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps SalaryStructureIndex in step with saved structures. Changes are applied after the
+ * transaction commits so a rollback never leaks into the index. Instantiated by Hibernate
+ * through Spring, hence the lazy provider (the index depends on the EntityManagerFactory).
+ */
+public class SalaryStructureIndexListener {
+
+    private final ObjectProvider<SalaryStructureIndex> index;
+
+    public SalaryStructureIndexListener(ObjectProvider<SalaryStructureIndex> index) {
+        this.index = index;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(EmployeeSalaryStructure structure) {
+        SalaryStructureEntryDTO entry = SalaryStructureIndex.toEntry(structure);
+        boolean active = structure.isActive();
+        afterCommit(() -> index.getObject().upsert(entry, active));
+    }
+
+    @PostRemove
+    public void onRemoved(EmployeeSalaryStructure structure) {
+        Long employeeId = structure.getEmployee().getId();
+        Long structureId = structure.getId();
+        afterCommit(() -> index.getObject().remove(employeeId, structureId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
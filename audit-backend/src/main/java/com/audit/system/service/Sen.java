@@ -0,0 +1,102 @@
+package com.audit.system.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money in sen (1/100 ringgit) held in a long. Payroll arithmetic runs on these;
+ * BigDecimal is only used when reading amounts in and handing totals back out. Every operation
+ * is overflow checked, and conversions never round silently.
+ */
+public final class Sen {
+
+    public static final int SCALE = 2;
+
+    private Sen() {
+    }
+
+    // Above 15 digits of sen the double fast path below could be off by one, so those take the slow path
+    private static final int FAST_PATH_DIGITS = 15;
+
+    /**
+     * Exact conversion; amounts with sub-sen digits are rejected rather than rounded.
+     * Amounts with scale 0..2 and up to 15 digits of sen (all NUMERIC(15,2) values) take a fast
+     * path through doubleValue(), which does not allocate: the double is the correctly rounded
+     * value, so scaling by 100 and rounding recovers the exact sen.
+     */
+    public static long of(BigDecimal amount) {
+        int scale = amount.scale();
+        if (scale >= 0 && scale <= SCALE && amount.precision() + (SCALE - scale) <= FAST_PATH_DIGITS) {
+            return Math.round(amount.doubleValue() * 100.0);
+        }
+        try {
+            return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Amount " + amount + " is not a whole number of sen within range");
+        }
+    }
+
+    // Back to BigDecimal with the given scale (e.g. the scale the inputs had); exact as well
+    public static BigDecimal toBigDecimal(long sen, int scale) {
+        return BigDecimal.valueOf(sen, SCALE).setScale(scale, RoundingMode.UNNECESSARY);
+    }
+
+    public static BigDecimal toBigDecimal(long sen) {
+        return BigDecimal.valueOf(sen, SCALE);
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * base x rate, where the rate is in basis points (11% = 1100), rounded to the sen with the
+     * given mode. Statutory rules then round further, see roundUpToRinggit / roundToFiveSen.
+     */
+    public static long percent(long baseSen, long rateBasisPoints, RoundingMode mode) {
+        long product = Math.multiplyExact(baseSen, rateBasisPoints);
+        return divide(product, 10_000L, mode);
+    }
+
+    // Next whole ringgit, e.g. EPF contributions: RM 550.01 -> RM 551.00
+    public static long roundUpToRinggit(long sen) {
+        return divide(sen, 100L, RoundingMode.CEILING) * 100L;
+    }
+
+    // Bank Negara cash rounding to the nearest 5 sen: .01/.02 down, .03/.04 up, .06/.07 down, .08/.09 up
+    public static long roundToFiveSen(long sen) {
+        return divide(sen, 5L, RoundingMode.HALF_UP) * 5L;
+    }
+
+    // SOCSO/EIS table contributions: up to the next 5 sen
+    public static long roundUpToFiveSen(long sen) {
+        return divide(sen, 5L, RoundingMode.CEILING) * 5L;
+    }
+
+    // Integer division with BigDecimal rounding semantics, without allocating
+    static long divide(long dividend, long divisor, RoundingMode mode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = (dividend < 0) == (divisor < 0) ? 1 : -1;
+        long twiceRemainder = Math.abs(remainder) * 2;
+        long absDivisor = Math.abs(divisor);
+        boolean awayFromZero = switch (mode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case HALF_UP -> twiceRemainder >= absDivisor;
+            case HALF_DOWN -> twiceRemainder > absDivisor;
+            case HALF_EVEN -> twiceRemainder > absDivisor || (twiceRemainder == absDivisor && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return awayFromZero ? quotient + sign : quotient;
+    }
+}
@@ -0,0 +1,248 @@
+package com.audit.system.service;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Malaysian statutory contributions (EPF, SOCSO, EIS) and monthly tax deduction (PCB), all in sen.
+ * Contribution schedules are expanded once into arrays indexed by wage band, and PCB brackets
+ * into an array indexed by RM1,000 of chargeable income, so every lookup is O(1) and allocation
+ * free.
+ *
+ * Simplifications: EPF uses the Third Schedule band structure (RM20 bands up to RM5,000, RM100
+ * bands up to RM20,000, exact percentage above) for employees below 60; SOCSO (first category)
+ * and EIS use RM100 bands up to the RM6,000 ceiling, on the band midpoint; PCB applies only the
+ * individual relief, EPF relief and the RM400 rebate (no spouse/child reliefs).
+ */
+@Component
+public class StatutoryContributionEngine {
+
+    public static final String EPF_EMPLOYEE = "EPF_EE";
+    public static final String EPF_EMPLOYER = "EPF_ER";
+    public static final String SOCSO_EMPLOYEE = "SOCSO_EE";
+    public static final String SOCSO_EMPLOYER = "SOCSO_ER";
+    public static final String EIS_EMPLOYEE = "EIS_EE";
+    public static final String EIS_EMPLOYER = "EIS_ER";
+    public static final String PCB = "PCB";
+
+    public static final String[] CODES = {
+            EPF_EMPLOYEE, EPF_EMPLOYER, SOCSO_EMPLOYEE, SOCSO_EMPLOYER, EIS_EMPLOYEE, EIS_EMPLOYER, PCB};
+
+    // EPF: rates in basis points; employer pays 13% up to RM5,000 and 12% above
+    private static final long EPF_EMPLOYEE_RATE = 1100;
+    private static final long EPF_EMPLOYER_RATE_LOW = 1300;
+    private static final long EPF_EMPLOYER_RATE_HIGH = 1200;
+    private static final long EPF_MIN_WAGE = 1_000;           // RM10, nothing below
+    private static final long EPF_LOW_LIMIT = 500_000;        // RM5,000
+    private static final long EPF_LOW_BAND = 2_000;           // RM20
+    private static final long EPF_HIGH_LIMIT = 2_000_000;     // RM20,000
+    private static final long EPF_HIGH_BAND = 10_000;         // RM100
+
+    // SOCSO first category 0.5% / 1.75%, EIS 0.2% / 0.2%, RM100 bands up to RM6,000
+    private static final long SOCSO_EMPLOYEE_RATE = 50;
+    private static final long SOCSO_EMPLOYER_RATE = 175;
+    private static final long EIS_RATE = 20;
+    private static final long SOCSO_BAND = 10_000;
+    private static final int SOCSO_BANDS = 60;
+
+    // PCB: yearly chargeable income brackets (YA2024) in sen with their rates in basis points
+    private static final long[] BRACKET_START = {
+            0L, 500_000L, 2_000_000L, 3_500_000L, 5_000_000L, 7_000_000L, 10_000_000L, 40_000_000L,
+            60_000_000L, 200_000_000L};
+    private static final long[] BRACKET_RATE = {0, 100, 300, 600, 1100, 1900, 2500, 2600, 2800, 3000};
+    private static final long PCB_STEP = 100_000;             // RM1,000 per index
+    private static final long INDIVIDUAL_RELIEF = 900_000;    // RM9,000
+    private static final long EPF_RELIEF_LIMIT = 400_000;     // RM4,000 a year
+    private static final long REBATE_LIMIT = 3_500_000;       // RM35,000
+    private static final long REBATE = 40_000;                // RM400
+    private static final long PCB_MINIMUM = 1_000;            // below RM10 nothing is deducted
+
+    private static final BigDecimal EPF_EMPLOYEE_PERCENT = percent(EPF_EMPLOYEE_RATE);
+    private static final BigDecimal EPF_EMPLOYER_PERCENT_LOW = percent(EPF_EMPLOYER_RATE_LOW);
+    private static final BigDecimal EPF_EMPLOYER_PERCENT_HIGH = percent(EPF_EMPLOYER_RATE_HIGH);
+    private static final BigDecimal SOCSO_EMPLOYEE_PERCENT = percent(SOCSO_EMPLOYEE_RATE);
+    private static final BigDecimal SOCSO_EMPLOYER_PERCENT = percent(SOCSO_EMPLOYER_RATE);
+    private static final BigDecimal EIS_PERCENT = percent(EIS_RATE);
+    private static final BigDecimal[] BRACKET_PERCENT = new BigDecimal[BRACKET_RATE.length];
+
+    static {
+        for (int i = 0; i < BRACKET_RATE.length; i++) {
+            BRACKET_PERCENT[i] = percent(BRACKET_RATE[i]);
+        }
+    }
+
+    // Index 0 = no contribution; index i = band i
+    private final long[] epfEmployeeLow;
+    private final long[] epfEmployerLow;
+    private final long[] epfEmployeeHigh;
+    private final long[] epfEmployerHigh;
+    private final long[] socsoEmployee = new long[SOCSO_BANDS + 1];
+    private final long[] socsoEmployer = new long[SOCSO_BANDS + 1];
+    private final long[] eisEmployee = new long[SOCSO_BANDS + 1];
+    private final long[] eisEmployer = new long[SOCSO_BANDS + 1];
+
+    // Bracket per RM1,000 of chargeable income and the tax due at each bracket start
+    private final int[] bracketByStep;
+    private final long[] taxAtBracketStart = new long[BRACKET_START.length];
+
+    public StatutoryContributionEngine() {
+        int lowBands = (int) (EPF_LOW_LIMIT / EPF_LOW_BAND);
+        epfEmployeeLow = new long[lowBands + 1];
+        epfEmployerLow = new long[lowBands + 1];
+        for (int i = 1; i <= lowBands; i++) {
+            long wage = i * EPF_LOW_BAND;
+            epfEmployeeLow[i] = epf(wage, EPF_EMPLOYEE_RATE);
+            epfEmployerLow[i] = epf(wage, EPF_EMPLOYER_RATE_LOW);
+        }
+        int highBands = (int) ((EPF_HIGH_LIMIT - EPF_LOW_LIMIT) / EPF_HIGH_BAND);
+        epfEmployeeHigh = new long[highBands + 1];
+        epfEmployerHigh = new long[highBands + 1];
+        for (int i = 1; i <= highBands; i++) {
+            long wage = EPF_LOW_LIMIT + i * EPF_HIGH_BAND;
+            epfEmployeeHigh[i] = epf(wage, EPF_EMPLOYEE_RATE);
+            epfEmployerHigh[i] = epf(wage, EPF_EMPLOYER_RATE_HIGH);
+        }
+
+        for (int i = 1; i <= SOCSO_BANDS; i++) {
+            long midpoint = i * SOCSO_BAND - SOCSO_BAND / 2;
+            socsoEmployee[i] = Sen.roundUpToFiveSen(Sen.percent(midpoint, SOCSO_EMPLOYEE_RATE, RoundingMode.CEILING));
+            socsoEmployer[i] = Sen.roundUpToFiveSen(Sen.percent(midpoint, SOCSO_EMPLOYER_RATE, RoundingMode.CEILING));
+            eisEmployee[i] = Sen.roundUpToFiveSen(Sen.percent(midpoint, EIS_RATE, RoundingMode.CEILING));
+            eisEmployer[i] = eisEmployee[i];
+        }
+
+        int steps = (int) (BRACKET_START[BRACKET_START.length - 1] / PCB_STEP);
+        bracketByStep = new int[steps + 1];
+        int bracket = 0;
+        for (int step = 0; step <= steps; step++) {
+            while (bracket + 1 < BRACKET_START.length && BRACKET_START[bracket + 1] <= step * PCB_STEP) {
+                bracket++;
+            }
+            bracketByStep[step] = bracket;
+        }
+        for (int b = 1; b < BRACKET_START.length; b++) {
+            taxAtBracketStart[b] = taxAtBracketStart[b - 1]
+                    + Sen.percent(BRACKET_START[b] - BRACKET_START[b - 1], BRACKET_RATE[b - 1], RoundingMode.HALF_UP);
+        }
+    }
+
+    private static long epf(long wage, long rate) {
+        return Sen.roundUpToRinggit(Sen.percent(wage, rate, RoundingMode.CEILING));
+    }
+
+    private static BigDecimal percent(long basisPoints) {
+        return BigDecimal.valueOf(basisPoints, 2);
+    }
+
+    // --- EPF ---
+
+    public long epfEmployee(long wageSen) {
+        if (wageSen <= EPF_MIN_WAGE) {
+            return 0;
+        }
+        if (wageSen <= EPF_LOW_LIMIT) {
+            return epfEmployeeLow[band(wageSen, EPF_LOW_BAND)];
+        }
+        if (wageSen <= EPF_HIGH_LIMIT) {
+            return epfEmployeeHigh[band(wageSen - EPF_LOW_LIMIT, EPF_HIGH_BAND)];
+        }
+        return epf(wageSen, EPF_EMPLOYEE_RATE);
+    }
+
+    public long epfEmployer(long wageSen) {
+        if (wageSen <= EPF_MIN_WAGE) {
+            return 0;
+        }
+        if (wageSen <= EPF_LOW_LIMIT) {
+            return epfEmployerLow[band(wageSen, EPF_LOW_BAND)];
+        }
+        if (wageSen <= EPF_HIGH_LIMIT) {
+            return epfEmployerHigh[band(wageSen - EPF_LOW_LIMIT, EPF_HIGH_BAND)];
+        }
+        return epf(wageSen, EPF_EMPLOYER_RATE_HIGH);
+    }
+
+    public BigDecimal epfEmployeeRate() {
+        return EPF_EMPLOYEE_PERCENT;
+    }
+
+    public BigDecimal epfEmployerRate(long wageSen) {
+        return wageSen <= EPF_LOW_LIMIT ? EPF_EMPLOYER_PERCENT_LOW : EPF_EMPLOYER_PERCENT_HIGH;
+    }
+
+    // --- SOCSO / EIS ---
+
+    public long socsoEmployee(long wageSen) {
+        return socsoEmployee[socsoBand(wageSen)];
+    }
+
+    public long socsoEmployer(long wageSen) {
+        return socsoEmployer[socsoBand(wageSen)];
+    }
+
+    public long eisEmployee(long wageSen) {
+        return eisEmployee[socsoBand(wageSen)];
+    }
+
+    public long eisEmployer(long wageSen) {
+        return eisEmployer[socsoBand(wageSen)];
+    }
+
+    public BigDecimal socsoEmployeeRate() {
+        return SOCSO_EMPLOYEE_PERCENT;
+    }
+
+    public BigDecimal socsoEmployerRate() {
+        return SOCSO_EMPLOYER_PERCENT;
+    }
+
+    public BigDecimal eisRate() {
+        return EIS_PERCENT;
+    }
+
+    // --- PCB ---
+
+    // Yearly chargeable income of a month's taxable pay, after individual and EPF relief
+    public long chargeableIncome(long monthlyTaxableSen, long monthlyEpfSen) {
+        long yearly = Math.multiplyExact(monthlyTaxableSen, 12L);
+        long epfRelief = Math.min(Math.multiplyExact(monthlyEpfSen, 12L), EPF_RELIEF_LIMIT);
+        return Math.max(0L, yearly - epfRelief - INDIVIDUAL_RELIEF);
+    }
+
+    // Monthly tax deduction: yearly tax on the chargeable income spread over 12 months
+    public long pcb(long monthlyTaxableSen, long monthlyEpfSen) {
+        long chargeable = chargeableIncome(monthlyTaxableSen, monthlyEpfSen);
+        int bracket = bracket(chargeable);
+        long yearlyTax = taxAtBracketStart[bracket]
+                + Sen.percent(chargeable - BRACKET_START[bracket], BRACKET_RATE[bracket], RoundingMode.HALF_UP);
+        if (chargeable <= REBATE_LIMIT) {
+            yearlyTax = Math.max(0L, yearlyTax - REBATE);
+        }
+        long monthly = Sen.roundUpToFiveSen(Sen.divide(yearlyTax, 12L, RoundingMode.CEILING));
+        return monthly < PCB_MINIMUM ? 0L : monthly;
+    }
+
+    // Marginal rate of the bracket the month's pay falls in, recorded on the PCB item
+    public BigDecimal pcbRate(long monthlyTaxableSen, long monthlyEpfSen) {
+        return BRACKET_PERCENT[bracket(chargeableIncome(monthlyTaxableSen, monthlyEpfSen))];
+    }
+
+    private int bracket(long chargeableSen) {
+        long step = chargeableSen / PCB_STEP;
+        return step >= bracketByStep.length ? BRACKET_START.length - 1 : bracketByStep[(int) step];
+    }
+
+    // 1-based band of a positive wage, e.g. RM20 bands: 0.01..20.00 -> 1, 20.01..40.00 -> 2
+    private static int band(long wageSen, long bandWidth) {
+        return (int) ((wageSen + bandWidth - 1) / bandWidth);
+    }
+
+    private static int socsoBand(long wageSen) {
+        if (wageSen <= 0) {
+            return 0;
+        }
+        return (int) Math.min(band(wageSen, SOCSO_BAND), SOCSO_BANDS);
+    }
+}
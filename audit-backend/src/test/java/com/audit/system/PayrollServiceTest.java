@@ -2,17 +2,20 @@ package com.audit.system;
 
 import com.audit.system.model.*;
 import com.audit.system.repository.*;
+import com.audit.system.service.PayrollMetrics;
 import com.audit.system.service.PayrollService;
+import com.audit.system.service.StatutoryContributionEngine;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
@@ -28,6 +31,26 @@ class PayrollServiceTest {
     private PayrollRunRepository payrollRunRepository;
     @Mock
     private PayrollItemRepository payrollItemRepository;
+    @Mock
+    private PayrollItemJdbcRepository payrollItemJdbcRepository;
+    @Mock
+    private PayrollRunPartitionRepository partitionRepository;
+    @Mock
+    private PayrollMonthlySummaryRepository summaryRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PayrollMetrics payrollMetrics;
+    @Mock
+    private SalaryComponentRepository salaryComponentRepository;
+    @Mock
+    private EmployeeZakatSettingRepository zakatSettingRepository;
+    @Mock
+    private ClaimRepository claimRepository;
+    @Mock
+    private ClaimJdbcRepository claimJdbcRepository;
+    @Spy
+    private StatutoryContributionEngine statutoryEngine = new StatutoryContributionEngine();
 
     @InjectMocks
     private PayrollService payrollService;
@@ -43,7 +66,6 @@ class PayrollServiceTest {
         // Setup Mock Employee
         Employee emp = new Employee();
         emp.setId(1L);
-        when(employeeRepository.findAll()).thenReturn(Collections.singletonList(emp));
 
         // Setup Payroll Run
         PayrollRun run = new PayrollRun();
@@ -60,17 +82,20 @@ class PayrollServiceTest {
         deduct.setType(SalaryComponentType.DEDUCTION);
 
         EmployeeSalaryStructure s1 = new EmployeeSalaryStructure();
+        s1.setEmployee(emp);
         s1.setComponent(basic);
         s1.setAmount(new BigDecimal("5000"));
         EmployeeSalaryStructure s2 = new EmployeeSalaryStructure();
+        s2.setEmployee(emp);
         s2.setComponent(allow);
         s2.setAmount(new BigDecimal("1000"));
         EmployeeSalaryStructure s3 = new EmployeeSalaryStructure();
+        s3.setEmployee(emp);
         s3.setComponent(deduct);
         s3.setAmount(new BigDecimal("500"));
 
-        when(salaryStructureRepository.findActiveByEmployeeAndDate(any(), any()))
-                .thenReturn(Arrays.asList(s1, s2, s3));
+        when(salaryStructureRepository.streamActiveByDate(any()))
+                .thenReturn(Stream.of(s1, s2, s3));
 
         // Execute
         PayrollRun result = payrollService.generatePayroll(1, 2026);
@@ -0,0 +1,96 @@
+package com.audit.system.audit;
+
+import com.audit.system.dto.AuditChainVerificationDTO;
+import com.audit.system.repository.AuditChainJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditChainVerifierTest {
+
+    private final AuditChainJdbcRepository chainRepository = mock(AuditChainJdbcRepository.class);
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final List<AuditChainEntry> chain = new ArrayList<>();
+
+    private AuditChainVerifier verifier() {
+        executor.setCorePoolSize(2);
+        executor.initialize();
+        return new AuditChainVerifier(chainRepository, executor, mock(PlatformTransactionManager.class), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    // Chains entries the way chain_pending_audit_logs() does and serves them from the mocked repository
+    private void chainOf(int size) {
+        AuditChainDigest digests = new AuditChainDigest();
+        String prev = AuditChainDigest.GENESIS;
+        for (long seq = 1; seq <= size; seq++) {
+            AuditChainEntry entry = new AuditChainEntry();
+            entry.setChainSeq(seq);
+            entry.setTableName("employees");
+            entry.setRecordId(seq);
+            entry.setAction("UPDATE");
+            entry.setOldValues("{\"id\": " + seq + ", \"status\": \"PROBATION\"}");
+            entry.setNewValues("{\"id\": " + seq + ", \"status\": \"PERMANENT\"}");
+            entry.setChangedBy("SYSTEM");
+            entry.setChangedAt("2026-03-01T09:00:00.000000");
+            prev = AuditChainDigest.hex(digests.digest(prev, entry));
+            entry.setDigest(prev);
+            chain.add(entry);
+        }
+        when(chainRepository.findHeadSeq()).thenReturn((long) size);
+        when(chainRepository.findDigest(anyLong())).thenAnswer(inv -> {
+            long seq = inv.getArgument(0);
+            return chain.get((int) seq - 1).getDigest();
+        });
+        doAnswer(inv -> {
+            long from = inv.getArgument(0);
+            long to = inv.getArgument(1);
+            Consumer<AuditChainEntry> consumer = inv.getArgument(2);
+            chain.subList((int) from - 1, (int) to).forEach(consumer);
+            return null;
+        }).when(chainRepository).streamEntries(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void newEntriesAreVerifiedInRangesAndCheckpointed() {
+        chainOf(5);
+        when(chainRepository.findCheckpoints()).thenReturn(List.of());
+
+        AuditChainVerificationDTO result = verifier().verify(false);
+
+        assertTrue(result.isValid());
+        assertEquals(5, result.getEntriesChecked());
+        assertEquals(3, result.getRangesChecked());
+        verify(chainRepository).saveCheckpoint(argThat(c -> c.getFromSeq() == 5 && c.getToSeq() == 5
+                && c.getEndDigest().equals(chain.get(4).getDigest())));
+        verify(chainRepository, times(3)).saveCheckpoint(any());
+    }
+
+    @Test
+    void onlyEntriesAfterTheLastCheckpointAreReadAndEditsAreCaught() {
+        chainOf(5);
+        when(chainRepository.findCheckpoints()).thenReturn(List.of(
+                new AuditChainCheckpoint(1, 2, chain.get(1).getDigest(), "ignored")));
+        chain.get(3).setNewValues("{\"id\": 4, \"status\": \"RESIGNED\"}"); // Edited after it was written
+
+        AuditChainVerificationDTO result = verifier().verify(false);
+
+        assertFalse(result.isValid());
+        assertEquals(4L, result.getFirstBrokenSeq());
+        verify(chainRepository, never()).streamEntries(eq(1L), anyLong(), any());
+        verify(chainRepository, never()).saveCheckpoint(any());
+    }
+}
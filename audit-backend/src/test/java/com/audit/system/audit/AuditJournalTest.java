@@ -0,0 +1,91 @@
+package com.audit.system.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditJournalTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path dir;
+
+    private static AuditEvent event(long recordId) {
+        return new AuditEvent(0, "employees", recordId, "UPDATE", "{\"id\": " + recordId + "}",
+                "{\"id\": " + recordId + "}", "SYSTEM", LocalDateTime.of(2026, 3, 1, 9, 0));
+    }
+
+    private List<Long> seqsAfter(AuditJournal journal, long afterSeq) throws Exception {
+        List<Long> seqs = new ArrayList<>();
+        journal.forEachAfter(afterSeq, e -> seqs.add(e.getSeq()));
+        return seqs;
+    }
+
+    @Test
+    void eventsSurviveARestartAndWrittenSegmentsAreDeleted() throws Exception {
+        try (AuditJournal journal = new AuditJournal(dir, 400, objectMapper)) {
+            journal.startAfter(10); // audit_logs already has up to 10 from this node
+            for (long id = 1; id <= 6; id++) {
+                journal.append(event(id));
+            }
+            assertEquals(16, journal.getLastSeq());
+            assertEquals(List.of(14L, 15L, 16L), seqsAfter(journal, 13));
+        }
+        long segments;
+        try (var files = Files.list(dir)) {
+            segments = files.count();
+        }
+        assertTrue(segments > 1, "small segment size should have rolled");
+
+        // A crash mid-append leaves a partial line behind
+        Path last;
+        try (var files = Files.list(dir)) {
+            last = files.sorted().reduce((a, b) -> b).orElseThrow();
+        }
+        Files.writeString(last, "{\"seq\":17,\"tab", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (AuditJournal journal = new AuditJournal(dir, 400, objectMapper)) {
+            assertEquals(16, journal.getLastSeq());
+            assertEquals(List.of(11L, 12L, 13L, 14L, 15L, 16L), seqsAfter(journal, 0));
+
+            List<AuditEvent> replayed = new ArrayList<>();
+            journal.forEachAfter(10, replayed::add);
+            assertEquals(1L, replayed.get(0).getRecordId());
+            assertEquals(LocalDateTime.of(2026, 3, 1, 9, 0), replayed.get(0).getChangedAt());
+
+            // New appends go to a fresh segment and continue the sequence
+            assertEquals(17, journal.append(event(7)));
+
+            journal.deleteUpTo(16);
+            assertEquals(List.of(17L), seqsAfter(journal, 0));
+        }
+    }
+
+    @Test
+    void discardedEventsAreSkippedEvenAfterARestart() throws Exception {
+        try (AuditJournal journal = new AuditJournal(dir, 400, objectMapper)) {
+            for (long id = 1; id <= 5; id++) {
+                journal.append(event(id));
+            }
+            journal.discard(2); // Lands in a later segment than event 2
+            journal.discard(5);
+            assertEquals(List.of(1L, 3L, 4L), seqsAfter(journal, 0));
+            assertEquals(5, journal.getLastSeq());
+        }
+        try (AuditJournal journal = new AuditJournal(dir, 400, objectMapper)) {
+            assertEquals(List.of(3L, 4L), seqsAfter(journal, 2));
+            assertEquals(6, journal.append(event(6)));
+        }
+    }
+}
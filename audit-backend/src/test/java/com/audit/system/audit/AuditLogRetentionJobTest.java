@@ -0,0 +1,20 @@
+package com.audit.system.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogRetentionJobTest {
+
+    @Test
+    void onlyRecognisedPartitionsBeforeTheOldestOnlineMonthExpire() {
+        List<String> partitions = List.of("audit_logs_y2023m12", "audit_logs_y2024m01", "audit_logs_y2024m02",
+                "audit_logs_manual_fix");
+
+        assertEquals(List.of("audit_logs_y2023m12"),
+                AuditLogRetentionJob.expiredPartitions(partitions, YearMonth.of(2024, 1)));
+    }
+}
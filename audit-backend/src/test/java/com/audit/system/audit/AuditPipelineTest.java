@@ -0,0 +1,75 @@
+package com.audit.system.audit;
+
+import com.audit.system.repository.AuditLogJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditPipelineTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AuditLogJdbcRepository repository = mock(AuditLogJdbcRepository.class);
+    private final List<Long> written = new ArrayList<>();
+
+    @TempDir
+    Path dir;
+
+    private AuditPipeline pipeline() {
+        doAnswer(invocation -> {
+            List<AuditEvent> events = invocation.getArgument(0);
+            events.forEach(e -> written.add(e.getRecordId()));
+            return null;
+        }).when(repository).insertBatch(anyList());
+        AuditPipeline pipeline = new AuditPipeline(repository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                objectMapper, AuditPipelineMode.APPLICATION, dir.toString(), 1 << 20, "test", 100, 50, 10);
+        pipeline.start();
+        return pipeline;
+    }
+
+    private static AuditEvent event(long recordId) {
+        return new AuditEvent(0, "employees", recordId, "UPDATE", null, "{\"id\": " + recordId + "}",
+                "SYSTEM", LocalDateTime.of(2026, 3, 1, 9, 0));
+    }
+
+    @Test
+    void writesCommittedEventsInSequenceOrderAndNeverRolledBackOnes() {
+        AuditPipeline pipeline = pipeline();
+        AuditEvent first = event(1);
+        AuditEvent second = event(2);
+        AuditEvent rolledBack = event(3);
+        pipeline.journal(first);
+        pipeline.journal(second);
+        pipeline.journal(rolledBack);
+        pipeline.commit(second);
+        pipeline.discard(rolledBack);
+        pipeline.commit(first);
+        pipeline.submit(event(4));
+        pipeline.stop();
+
+        assertEquals(List.of(1L, 2L, 4L), written);
+    }
+
+    @Test
+    void anEventJournaledButNotResolvedIsReplayedOnTheNextStart() {
+        AuditPipeline pipeline = pipeline();
+        pipeline.journal(event(1)); // Crash between the database commit and commit()
+        pipeline.submit(event(2));
+        pipeline.stop();
+        assertEquals(List.of(), written, "must not pass the open event");
+
+        pipeline().stop();
+
+        assertEquals(List.of(1L, 2L), written);
+    }
+}
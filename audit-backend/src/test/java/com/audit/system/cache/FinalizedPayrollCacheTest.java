@@ -0,0 +1,91 @@
+package com.audit.system.cache;
+
+import com.audit.system.dto.PayslipDTO;
+import com.audit.system.model.PayrollRun;
+import com.audit.system.service.PayrollRunStatusChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FinalizedPayrollCacheTest {
+
+    private final FinalizedPayrollCache cache = new FinalizedPayrollCache(10, 2, 10);
+
+    private static PayrollRun run(long id, String status) {
+        PayrollRun run = new PayrollRun();
+        run.setId(id);
+        run.setMonth(1);
+        run.setYear(2026);
+        run.setStatus(status);
+        return run;
+    }
+
+    private static PayslipDTO payslip(long runId, long employeeId, String status) {
+        PayslipDTO dto = new PayslipDTO();
+        dto.setPayrollRunId(runId);
+        dto.setEmployeeId(employeeId);
+        dto.setRunStatus(status);
+        return dto;
+    }
+
+    @Test
+    void draftRunsAreNotAdmitted() {
+        cache.getRun(1, 2026, () -> run(1, "DRAFT"));
+        cache.getPayslip(1L, 7L, () -> payslip(1, 7, "DRAFT"));
+
+        assertNull(cache.getRun(1, 2026, () -> null));
+        assertNull(cache.getPayslip(1L, 7L, () -> null));
+    }
+
+    @Test
+    void callersGetTheirOwnCopyOfACachedRun() {
+        PayrollRun loaded = run(1, "FINALIZED");
+        PayrollRun first = cache.getRun(1, 2026, () -> loaded);
+        first.setStatus("DRAFT");
+        loaded.setTotalPayout(BigDecimal.ONE);
+
+        PayrollRun second = cache.getRun(1, 2026, () -> null);
+        assertEquals("FINALIZED", second.getStatus());
+        assertNull(second.getTotalPayout());
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void statusChangeEvictsAllEntriesOfTheRun() {
+        cache.getRun(1, 2026, () -> run(1, "FINALIZED"));
+        cache.getPayslip(1L, 7L, () -> payslip(1, 7, "FINALIZED"));
+        cache.getPayslip(12L, 7L, () -> payslip(12, 7, "PAID"));
+
+        cache.onStatusChanged(new PayrollRunStatusChangedEvent(1L, 1, 2026, "FINALIZED", "PAID"));
+
+        assertNull(cache.getRun(1, 2026, () -> null));
+        assertNull(cache.getPayslip(1L, 7L, () -> null));
+        // Run 12 shares the "1" prefix but is a different run
+        assertNotNull(cache.getPayslip(12L, 7L, () -> null));
+    }
+
+    @Test
+    void aRunLoadedWhileItsStatusChangesIsNotCached() {
+        PayrollRun loaded = cache.getRun(1, 2026, () -> {
+            cache.onStatusChanged(new PayrollRunStatusChangedEvent(1L, 1, 2026, "FINALIZED", "PAID"));
+            return run(1, "FINALIZED"); // Read before the change committed
+        });
+
+        assertEquals("FINALIZED", loaded.getStatus());
+        assertNull(cache.getRun(1, 2026, () -> null));
+    }
+
+    @Test
+    void leastRecentlyUsedPayslipIsEvicted() {
+        cache.getPayslip(1L, 1L, () -> payslip(1, 1, "FINALIZED"));
+        cache.getPayslip(1L, 2L, () -> payslip(1, 2, "FINALIZED"));
+        cache.getPayslip(1L, 1L, () -> null);
+        cache.getPayslip(1L, 3L, () -> payslip(1, 3, "FINALIZED"));
+
+        assertNotNull(cache.getPayslip(1L, 1L, () -> null));
+        assertNull(cache.getPayslip(1L, 2L, () -> null));
+        assertEquals(1, cache.stats().get(1).getEvictions());
+    }
+}
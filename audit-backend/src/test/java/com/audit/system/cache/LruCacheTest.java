@@ -0,0 +1,45 @@
+package com.audit.system.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest {
+
+    private final LruCache<String, String> cache = new LruCache<>("test", 10);
+
+    @Test
+    void loadsAreCachedAndTheLeastRecentlyUsedIsEvicted() {
+        LruCache<String, String> small = new LruCache<>("small", 2);
+        small.getOrLoad("a", key -> "A");
+        small.getOrLoad("b", key -> "B");
+        small.get("a");
+        small.getOrLoad("c", key -> "C");
+
+        assertEquals("A", small.getOrLoad("a", key -> "stale"));
+        assertNull(small.get("b"));
+        assertEquals(1, small.stats().getEvictions());
+    }
+
+    @Test
+    void aLoadOverlappingAnInvalidationIsReturnedButNotCached() {
+        assertEquals("old", cache.getOrLoad("run-1", key -> {
+            cache.invalidate(key); // The data changed while the loader was reading it
+            return "old";
+        }));
+        assertNull(cache.get("run-1"));
+
+        assertEquals("old", cache.getOrLoad("run-2", key -> {
+            cache.invalidateIf(k -> k.startsWith("run-"));
+            return "old";
+        }));
+        assertEquals("old", cache.getOrLoad("run-3", key -> {
+            cache.clear();
+            return "old";
+        }));
+        assertEquals(0, cache.size());
+
+        assertEquals("new", cache.getOrLoad("run-1", key -> "new"));
+        assertEquals("new", cache.get("run-1"));
+    }
+}
@@ -0,0 +1,38 @@
+package com.audit.system.controller;
+
+import com.audit.system.export.BankCreditCsvFormat;
+import com.audit.system.export.PayrollExportService;
+import com.audit.system.model.PayrollRun;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PayrollExportControllerTest {
+
+    private final PayrollExportService exportService = mock(PayrollExportService.class);
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new PayrollExportController(exportService)).build();
+
+    @Test
+    void draftRunIsAConflictAndMissingRunIsNotFound() throws Exception {
+        PayrollRun draft = new PayrollRun();
+        draft.setId(1L);
+        when(exportService.getFormat("bank-csv")).thenReturn(Optional.of(new BankCreditCsvFormat()));
+        when(exportService.findRun(1L)).thenReturn(Optional.of(draft));
+        when(exportService.findRun(2L)).thenReturn(Optional.empty());
+        when(exportService.isExportable(draft)).thenReturn(false);
+
+        mvc.perform(get("/api/payroll/runs/1/exports/bank-csv")).andExpect(status().isConflict());
+        mvc.perform(post("/api/payroll/runs/1/exports/bank-csv/file")).andExpect(status().isConflict());
+        mvc.perform(get("/api/payroll/runs/2/exports/bank-csv")).andExpect(status().isNotFound());
+        verify(exportService, never()).export(any(), any(), any());
+        verify(exportService, never()).exportToFile(any(), any());
+    }
+}
@@ -0,0 +1,58 @@
+package com.audit.system.export;
+
+import com.audit.system.model.PayrollRun;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayrollExportFormatTest {
+
+    private static PayrollRun run() {
+        PayrollRun run = new PayrollRun();
+        run.setId(1L);
+        run.setMonth(3);
+        run.setYear(2026);
+        return run;
+    }
+
+    private static PayrollExportRow row() {
+        PayrollExportRow row = new PayrollExportRow();
+        row.setEmployeeCode("EMP001");
+        row.setFullName("Ahmad, Bin Ali");
+        row.setIdentityNo("900101-14-5678");
+        row.setEpfNo("12345678");
+        row.setBankName("Maybank");
+        row.setBankAccountNo("1122334455");
+        row.setEpfWages(new BigDecimal("5000.00"));
+        row.setEpfEmployee(new BigDecimal("550.00"));
+        row.setEpfEmployer(new BigDecimal("650.00"));
+        row.setNetPay(new BigDecimal("4200.50"));
+        return row;
+    }
+
+    @Test
+    void epfLineIsFixedWidthWithAmountsInSen() {
+        EpfContributionFormat format = new EpfContributionFormat();
+        String line = format.line(row());
+
+        assertEquals(1 + 19 + 15 + 40 + 15 + 12 + 12, line.length());
+        assertTrue(line.startsWith("D12345678           900101145678   AHMAD, BIN ALI"));
+        assertTrue(line.endsWith("000000500000000000065000000000055000"));
+        assertEquals(0, new BigDecimal("1200.00").compareTo(format.amountOf(row())));
+        assertEquals("T0000001000000000120000", format.trailer(run(), 1, new BigDecimal("1200.00")));
+    }
+
+    @Test
+    void bankCsvQuotesNamesAndSkipsEmployeesWithoutAccount() {
+        BankCreditCsvFormat format = new BankCreditCsvFormat();
+        PayrollExportRow row = row();
+
+        assertEquals("EMP001,\"Ahmad, Bin Ali\",900101-14-5678,Maybank,1122334455,4200.50,SALARY EMP001", format.line(row));
+        assertEquals("bank_credit_202603.csv", format.getFileName(run()));
+
+        row.setBankAccountNo(null);
+        assertFalse(format.includes(row));
+    }
+}
@@ -0,0 +1,41 @@
+package com.audit.system.export;
+
+import com.audit.system.model.PayrollRun;
+import com.audit.system.repository.PayrollRunRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PayrollExportServiceTest {
+
+    private final PayrollExportRepository exportRepository = mock(PayrollExportRepository.class);
+    private final PayrollExportService service = new PayrollExportService(mock(PayrollRunRepository.class),
+            exportRepository, List.of(new BankCreditCsvFormat()));
+
+    private static PayrollRun run(String status) {
+        PayrollRun run = new PayrollRun();
+        run.setId(1L);
+        run.setMonth(3);
+        run.setYear(2026);
+        run.setStatus(status);
+        return run;
+    }
+
+    @Test
+    void draftRunsAreNotExported() {
+        PayrollRun draft = run("DRAFT");
+
+        assertFalse(service.isExportable(draft));
+        assertTrue(service.isExportable(run("FINALIZED")));
+        assertTrue(service.isExportable(run("PAID")));
+        assertThrows(IllegalStateException.class,
+                () -> service.export(draft, new BankCreditCsvFormat(), new ByteArrayOutputStream()));
+        assertThrows(IllegalStateException.class, () -> service.exportToFile(draft, new BankCreditCsvFormat()));
+        verify(exportRepository, never()).streamRows(anyLong(), any());
+    }
+}
@@ -0,0 +1,60 @@
+package com.audit.system.service;
+
+import com.audit.system.dto.AuditLogPageDTO;
+import com.audit.system.model.AuditLog;
+import com.audit.system.repository.AuditLogRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditHistoryServiceTest {
+
+    private final AuditLogRepository auditLogRepository = mock(AuditLogRepository.class);
+    private final AuditHistoryService service = new AuditHistoryService(auditLogRepository);
+
+    private static AuditLog log(long id, LocalDateTime changedAt) {
+        AuditLog log = new AuditLog();
+        log.setId(id);
+        log.setTableName("employees");
+        log.setRecordId(7L);
+        log.setChangedAt(changedAt);
+        return log;
+    }
+
+    @Test
+    void pagesContinueFromTheLastRowsTimestampAndId() {
+        LocalDateTime t = LocalDateTime.of(2026, 3, 1, 9, 0, 0, 123_456_000);
+        when(auditLogRepository.findByTableNameAndRecordIdOrderByChangedAtDescIdDesc(eq("employees"), eq(7L),
+                argThat((Limit l) -> l.max() == 3)))
+                .thenReturn(List.of(log(30, t), log(20, t), log(10, t.minusDays(1))));
+
+        AuditLogPageDTO first = service.findRecordHistory("employees", 7L, null, null, 2);
+        assertEquals(2, first.getItems().size());
+        assertTrue(first.isHasMore());
+        assertEquals("2026-03-01T09:00:00.123456_20", first.getNextCursor());
+
+        when(auditLogRepository.findRecordHistoryBefore(eq("employees"), eq(7L), eq(t), eq(20L),
+                argThat((Limit l) -> l.max() == 3)))
+                .thenReturn(List.of(log(10, t.minusDays(1))));
+        AuditLogPageDTO second = service.findRecordHistory("employees", 7L, first.getNextCursor(), null, 2);
+        assertEquals(1, second.getItems().size());
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void beforeStartsTheTableHistoryAtAPointInTime() {
+        LocalDateTime before = LocalDateTime.of(2024, 1, 1, 0, 0);
+        when(auditLogRepository.findTableHistoryBefore(eq("grades"), eq(before), eq(Long.MAX_VALUE), any()))
+                .thenReturn(List.of());
+
+        assertTrue(service.findTableHistory("grades", null, before, 50).getItems().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> service.findTableHistory("grades", "garbage", null, 50));
+    }
+}
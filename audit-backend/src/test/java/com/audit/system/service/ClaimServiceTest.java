@@ -0,0 +1,149 @@
+package com.audit.system.service;
+
+import com.audit.system.dto.ClaimBatchResultDTO;
+import com.audit.system.dto.ClaimDecisionDTO;
+import com.audit.system.dto.VehicleLimitDTO;
+import com.audit.system.model.SalaryComponent;
+import com.audit.system.model.SalaryComponentType;
+import com.audit.system.repository.AuditLogJdbcRepository;
+import com.audit.system.repository.ClaimJdbcRepository;
+import com.audit.system.repository.EmployeeRepository;
+import com.audit.system.repository.EmployeeVehicleRepository;
+import com.audit.system.repository.SalaryComponentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ClaimServiceTest {
+
+    private final ClaimJdbcRepository claimJdbcRepository = mock(ClaimJdbcRepository.class);
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final EmployeeVehicleRepository vehicleRepository = mock(EmployeeVehicleRepository.class);
+    private final SalaryComponentRepository salaryComponentRepository = mock(SalaryComponentRepository.class);
+    private final AuditLogJdbcRepository auditLogJdbcRepository = mock(AuditLogJdbcRepository.class);
+    private final ClaimService claimService = new ClaimService(claimJdbcRepository, employeeRepository,
+            vehicleRepository, salaryComponentRepository, auditLogJdbcRepository,
+            new ObjectMapper().findAndRegisterModules());
+
+    private static SalaryComponent claimComponent(String code) {
+        SalaryComponent component = new SalaryComponent();
+        component.setCode(code);
+        component.setType(SalaryComponentType.CLAIM);
+        return component;
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(employeeRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L));
+        when(vehicleRepository.findLimitsByIdIn(anyCollection())).thenReturn(List.of(
+                new VehicleLimitDTO(7L, 1L, new BigDecimal("200.00"), true)));
+        when(salaryComponentRepository.findByType(SalaryComponentType.CLAIM)).thenReturn(List.of(
+                claimComponent("CLAIM_MED"), claimComponent("CLAIM_FUEL"), claimComponent("CLAIM_TOLL")));
+        when(claimJdbcRepository.batchInsert(anyList())).thenAnswer(inv -> {
+            List<?> claims = inv.getArgument(0);
+            return LongStream.rangeClosed(101, 100 + claims.size()).boxed().toList();
+        });
+    }
+
+    @Test
+    void csvRowsAreValidatedAgainstPreloadedVehiclesAndInsertedAsOneBatch() throws Exception {
+        String csv = "employeeId,claimType,amount,claimDate,vehicleId,description\n"
+                + "1,fuel,150.00,2026-01-03,7,\"Site visit, Cyberjaya\"\n"
+                + "1,FUEL,80.00,2026-01-09,7,Over the monthly limit\n"
+                + "2,FUEL,30.00,2026-01-09,7,Someone else's vehicle\n"
+                + "2,MEDICAL,65.00,2026-01-10,,Clinic\n"
+                + "9,TOLL,12.00,2026-01-10,,Unknown employee\n"
+                + "1,TOLL,not-a-number,2026-01-10,,Broken row\n";
+
+        ClaimBatchResultDTO result = claimService.submitCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "hr.admin");
+
+        assertEquals(2, result.getProcessed());
+        assertEquals(List.of(101L, 102L), result.getClaimIds());
+        assertEquals(4, result.getErrors().size());
+        assertTrue(result.getErrors().stream().anyMatch(e -> e.startsWith("row 2: fuel claims for vehicle 7 exceed")));
+        assertTrue(result.getErrors().stream().anyMatch(e -> e.startsWith("row 6: unreadable")));
+        verify(claimJdbcRepository, times(1)).batchInsert(argThat(claims -> claims.size() == 2
+                && "FUEL".equals(claims.get(0).getClaimType())
+                && "Site visit, Cyberjaya".equals(claims.get(0).getDescription())));
+        verify(employeeRepository, times(1)).findExistingIds(anyCollection());
+        verify(vehicleRepository, times(1)).findLimitsByIdIn(anyCollection());
+        verify(auditLogJdbcRepository, times(1)).insert(eq("claims"), eq(101L), eq("INSERT"), isNull(), anyString(),
+                eq("hr.admin"));
+    }
+
+    @Test
+    void decisionsNeedIdsOrAFilter() {
+        assertThrows(IllegalArgumentException.class, () -> claimService.approve(new ClaimDecisionDTO()));
+
+        ClaimDecisionDTO decision = new ClaimDecisionDTO();
+        decision.setIds(List.of(5L, 6L, 7L));
+        decision.setDecidedBy("manager");
+        when(claimJdbcRepository.decideByIds(decision.getIds(), "APPROVED", "manager")).thenReturn(List.of(5L, 7L));
+
+        ClaimBatchResultDTO result = claimService.approve(decision);
+        assertEquals(2, result.getProcessed());
+        verify(auditLogJdbcRepository, times(1)).insert(eq("claims"), eq(5L), eq("UPDATE"), isNull(), anyString(),
+                eq("manager"));
+    }
+
+    @Test
+    void claimTypesWithoutAClaimComponentAreRejected() throws Exception {
+        String csv = "employeeId,claimType,amount,claimDate\n"
+                + "2,medical,65.00,2026-01-10\n"
+                + "2,PARKING,8.00,2026-01-10\n";
+
+        ClaimBatchResultDTO result = claimService.submitCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "hr.admin");
+
+        assertEquals(1, result.getProcessed());
+        assertEquals(List.of("row 2: claim type PARKING has no CLAIM_PARKING component"), result.getErrors());
+    }
+
+    @Test
+    void jsonElementsThatAreNotObjectsAreRowErrorsAndLaterClaimsStillCount() throws Exception {
+        String claim = "{\"employeeId\":2,\"claimType\":\"TOLL\",\"amount\":12.00,\"claimDate\":\"2026-01-10\"}";
+        String json = "[" + claim + ", null, 5, [" + claim + "], " + claim + "]";
+
+        ClaimBatchResultDTO result = claimService.submitJson(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "hr.admin");
+
+        assertEquals(2, result.getProcessed());
+        assertEquals(3, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("row 2: not a claim object"));
+        assertTrue(result.getErrors().get(2).startsWith("row 4: not a claim object"));
+    }
+
+    @Test
+    void malformedJsonAfterAFullBatchFailsTheWholeSubmission() throws Exception {
+        String rows = IntStream.rangeClosed(1, 1001)
+                .mapToObj(i -> "{\"employeeId\":1,\"claimType\":\"TOLL\",\"amount\":1.00,\"claimDate\":\"2026-01-10\"}")
+                .collect(Collectors.joining(","));
+        InputStream in = new ByteArrayInputStream(("[" + rows + ",{\"amount\":\"oops\"}]").getBytes(StandardCharsets.UTF_8));
+
+        // The first 1000 rows were already inserted when the bad element is read ...
+        assertThrows(JsonProcessingException.class, () -> claimService.submitJson(in, "hr.admin"));
+        verify(claimJdbcRepository, times(1)).batchInsert(anyList());
+        // ... so the checked exception must roll back the transaction too
+        for (String method : List.of("submitJson", "submitCsv")) {
+            Transactional tx = ClaimService.class.getMethod(method, InputStream.class, String.class)
+                    .getAnnotation(Transactional.class);
+            assertArrayEquals(new Class<?>[] {Exception.class}, tx.rollbackFor(), method);
+        }
+    }
+}
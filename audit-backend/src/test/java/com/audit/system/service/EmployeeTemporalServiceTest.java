@@ -0,0 +1,110 @@
+package com.audit.system.service;
+
+import com.audit.system.audit.AuditSnapshot;
+import com.audit.system.cache.EmployeeStateCache;
+import com.audit.system.dto.EmployeeStateDTO;
+import com.audit.system.model.AuditLog;
+import com.audit.system.repository.AuditSnapshotJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EmployeeTemporalServiceTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private final AuditSnapshotJdbcRepository snapshotRepository = mock(AuditSnapshotJdbcRepository.class);
+    private final EmployeeTemporalService service = new EmployeeTemporalService(snapshotRepository,
+            new EmployeeStateCache(100), new ObjectMapper(), 2, 300, 2);
+
+    private static AuditLog event(long id, String table, long recordId, String action, String newValues) {
+        AuditLog log = new AuditLog();
+        log.setId(id);
+        log.setChainSeq(id);
+        log.setTableName(table);
+        log.setRecordId(recordId);
+        log.setAction(action);
+        log.setNewValues(newValues);
+        log.setChangedAt(T.plusDays(id));
+        return log;
+    }
+
+    @Test
+    void replaysRowsSnapshotsEveryMaxReplayEventsAndMemoises() {
+        LocalDateTime asOf = T.plusMonths(1);
+        when(snapshotRepository.findEvents(7L, null, asOf)).thenReturn(List.of(
+                event(1, "employees", 7, "INSERT", "{\"id\": 7, \"status\": \"PROBATION\"}"),
+                event(2, "employee_salary_structures", 10, "INSERT", "{\"id\": 10, \"employee_id\": 7, \"amount\": 4000}"),
+                event(3, "employee_salary_structures", 10, "UPDATE", "{\"id\": 10, \"employee_id\": 7, \"amount\": 4500}"),
+                event(4, "employee_salary_structures", 11, "INSERT", "{\"id\": 11, \"employee_id\": 7, \"amount\": 300}"),
+                event(5, "employee_salary_structures", 11, "DELETE", null),
+                event(6, "employees", 7, "UPDATE", "{\"id\": 7, \"status\": \"PERMANENT\"}")));
+
+        EmployeeStateDTO state = service.getStateAsOf(7L, asOf);
+        service.getStateAsOf(7L, asOf);
+
+        assertEquals("PERMANENT", state.getEmployee().get("status"));
+        assertEquals(1, state.getSalaryStructures().size());
+        assertEquals(4500, state.getSalaryStructures().get(0).get("amount"));
+        assertEquals(6, state.getEventsReplayed());
+        verify(snapshotRepository, times(1)).findEvents(anyLong(), any(), any());
+        verify(snapshotRepository, times(3)).save(any());
+        verify(snapshotRepository).save(argThat(s -> s.getAsOfSeq() == 4L
+                && s.getState().contains("\"11\"") && s.getState().contains("4500")));
+    }
+
+    @Test
+    void replayStartsFromTheLatestSnapshot() {
+        LocalDateTime asOf = T.plusDays(10);
+        AuditSnapshot snapshot = new AuditSnapshot(7L, 4L, T.plusDays(4),
+                "{\"employee\": {\"id\": 7, \"status\": \"PROBATION\"}, \"structures\": {\"10\": {\"id\": 10, \"employee_id\": 7}}}");
+        when(snapshotRepository.findLatest(7L, asOf)).thenReturn(snapshot);
+        when(snapshotRepository.findEvents(7L, snapshot, asOf)).thenReturn(List.of(
+                event(5, "employee_salary_structures", 10, "DELETE", null)));
+
+        EmployeeStateDTO state = service.getStateAsOf(7L, asOf);
+
+        assertEquals("PROBATION", state.getEmployee().get("status"));
+        assertTrue(state.getSalaryStructures().isEmpty());
+        assertEquals(T.plusDays(4), state.getSnapshotAt());
+        assertEquals(1, state.getEventsReplayed());
+    }
+
+    @Test
+    void noSnapshotAtOrPastAnEntryTheReplaySkips() {
+        LocalDateTime asOf = T.plusDays(3);
+        // Entry 2 changed after asOf but committed before entries 3 and 4
+        when(snapshotRepository.findFirstSeqAfter(7L, 0L, asOf)).thenReturn(OptionalLong.of(2L));
+        when(snapshotRepository.findEvents(7L, null, asOf)).thenReturn(List.of(
+                event(1, "employees", 7, "INSERT", "{\"id\": 7, \"status\": \"PROBATION\"}"),
+                event(3, "employees", 7, "UPDATE", "{\"id\": 7, \"status\": \"PERMANENT\"}")));
+
+        EmployeeStateDTO state = service.getStateAsOf(7L, asOf);
+
+        assertEquals("PERMANENT", state.getEmployee().get("status"));
+        verify(snapshotRepository, never()).save(any());
+    }
+
+    @Test
+    void chainedEntriesDropTheEmployeesCachedStates() {
+        LocalDateTime asOf = T.plusMonths(1);
+        when(snapshotRepository.findEvents(7L, null, asOf)).thenReturn(List.of(
+                event(1, "employees", 7, "INSERT", "{\"id\": 7, \"status\": \"PROBATION\"}")));
+        when(snapshotRepository.findChainHead()).thenReturn(1L, 2L);
+        when(snapshotRepository.findEmployeesChangedBetween(1L, 2L)).thenReturn(List.of(7L));
+
+        service.invalidateChanged();
+        service.getStateAsOf(7L, asOf);
+        service.invalidateChanged();
+        service.getStateAsOf(7L, asOf);
+
+        verify(snapshotRepository, times(2)).findEvents(anyLong(), any(), any());
+    }
+}
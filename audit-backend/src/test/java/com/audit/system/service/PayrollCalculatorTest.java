@@ -0,0 +1,239 @@
+package com.audit.system.service;
+
+import com.audit.system.dto.ClaimEntryDTO;
+import com.audit.system.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayrollCalculatorTest {
+
+    private static final SalaryComponentType[] TYPES = SalaryComponentType.values();
+
+    private static EmployeeSalaryStructure structure(Employee emp, SalaryComponentType type, BigDecimal amount) {
+        SalaryComponent component = new SalaryComponent();
+        component.setType(type);
+        EmployeeSalaryStructure s = new EmployeeSalaryStructure();
+        s.setEmployee(emp);
+        s.setComponent(component);
+        s.setAmount(amount);
+        return s;
+    }
+
+    // The BigDecimal chain the calculator used before switching to sen, with claims added to net
+    private static BigDecimal referenceNet(List<EmployeeSalaryStructure> components) {
+        BigDecimal gross = BigDecimal.ZERO;
+        BigDecimal deductions = BigDecimal.ZERO;
+        BigDecimal claims = BigDecimal.ZERO;
+        for (EmployeeSalaryStructure s : components) {
+            SalaryComponentType type = s.getComponent().getType();
+            if (type == SalaryComponentType.EARNING) {
+                gross = gross.add(s.getAmount());
+            } else if (type == SalaryComponentType.DEDUCTION || type == SalaryComponentType.STATUTORY_DEDUCTION) {
+                deductions = deductions.add(s.getAmount());
+            } else if (type == SalaryComponentType.CLAIM) {
+                claims = claims.add(s.getAmount());
+            }
+        }
+        return gross.subtract(deductions).add(claims);
+    }
+
+    @Test
+    void totalsMatchBigDecimalArithmeticIncludingScale() {
+        Random random = new Random(7);
+        for (int scale : new int[] {0, 1, 2}) {
+            PayrollCalculator calculator = new PayrollCalculator(new PayrollRun());
+            BigDecimal reference = BigDecimal.ZERO;
+            for (long id = 1; id <= 5000; id++) {
+                Employee emp = new Employee();
+                emp.setId(id);
+                List<EmployeeSalaryStructure> components = new ArrayList<>();
+                for (int c = 0; c < 1 + random.nextInt(8); c++) {
+                    BigDecimal amount = BigDecimal.valueOf(random.nextInt(2_000_000), 2).setScale(scale, RoundingMode.DOWN);
+                    components.add(structure(emp, TYPES[random.nextInt(TYPES.length)], amount));
+                }
+                reference = reference.add(referenceNet(components));
+                calculator.calculate(emp, components);
+                assertEquals(Sen.of(referenceNet(components)), calculator.getNetSen((int) id - 1));
+            }
+            assertEquals(reference, calculator.getTotalPayout());
+            assertEquals(reference.scale(), calculator.getTotalPayout().scale());
+        }
+    }
+
+    @Test
+    void rejectsAmountsBelowOneSen() {
+        Employee emp = new Employee();
+        emp.setId(1L);
+        PayrollCalculator calculator = new PayrollCalculator(new PayrollRun());
+        assertThrows(ArithmeticException.class, () -> calculator.calculate(emp,
+                List.of(structure(emp, SalaryComponentType.EARNING, new BigDecimal("10.005")))));
+    }
+
+    @Test
+    void overflowIsDetected() {
+        assertThrows(ArithmeticException.class, () -> Sen.add(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Sen.percent(Long.MAX_VALUE / 100, 1100, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void malaysianRounding() {
+        // Cash rounding to 5 sen
+        assertEquals(1000, Sen.roundToFiveSen(1002));
+        assertEquals(1005, Sen.roundToFiveSen(1003));
+        assertEquals(1005, Sen.roundToFiveSen(1007));
+        assertEquals(1010, Sen.roundToFiveSen(1008));
+        // EPF rounds up to the ringgit
+        assertEquals(55100, Sen.roundUpToRinggit(55001));
+        assertEquals(55000, Sen.roundUpToRinggit(55000));
+        // 11% of RM 5,000.50 = RM 550.0550 -> 550.06 (half up)
+        assertEquals(55006, Sen.percent(500050, 1100, RoundingMode.HALF_UP));
+        assertEquals(-4, Sen.divide(-7, 2, RoundingMode.HALF_UP));
+        assertEquals(-3, Sen.divide(-7, 2, RoundingMode.CEILING));
+    }
+
+    @Test
+    void zakatIsTakenFromTheSettingUnlessSetExplicitly() {
+        SalaryComponent zakat = new SalaryComponent();
+        zakat.setCode(PayrollCalculator.ZAKAT_CODE);
+        zakat.setType(SalaryComponentType.DEDUCTION);
+        Map<String, SalaryComponent> components = Map.of(PayrollCalculator.ZAKAT_CODE, zakat);
+
+        Employee percent = new Employee();
+        percent.setId(1L);
+        Employee fixed = new Employee();
+        fixed.setId(2L);
+        Employee explicit = new Employee();
+        explicit.setId(3L);
+        Map<Long, EmployeeZakatSetting> settings = Map.of(
+                1L, setting(ZakatDeductionType.PERCENTAGE, "2.50"),
+                2L, setting(ZakatDeductionType.FIXED_AMOUNT, "80"),
+                3L, setting(ZakatDeductionType.FIXED_AMOUNT, "80"));
+
+        PayrollCalculator calculator = new PayrollCalculator(new PayrollRun(), null, components, settings, Map.of());
+        List<PayrollItem> items = calculator.calculate(percent,
+                List.of(structure(percent, SalaryComponentType.EARNING, new BigDecimal("5000.00"))));
+        assertEquals(2, items.size());
+        assertEquals(new BigDecimal("125.00"), items.get(1).getAmount());
+        assertEquals(new BigDecimal("5000.00"), items.get(1).getCalculationBase());
+        assertEquals(new BigDecimal("2.50"), items.get(1).getCalculationRate());
+
+        items = calculator.calculate(fixed,
+                List.of(structure(fixed, SalaryComponentType.EARNING, new BigDecimal("3000.00"))));
+        assertEquals(new BigDecimal("80.00"), items.get(1).getAmount());
+
+        EmployeeSalaryStructure explicitZakat = structure(explicit, SalaryComponentType.DEDUCTION, new BigDecimal("50.00"));
+        explicitZakat.setComponent(zakat);
+        items = calculator.calculate(explicit,
+                List.of(structure(explicit, SalaryComponentType.EARNING, new BigDecimal("3000.00")), explicitZakat));
+        assertEquals(2, items.size());
+
+        // 4875.00 + 2920.00 + 2950.00
+        assertEquals(new BigDecimal("10745.00"), calculator.getTotalPayout());
+    }
+
+    private static EmployeeZakatSetting setting(ZakatDeductionType type, String amountOrRate) {
+        EmployeeZakatSetting setting = new EmployeeZakatSetting();
+        setting.setZakatBody("Pusat Zakat Selangor");
+        setting.setDeductionType(type);
+        setting.setAmountOrRate(new BigDecimal(amountOrRate));
+        setting.setEffectiveStartDate(LocalDate.of(2024, 1, 1));
+        return setting;
+    }
+
+    @Test
+    void claimsArePaidOnTopOfNetWithFuelCappedPerVehicle() {
+        Map<String, SalaryComponent> components = new HashMap<>();
+        for (String code : new String[] {"CLAIM_FUEL", "CLAIM_MED"}) {
+            SalaryComponent c = new SalaryComponent();
+            c.setCode(code);
+            c.setType(SalaryComponentType.CLAIM);
+            components.put(code, c);
+        }
+        Employee emp = new Employee();
+        emp.setId(1L);
+        BigDecimal limit = new BigDecimal("200.00");
+        Map<Long, List<ClaimEntryDTO>> claims = Map.of(1L, List.of(
+                new ClaimEntryDTO(10L, 1L, "FUEL", new BigDecimal("150.00"), LocalDate.of(2026, 1, 3), 7L, limit),
+                new ClaimEntryDTO(11L, 1L, "FUEL", new BigDecimal("120.00"), LocalDate.of(2026, 1, 9), 7L, limit),
+                new ClaimEntryDTO(12L, 1L, "MEDICAL", new BigDecimal("80.00"), LocalDate.of(2026, 1, 12), null, null),
+                new ClaimEntryDTO(13L, 1L, "INTERNET", new BigDecimal("99.00"), LocalDate.of(2026, 1, 15), null, null)));
+
+        PayrollCalculator calculator = new PayrollCalculator(new PayrollRun(), null, components, Map.of(), claims);
+        List<PayrollItem> items = calculator.calculate(emp,
+                List.of(structure(emp, SalaryComponentType.EARNING, new BigDecimal("3000.00"))));
+
+        // Second fuel claim only gets what is left of the RM200 limit; INTERNET has no component
+        assertEquals(4, items.size());
+        assertEquals(new BigDecimal("50.00"), items.get(2).getAmount());
+        assertEquals(new BigDecimal("120.00"), items.get(2).getCalculationBase());
+        assertEquals(List.of(10L, 11L, 12L), calculator.getPaidClaimIds());
+        assertEquals(300_000, calculator.getGrossSen(0));
+        assertEquals(new BigDecimal("3280.00"), calculator.getTotalPayout());
+    }
+
+    @Test
+    void fuelClaimsPastAnUsedUpLimitAreNeitherItemisedNorPaid() {
+        SalaryComponent fuel = new SalaryComponent();
+        fuel.setCode("CLAIM_FUEL");
+        fuel.setType(SalaryComponentType.CLAIM);
+        Employee emp = new Employee();
+        emp.setId(1L);
+        BigDecimal limit = new BigDecimal("200.00");
+        Map<Long, List<ClaimEntryDTO>> claims = Map.of(1L, List.of(
+                new ClaimEntryDTO(10L, 1L, "FUEL", new BigDecimal("200.00"), LocalDate.of(2026, 1, 3), 7L, limit),
+                new ClaimEntryDTO(11L, 1L, "FUEL", new BigDecimal("40.00"), LocalDate.of(2026, 1, 9), 7L, limit)));
+
+        PayrollCalculator calculator = new PayrollCalculator(new PayrollRun(), null, Map.of("CLAIM_FUEL", fuel),
+                Map.of(), claims);
+        List<PayrollItem> items = calculator.calculate(emp,
+                List.of(structure(emp, SalaryComponentType.EARNING, new BigDecimal("3000.00"))));
+
+        assertEquals(2, items.size());
+        assertTrue(items.stream().noneMatch(i -> i.getAmount().signum() == 0));
+        assertEquals(List.of(10L), calculator.getPaidClaimIds());
+        assertEquals(new BigDecimal("3200.00"), calculator.getTotalPayout());
+    }
+
+    @Test
+    void claimsOfEmployeesWithoutComponentsArePaidOnTheirOwn() {
+        SalaryComponent medical = new SalaryComponent();
+        medical.setCode("CLAIM_MED");
+        medical.setType(SalaryComponentType.CLAIM);
+        Employee withSalary = new Employee();
+        withSalary.setId(1L);
+        Employee claimsOnly = new Employee();
+        claimsOnly.setId(2L);
+        Map<Long, List<ClaimEntryDTO>> claims = Map.of(
+                1L, List.of(new ClaimEntryDTO(10L, 1L, "MEDICAL", new BigDecimal("80.00"),
+                        LocalDate.of(2026, 1, 3), null, null)),
+                2L, List.of(new ClaimEntryDTO(20L, 2L, "MEDICAL", new BigDecimal("45.50"),
+                        LocalDate.of(2026, 1, 5), null, null)));
+
+        PayrollCalculator calculator = new PayrollCalculator(new PayrollRun(), null, Map.of("CLAIM_MED", medical),
+                Map.of(), claims);
+        calculator.calculate(withSalary,
+                List.of(structure(withSalary, SalaryComponentType.EARNING, new BigDecimal("3000.00"))));
+
+        // Employee 2 has no active structure, so the stream never reached them
+        assertEquals(List.of(2L), calculator.getUnvisitedClaimEmployeeIds());
+        List<PayrollItem> items = calculator.calculateClaims(claimsOnly);
+
+        assertEquals(1, items.size());
+        assertEquals(new BigDecimal("45.50"), items.get(0).getAmount());
+        assertEquals(List.of(10L, 20L), calculator.getPaidClaimIds());
+        assertEquals(0, calculator.getGrossSen(1));
+        assertEquals(4_550, calculator.getNetSen(1));
+        assertEquals(new BigDecimal("3125.50"), calculator.getTotalPayout());
+        assertEquals(List.of(), calculator.getUnvisitedClaimEmployeeIds());
+    }
+}
@@ -0,0 +1,126 @@
+package com.audit.system.service;
+
+import com.audit.system.dto.ClaimEntryDTO;
+import com.audit.system.model.*;
+import com.audit.system.repository.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollServiceTest {
+
+    @Mock
+    private PayrollRunRepository payrollRunRepository;
+
+    @Mock
+    private PayrollItemJdbcRepository payrollItemJdbcRepository;
+
+    @Mock
+    private ClaimJdbcRepository claimJdbcRepository;
+
+    @Mock
+    private ClaimRepository claimRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeSalaryStructureRepository salaryStructureRepository;
+
+    @Mock
+    private SalaryComponentRepository salaryComponentRepository;
+
+    @Mock
+    private EmployeeZakatSettingRepository zakatSettingRepository;
+
+    @Mock
+    private PayrollRunPartitionRepository partitionRepository;
+
+    @Mock
+    private PayrollMonthlySummaryRepository summaryRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PayrollMetrics payrollMetrics;
+
+    @InjectMocks
+    private PayrollService payrollService;
+
+    private static PayrollRun run(String status) {
+        PayrollRun run = new PayrollRun();
+        run.setId(1L);
+        run.setMonth(12);
+        run.setYear(2025);
+        run.setStatus(status);
+        return run;
+    }
+
+    @Test
+    void paidRunsAreNeitherRegeneratedNorRecalculated() {
+        when(payrollRunRepository.findByMonthAndYear(12, 2025)).thenReturn(Optional.of(run("PAID")));
+
+        RuntimeException full = assertThrows(RuntimeException.class, () -> payrollService.generatePayroll(12, 2025));
+        assertThrows(RuntimeException.class, () -> payrollService.recalculatePayroll(12, 2025));
+
+        assertEquals("Payroll for this month is already PAID.", full.getMessage());
+        verify(payrollItemJdbcRepository, never()).deleteByRun(anyLong());
+        verify(claimJdbcRepository, never()).releaseByRun(anyLong());
+    }
+
+    @Test
+    void finalizedRunsAreNotRegenerated() {
+        when(payrollRunRepository.findByMonthAndYear(12, 2025)).thenReturn(Optional.of(run("FINALIZED")));
+
+        assertThrows(RuntimeException.class, () -> payrollService.generatePayroll(12, 2025));
+        verify(payrollItemJdbcRepository, never()).deleteByRun(anyLong());
+    }
+
+    @Test
+    void claimsOfEmployeesWithoutAnActiveStructureArePaid() {
+        PayrollRun draft = run("DRAFT");
+        SalaryComponent medical = new SalaryComponent();
+        medical.setCode("CLAIM_MED");
+        medical.setType(SalaryComponentType.CLAIM);
+        Employee claimsOnly = new Employee();
+        claimsOnly.setId(5L);
+        when(payrollRunRepository.findByMonthAndYear(12, 2025)).thenReturn(Optional.of(draft));
+        when(payrollRunRepository.save(draft)).thenReturn(draft);
+        when(claimRepository.findPayableEntries(1L, LocalDate.of(2025, 12, 1), LocalDate.of(2025, 12, 31)))
+                .thenReturn(List.of(new ClaimEntryDTO(31L, 5L, "MEDICAL", new BigDecimal("45.50"),
+                        LocalDate.of(2025, 12, 8), null, null)));
+        when(salaryComponentRepository.findByType(SalaryComponentType.CLAIM)).thenReturn(List.of(medical));
+        // No employee has an active structure, so the stream is empty
+        when(salaryStructureRepository.streamActiveByDate(LocalDate.of(2025, 12, 31))).thenReturn(Stream.empty());
+        when(employeeRepository.getReferenceById(5L)).thenReturn(claimsOnly);
+        // flush() clears the batch after inserting it, so copy what was written
+        List<PayrollItem> inserted = new ArrayList<>();
+        doAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+                .when(payrollItemJdbcRepository).batchInsert(anyList());
+
+        PayrollRun result = payrollService.generatePayroll(12, 2025);
+
+        assertEquals(1, inserted.size());
+        assertEquals(5L, inserted.get(0).getEmployee().getId());
+        assertEquals(new BigDecimal("45.50"), inserted.get(0).getAmount());
+        verify(claimJdbcRepository).markPaid(1L, List.of(31L));
+        assertEquals(new BigDecimal("45.50"), result.getTotalPayout());
+        assertEquals(1, result.getEmployeeCount());
+    }
+}
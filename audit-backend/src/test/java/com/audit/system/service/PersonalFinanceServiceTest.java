@@ -1,19 +1,27 @@
 package com.audit.system.service;
 
+import com.audit.system.cache.FinanceSummaryCache;
+import com.audit.system.dto.PersonalFinanceSummaryDTO;
 import com.audit.system.model.PersonalFinance;
+import com.audit.system.repository.PersonalFinanceJdbcRepository;
 import com.audit.system.repository.PersonalFinanceRepository;
+import com.audit.system.repository.PersonalFinanceTotals;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class PersonalFinanceServiceTest {
@@ -21,6 +29,12 @@ class PersonalFinanceServiceTest {
     @Mock
     private PersonalFinanceRepository repository;
 
+    @Mock
+    private PersonalFinanceJdbcRepository jdbcRepository;
+
+    @Spy
+    private FinanceSummaryCache summaryCache = new FinanceSummaryCache(100);
+
     @InjectMocks
     private PersonalFinanceService service;
 
@@ -76,4 +90,51 @@ class PersonalFinanceServiceTest {
 
         assertEquals(BigDecimal.ZERO, average);
     }
+
+    @Test
+    void testSummary_OneAggregatePerUserUntilDelete() {
+        String email = "summary@example.com";
+        PersonalFinanceTotals totals = mock(PersonalFinanceTotals.class);
+        when(totals.getMonths()).thenReturn(2L);
+        when(totals.getTotalSurplus()).thenReturn(new BigDecimal("5300"));
+        when(totals.getLatestSavings()).thenReturn(new BigDecimal("12000"));
+        when(totals.getLatestGold()).thenReturn(null);
+        when(repository.findTotals(email)).thenReturn(totals);
+
+        PersonalFinanceSummaryDTO summary = service.getSummary(email);
+        service.getSummary(email);
+
+        assertEquals(new BigDecimal("12000"), summary.getNetWorth());
+        assertEquals(new BigDecimal("2650.00"), summary.getAvgMonthlySavings());
+        assertEquals(BigDecimal.ZERO, summary.getTotalGoldSavings());
+        verify(repository, times(1)).findTotals(email);
+
+        PersonalFinance record = new PersonalFinance();
+        record.setId(7L);
+        record.setUserEmail(email);
+        when(repository.findById(7L)).thenReturn(Optional.of(record));
+        service.deleteCalculation(7L);
+        service.getSummary(email);
+
+        verify(repository, times(2)).findTotals(email);
+    }
+
+    @Test
+    void testSaveCalculation_SingleUpsertAndSummaryInvalidated() {
+        String email = "save@example.com";
+        PersonalFinance finance = new PersonalFinance();
+        finance.setUserEmail(email);
+        finance.setYear(2026);
+        finance.setMonth(1);
+        PersonalFinance stored = new PersonalFinance();
+        stored.setId(3L);
+        stored.setUserEmail(email);
+        when(jdbcRepository.upsert(finance)).thenReturn(stored);
+
+        assertEquals(stored, service.saveCalculation(finance));
+        assertNotNull(finance.getCreatedAt());
+        verify(jdbcRepository, times(1)).upsert(finance);
+        verify(repository, never()).findByUserEmailAndYearAndMonth(anyString(), anyInt(), anyInt());
+        verify(summaryCache).invalidate(email);
+    }
 }
@@ -0,0 +1,96 @@
+package com.audit.system.service;
+
+import com.audit.system.dto.SalaryStructureEntryDTO;
+import com.audit.system.model.SalaryComponentType;
+import com.audit.system.repository.EmployeeSalaryStructureRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalaryStructureIndexTest {
+
+    @Mock
+    private EmployeeSalaryStructureRepository repository;
+
+    @InjectMocks
+    private SalaryStructureIndex index;
+
+    private static SalaryStructureEntryDTO entry(long id, long employeeId, String amount, String start, String end) {
+        return new SalaryStructureEntryDTO(id, employeeId, 1L, "BASIC", "Basic Salary", SalaryComponentType.EARNING,
+                new BigDecimal(amount), LocalDate.parse(start), end != null ? LocalDate.parse(end) : null);
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Employee 1 had a raise on 2025-07-01 (old record closed); employee 2 starts in 2026
+        when(repository.countActive()).thenReturn(3L);
+        when(repository.findAllActiveEntries()).thenReturn(Arrays.asList(
+                entry(1, 1, "5000", "2024-01-01", "2025-06-30"),
+                entry(2, 1, "5500", "2025-07-01", null),
+                entry(3, 2, "4000", "2026-01-01", null)));
+    }
+
+    @Test
+    void testFindActive_PicksRecordEffectiveOnDate() {
+        List<SalaryStructureEntryDTO> before = index.findActive(1L, LocalDate.of(2025, 6, 30));
+        List<SalaryStructureEntryDTO> after = index.findActive(1L, LocalDate.of(2025, 7, 1));
+
+        assertEquals(1, before.size());
+        assertEquals(new BigDecimal("5000"), before.get(0).getAmount());
+        assertEquals(1, after.size());
+        assertEquals(new BigDecimal("5500"), after.get(0).getAmount());
+
+        // Loaded once, then served from memory
+        verify(repository, times(1)).findAllActiveEntries();
+        verify(repository, never()).findActiveByEmployeeAndDate(any(), any());
+    }
+
+    @Test
+    void testFindAllActive_SkipsEmployeesWithoutActiveComponents() {
+        Map<Long, List<SalaryStructureEntryDTO>> active = index.findAllActive(LocalDate.of(2025, 12, 31));
+
+        assertEquals(1, active.size());
+        assertTrue(active.containsKey(1L));
+    }
+
+    @Test
+    void testUpsert_ClosingRecordReplacesIt() {
+        index.findActive(1L, LocalDate.of(2025, 7, 1)); // load
+
+        index.upsert(entry(2, 1, "5500", "2025-07-01", "2025-12-31"), true);
+        index.upsert(entry(4, 1, "6000", "2026-01-01", null), true);
+
+        assertEquals(new BigDecimal("5500"), index.findActive(1L, LocalDate.of(2025, 12, 31)).get(0).getAmount());
+        assertEquals(new BigDecimal("6000"), index.findActive(1L, LocalDate.of(2026, 1, 31)).get(0).getAmount());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testUpsert_CommittedWhileLoadingIsNotLost() {
+        // The structure commits after the snapshot was read, before the index is marked loaded
+        List<SalaryStructureEntryDTO> snapshot = repository.findAllActiveEntries();
+        when(repository.findAllActiveEntries()).thenAnswer(invocation -> {
+            index.upsert(entry(4, 2, "4200", "2026-02-01", null), true);
+            index.remove(1L, 1L);
+            return snapshot;
+        });
+
+        assertEquals(new BigDecimal("4200"), index.findActive(2L, LocalDate.of(2026, 2, 1)).get(1).getAmount());
+        assertTrue(index.findActive(1L, LocalDate.of(2025, 6, 30)).isEmpty());
+        assertEquals(3, index.size());
+    }
+}
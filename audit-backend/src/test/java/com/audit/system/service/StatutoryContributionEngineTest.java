@@ -0,0 +1,93 @@
+package com.audit.system.service;
+
+import com.audit.system.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatutoryContributionEngineTest {
+
+    private final StatutoryContributionEngine engine = new StatutoryContributionEngine();
+
+    private static SalaryComponent component(String code, SalaryComponentType type) {
+        SalaryComponent c = new SalaryComponent();
+        c.setCode(code);
+        c.setType(type);
+        return c;
+    }
+
+    @Test
+    void epfFollowsWageBandsAndRoundsUpToRinggit() {
+        assertEquals(0, engine.epfEmployee(1_000));
+        // RM4,980.01 - RM5,000 band: 11% / 13% of RM5,000
+        assertEquals(55_000, engine.epfEmployee(498_001));
+        assertEquals(55_000, engine.epfEmployee(500_000));
+        assertEquals(65_000, engine.epfEmployer(500_000));
+        // RM5,000.01 - RM5,100 band: 11% / 12% of RM5,100
+        assertEquals(56_100, engine.epfEmployee(500_001));
+        assertEquals(61_200, engine.epfEmployer(500_001));
+        // Above RM20,000 the exact percentage, rounded up: 11% of RM25,000.50 = 2,750.06 -> 2,751
+        assertEquals(275_100, engine.epfEmployee(2_500_050));
+    }
+
+    @Test
+    void socsoAndEisStopAtTheCeiling() {
+        assertEquals(2_975, engine.socsoEmployee(1_000_000));
+        assertEquals(10_415, engine.socsoEmployer(1_000_000));
+        assertEquals(1_190, engine.eisEmployee(1_000_000));
+        assertEquals(engine.socsoEmployee(600_000), engine.socsoEmployee(2_000_000));
+        assertEquals(0, engine.socsoEmployee(0));
+    }
+
+    @Test
+    void pcbUsesBracketsReliefAndRebate() {
+        // RM5,000 a month with RM550 EPF: chargeable RM47,000 -> RM1,320 a year -> RM110.00 a month
+        assertEquals(11_000, engine.pcb(500_000, 55_000));
+        assertEquals(0, new BigDecimal("6.00").compareTo(engine.pcbRate(500_000, 55_000)));
+        // RM3,000: chargeable RM23,040, tax RM91.20 is cancelled by the RM400 rebate
+        assertEquals(0, engine.pcb(300_000, 33_000));
+    }
+
+    @Test
+    void calculatorAddsStatutoryItemsUnlessSetExplicitly() {
+        Map<String, SalaryComponent> components = new HashMap<>();
+        for (String code : new String[] {"EPF_EE", "SOCSO_EE", "EIS_EE", "PCB"}) {
+            components.put(code, component(code, SalaryComponentType.STATUTORY_DEDUCTION));
+        }
+        components.put("EPF_ER", component("EPF_ER", SalaryComponentType.COMPANY_CONTRIBUTION));
+
+        SalaryComponent basic = component("BASIC", SalaryComponentType.EARNING);
+        basic.setTaxable(true);
+        basic.setEpfApplicable(true);
+        basic.setSocsoApplicable(true);
+        basic.setEisApplicable(true);
+
+        Employee emp = new Employee();
+        emp.setId(1L);
+        EmployeeSalaryStructure salary = new EmployeeSalaryStructure();
+        salary.setEmployee(emp);
+        salary.setComponent(basic);
+        salary.setAmount(new BigDecimal("5000.00"));
+        EmployeeSalaryStructure fixedPcb = new EmployeeSalaryStructure();
+        fixedPcb.setEmployee(emp);
+        fixedPcb.setComponent(components.get("PCB"));
+        fixedPcb.setAmount(new BigDecimal("200.00"));
+
+        PayrollCalculator calculator = new PayrollCalculator(new PayrollRun(), engine, components);
+        List<PayrollItem> items = calculator.calculate(emp, List.of(salary, fixedPcb));
+
+        // BASIC, explicit PCB, EPF_EE, EPF_ER, SOCSO_EE, EIS_EE (no generated PCB)
+        assertEquals(6, items.size());
+        PayrollItem epf = items.stream().filter(i -> "EPF_EE".equals(i.getComponent().getCode())).findFirst().orElseThrow();
+        assertEquals(new BigDecimal("550.00"), epf.getAmount());
+        assertEquals(new BigDecimal("5000.00"), epf.getCalculationBase());
+        assertEquals(new BigDecimal("11.00"), epf.getCalculationRate());
+        // 5000 - 200 (PCB) - 550 (EPF) - 24.75 (SOCSO) - 9.90 (EIS); employer EPF is not deducted
+        assertEquals(new BigDecimal("4215.35"), calculator.getTotalPayout());
+    }
+}
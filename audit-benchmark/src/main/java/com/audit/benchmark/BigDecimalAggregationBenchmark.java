@@ -0,0 +1,77 @@
+package com.audit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ways amounts are summed in the backend (loops over BigDecimal, stream reduce) against a
+ * parallel reduce and a sum over unscaled sen as longs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BigDecimalAggregationBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    private BigDecimal[] amounts;
+    private long[] sen;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        amounts = new BigDecimal[size];
+        sen = new long[size];
+        for (int i = 0; i < size; i++) {
+            // Amounts between 0.00 and 20,000.00 with scale 2, like NUMERIC(15,2) columns
+            long value = random.nextInt(2_000_000);
+            amounts[i] = BigDecimal.valueOf(value, 2);
+            sen[i] = value;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal loopAdd() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal streamReduce() {
+        return Arrays.stream(amounts).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal parallelStreamReduce() {
+        return Arrays.stream(amounts).parallel().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal unscaledLongSum() {
+        long total = 0;
+        for (BigDecimal amount : amounts) {
+            total = Math.addExact(total, amount.unscaledValue().longValueExact());
+        }
+        return BigDecimal.valueOf(total, 2);
+    }
+
+    @Benchmark
+    public BigDecimal primitiveLongSum() {
+        long total = 0;
+        for (long value : sen) {
+            total += value;
+        }
+        return BigDecimal.valueOf(total, 2);
+    }
+}
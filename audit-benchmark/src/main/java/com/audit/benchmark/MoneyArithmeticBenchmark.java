@@ -0,0 +1,79 @@
+package com.audit.benchmark;
+
+import com.audit.system.model.EmployeeSalaryStructure;
+import com.audit.system.model.SalaryComponentType;
+import com.audit.system.service.PayrollCalculator;
+import com.audit.system.service.Sen;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Net pay of a whole run with the former BigDecimal add/subtract chain against the sen (long)
+ * arithmetic PayrollCalculator uses now. Run with -prof gc to compare gc.alloc.rate.norm:
+ *
+ *   java -jar target/benchmarks.jar MoneyArithmetic -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+    @Param({"10000", "100000"})
+    private int employees;
+
+    private SyntheticPayrollData data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = SyntheticPayrollData.generate(employees, 42L);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalChain() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < employees; i++) {
+            BigDecimal gross = BigDecimal.ZERO;
+            BigDecimal deductions = BigDecimal.ZERO;
+            for (EmployeeSalaryStructure s : data.getStructures(i)) {
+                SalaryComponentType type = s.getComponent().getType();
+                if (PayrollCalculator.isEarning(type)) {
+                    gross = gross.add(s.getAmount());
+                } else if (PayrollCalculator.isDeduction(type)) {
+                    deductions = deductions.add(s.getAmount());
+                }
+            }
+            total = total.add(gross.subtract(deductions));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal senArithmetic() {
+        long total = 0;
+        int scale = 0;
+        for (int i = 0; i < employees; i++) {
+            long gross = 0;
+            long deductions = 0;
+            List<EmployeeSalaryStructure> structures = data.getStructures(i);
+            for (int j = 0; j < structures.size(); j++) {
+                EmployeeSalaryStructure s = structures.get(j);
+                SalaryComponentType type = s.getComponent().getType();
+                if (PayrollCalculator.isEarning(type)) {
+                    gross = Sen.add(gross, Sen.of(s.getAmount()));
+                    scale = Math.max(scale, s.getAmount().scale());
+                } else if (PayrollCalculator.isDeduction(type)) {
+                    deductions = Sen.add(deductions, Sen.of(s.getAmount()));
+                    scale = Math.max(scale, s.getAmount().scale());
+                }
+            }
+            total = Sen.add(total, Sen.subtract(gross, deductions));
+        }
+        return Sen.toBigDecimal(total, scale);
+    }
+}
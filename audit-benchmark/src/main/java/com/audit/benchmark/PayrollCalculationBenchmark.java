@@ -0,0 +1,49 @@
+package com.audit.benchmark;
+
+import com.audit.system.model.Employee;
+import com.audit.system.model.PayrollRun;
+import com.audit.system.service.PayrollCalculator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Net-pay computation of a whole run as PayrollService does it: one PayrollCalculator fed employee
+ * by employee with their active structures. Loading and persisting are not part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PayrollCalculationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int employees;
+
+    private SyntheticPayrollData data;
+    private PayrollRun run;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = SyntheticPayrollData.generate(employees, 42L);
+        run = new PayrollRun();
+        run.setId(1L);
+        run.setMonth(1);
+        run.setYear(2026);
+    }
+
+    @Benchmark
+    public BigDecimal computeRun(Blackhole blackhole) {
+        PayrollCalculator calculator = new PayrollCalculator(run);
+        List<Employee> list = data.getEmployees();
+        for (int i = 0; i < list.size(); i++) {
+            blackhole.consume(calculator.calculate(list.get(i), data.getStructures(i)));
+        }
+        return calculator.getTotalPayout();
+    }
+}
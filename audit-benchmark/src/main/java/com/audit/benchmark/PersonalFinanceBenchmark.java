@@ -0,0 +1,139 @@
+package com.audit.benchmark;
+
+import com.audit.system.cache.FinanceSummaryCache;
+import com.audit.system.model.PersonalFinance;
+import com.audit.system.repository.PersonalFinanceRepository;
+import com.audit.system.repository.PersonalFinanceTotals;
+import com.audit.system.service.PersonalFinanceService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The personal finance dashboard calculations over an in-memory history, so only the service's
+ * own work is measured (the repository returns prebuilt lists).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonalFinanceBenchmark {
+
+    private static final String EMAIL = "bench@example.com";
+
+    // Months of history for the user
+    @Param({"12", "120", "1200"})
+    private int months;
+
+    private PersonalFinanceService service;
+    private int latestYear;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        List<PersonalFinance> history = new ArrayList<>(months);
+        for (int i = 0; i < months; i++) {
+            PersonalFinance pf = new PersonalFinance();
+            pf.setId((long) i + 1);
+            pf.setUserEmail(EMAIL);
+            pf.setYear(2000 + i / 12);
+            pf.setMonth(i % 12 + 1);
+            BigDecimal income = BigDecimal.valueOf(4000 + random.nextInt(8000)).setScale(2);
+            pf.setTotalIncome(income);
+            pf.setTotalDeductions(income.multiply(new BigDecimal("0.15")).setScale(2, RoundingMode.HALF_UP));
+            pf.setTotalExpenses(BigDecimal.valueOf(2000 + random.nextInt(3000)).setScale(2));
+            pf.setZakatMonthly(income.multiply(new BigDecimal("0.025")).setScale(2, RoundingMode.HALF_UP));
+            pf.setSavings(BigDecimal.valueOf(random.nextInt(100000)).setScale(2));
+            pf.setGoldSavings(BigDecimal.valueOf(random.nextInt(20000)).setScale(2));
+            // Half the records carry a precomputed balance, the rest use the fallback calculation
+            if (i % 2 == 0) {
+                pf.setBalance(income.subtract(pf.getTotalDeductions()).subtract(pf.getTotalExpenses()));
+            }
+            history.add(pf);
+        }
+        history.sort(Comparator.comparingInt(PersonalFinance::getYear).thenComparingInt(PersonalFinance::getMonth).reversed());
+        latestYear = history.get(0).getYear();
+
+        List<PersonalFinance> sorted = List.copyOf(history);
+        PersonalFinanceTotals totals = totalsOf(sorted);
+        PersonalFinanceRepository repository = (PersonalFinanceRepository) Proxy.newProxyInstance(
+                PersonalFinanceRepository.class.getClassLoader(), new Class<?>[] {PersonalFinanceRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByUserEmailOrderByYearDescMonthDesc" -> sorted;
+                    case "findByUserEmailAndYear" -> sorted.stream()
+                            .filter(pf -> pf.getYear() == (int) args[1]).toList();
+                    case "findTotals" -> totals;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        // Saves are not measured here, so there is no JDBC repository
+        service = new PersonalFinanceService(repository, null, new FinanceSummaryCache(1000));
+    }
+
+    // What the aggregate query returns for the history
+    private static PersonalFinanceTotals totalsOf(List<PersonalFinance> sorted) {
+        BigDecimal surplus = BigDecimal.ZERO;
+        for (PersonalFinance pf : sorted) {
+            surplus = surplus.add(pf.getBalance() != null ? pf.getBalance()
+                    : pf.getTotalIncome().subtract(pf.getTotalDeductions()).subtract(pf.getTotalExpenses()));
+        }
+        BigDecimal totalSurplus = surplus;
+        PersonalFinance latest = sorted.get(0);
+        return new PersonalFinanceTotals() {
+            @Override
+            public long getMonths() {
+                return sorted.size();
+            }
+
+            @Override
+            public BigDecimal getTotalSurplus() {
+                return totalSurplus;
+            }
+
+            @Override
+            public BigDecimal getLatestSavings() {
+                return latest.getSavings();
+            }
+
+            @Override
+            public BigDecimal getLatestGold() {
+                return latest.getGoldSavings();
+            }
+        };
+    }
+
+    @Benchmark
+    public BigDecimal lifetimeAverageSavings() {
+        return service.calculateLifetimeAverageSavings(EMAIL);
+    }
+
+    @Benchmark
+    public BigDecimal totalZakat() {
+        return service.calculateTotalZakat(EMAIL, latestYear);
+    }
+
+    // The summary endpoint today: served from the per-user cache after the first request
+    @Benchmark
+    public Object cachedSummary() {
+        return service.getSummary(EMAIL);
+    }
+
+    // Everything the summary endpoint used to compute per request (four history loads)
+    @Benchmark
+    public void dashboardSummary(Blackhole blackhole) {
+        blackhole.consume(service.calculateNetWorth(EMAIL));
+        blackhole.consume(service.calculateTotalMoneySavings(EMAIL));
+        blackhole.consume(service.calculateTotalGoldSavings(EMAIL));
+        blackhole.consume(service.calculateLifetimeAverageSavings(EMAIL));
+        blackhole.consume(service.calculateTotalZakat(EMAIL, latestYear));
+    }
+}
@@ -0,0 +1,213 @@
+package com.audit.benchmark;
+
+import com.audit.system.model.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Scales the data.sql seed up to any number of employees: the same departments, grades and
+ * salary components, and the same mix of leads, seniors, executives and juniors with their salary
+ * ranges, allowances and statutory deductions. Seeded, so every run produces the same data.
+ *
+ * Also runs standalone to write a SQL seed to load after data.sql:
+ *   java -cp target/benchmarks.jar com.audit.benchmark.SyntheticPayrollData 100000 synthetic.sql
+ */
+public final class SyntheticPayrollData {
+
+    public static final LocalDate EFFECTIVE_START = LocalDate.of(2024, 1, 1);
+
+    private static final String[] DEPARTMENTS = {
+            "Information Technology", "Software Development", "Infrastructure & Ops", "Cyber Security", "Data Analytics"};
+    private static final String[] COST_CENTERS = {"IT-HQ-01", "SD-DEV-02", "INFRA-03", "SEC-04", "DA-05"};
+
+    // Tiers of the seed: out of every 20 employees 4 leads, 4 seniors, 6 executives and 6 juniors
+    private static final int[] TIER_OF_SLOT = {0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3};
+    private static final int[] TIER_GRADE = {4, 3, 2, 1};
+    private static final int[] TIER_MIN_BASIC = {12000, 8800, 5800, 3500};
+    private static final int[] TIER_MAX_BASIC = {15000, 10500, 7000, 4800};
+
+    private final List<Department> departments = new ArrayList<>();
+    private final List<Grade> grades = new ArrayList<>();
+    private final SalaryComponent basic = component(1, "Basic Salary", "BASIC", SalaryComponentType.EARNING);
+    private final SalaryComponent travel = component(2, "Travel Allowance", "TRAVEL", SalaryComponentType.EARNING);
+    private final SalaryComponent internet = component(3, "Internet Allowance", "INTERNET", SalaryComponentType.EARNING);
+    private final SalaryComponent mobile = component(4, "Mobile Allowance", "MOBILE", SalaryComponentType.EARNING);
+    private final SalaryComponent parking = component(5, "Parking Allowance", "PARKING", SalaryComponentType.EARNING);
+    private final SalaryComponent epfEmployee = component(11, "EPF Employee", "EPF_EE", SalaryComponentType.STATUTORY_DEDUCTION);
+    private final SalaryComponent socsoEmployee = component(12, "SOCSO Employee", "SOCSO_EE", SalaryComponentType.STATUTORY_DEDUCTION);
+    private final SalaryComponent eisEmployee = component(13, "EIS Employee", "EIS_EE", SalaryComponentType.STATUTORY_DEDUCTION);
+    private final SalaryComponent pcb = component(14, "PCB (Tax)", "PCB", SalaryComponentType.STATUTORY_DEDUCTION);
+    private final SalaryComponent zakat = component(15, "Zakat Deduction", "ZAKAT_DED", SalaryComponentType.DEDUCTION);
+
+    private final List<Employee> employees;
+    private final List<List<EmployeeSalaryStructure>> structures;
+    private int structureCount;
+
+    private SalaryComponent component(long id, String name, String code, SalaryComponentType type) {
+        SalaryComponent c = new SalaryComponent();
+        c.setId(id);
+        c.setName(name);
+        c.setCode(code);
+        c.setType(type);
+        c.setFrequency(SalaryFrequency.MONTHLY);
+        return c;
+    }
+
+    private SyntheticPayrollData(int employeeCount, long seed) {
+        for (int i = 0; i < DEPARTMENTS.length; i++) {
+            Department d = new Department();
+            d.setId((long) i + 1);
+            d.setName(DEPARTMENTS[i]);
+            d.setCostCenterCode(COST_CENTERS[i]);
+            departments.add(d);
+        }
+        for (int i = 1; i <= 5; i++) {
+            Grade g = new Grade();
+            g.setId((long) i);
+            g.setName("G" + i);
+            grades.add(g);
+        }
+
+        this.employees = new ArrayList<>(employeeCount);
+        this.structures = new ArrayList<>(employeeCount);
+        Random random = new Random(seed);
+        long structureId = 1;
+        for (int i = 0; i < employeeCount; i++) {
+            int tier = TIER_OF_SLOT[i % TIER_OF_SLOT.length];
+
+            Employee emp = new Employee();
+            emp.setId((long) i + 1);
+            emp.setEmployeeCode(String.format("SYN%07d", i + 1));
+            emp.setFullName("Synthetic Employee " + (i + 1));
+            emp.setIdentityNo(String.format("9%05d-14-%04d", i % 100000, random.nextInt(10000)));
+            emp.setJoinDate(EFFECTIVE_START.minusDays(random.nextInt(3000)));
+            emp.setStatus(tier == 3 && random.nextInt(4) == 0 ? EmploymentStatus.PROBATION : EmploymentStatus.PERMANENT);
+            emp.setDepartment(departments.get(random.nextInt(departments.size())));
+            emp.setGrade(grades.get(TIER_GRADE[tier] - 1));
+            employees.add(emp);
+
+            // Basic salary in steps of 100 within the tier range, plus the seed's allowance patterns
+            int basicPay = TIER_MIN_BASIC[tier]
+                    + 100 * random.nextInt((TIER_MAX_BASIC[tier] - TIER_MIN_BASIC[tier]) / 100 + 1);
+            List<EmployeeSalaryStructure> list = new ArrayList<>(8);
+            list.add(structure(structureId++, emp, basic, BigDecimal.valueOf(basicPay)));
+            if (tier <= 1 && random.nextBoolean() || tier == 3 && random.nextInt(6) == 0) {
+                list.add(structure(structureId++, emp, travel, BigDecimal.valueOf(200 + 100 * random.nextInt(7))));
+            }
+            if (tier <= 2 && random.nextInt(3) > 0) {
+                list.add(structure(structureId++, emp, internet, BigDecimal.valueOf(tier == 0 ? 150 : 100)));
+            }
+            if (tier <= 1 && random.nextInt(3) == 0) {
+                list.add(structure(structureId++, emp, mobile, BigDecimal.valueOf(100 + 100 * random.nextInt(2))));
+            }
+            if (tier == 0 && random.nextInt(4) == 0) {
+                list.add(structure(structureId++, emp, parking, BigDecimal.valueOf(200)));
+            }
+
+            // Statutory deductions on the basic salary; rough PCB, zakat for about a third
+            BigDecimal base = BigDecimal.valueOf(basicPay);
+            list.add(structure(structureId++, emp, epfEmployee, percent(base, "11")));
+            list.add(structure(structureId++, emp, socsoEmployee, new BigDecimal("29.75")));
+            list.add(structure(structureId++, emp, eisEmployee, new BigDecimal("11.90")));
+            if (basicPay > 5000) {
+                list.add(structure(structureId++, emp, pcb, percent(base.subtract(BigDecimal.valueOf(5000)), "15")));
+            }
+            if (random.nextInt(3) == 0) {
+                list.add(structure(structureId++, emp, zakat, percent(base, "2.5")));
+            }
+            structures.add(list);
+            structureCount += list.size();
+        }
+    }
+
+    public static SyntheticPayrollData generate(int employeeCount, long seed) {
+        return new SyntheticPayrollData(employeeCount, seed);
+    }
+
+    private static EmployeeSalaryStructure structure(long id, Employee emp, SalaryComponent component, BigDecimal amount) {
+        EmployeeSalaryStructure s = new EmployeeSalaryStructure();
+        s.setId(id);
+        s.setEmployee(emp);
+        s.setComponent(component);
+        // NUMERIC(15,2) columns come back with scale 2
+        s.setAmount(amount.setScale(2, RoundingMode.HALF_UP));
+        s.setEffectiveStartDate(EFFECTIVE_START);
+        return s;
+    }
+
+    private static BigDecimal percent(BigDecimal base, String rate) {
+        return base.multiply(new BigDecimal(rate)).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    // Active structures of employee i, in the order the payroll stream returns them
+    public List<EmployeeSalaryStructure> getStructures(int i) {
+        return structures.get(i);
+    }
+
+    public int getStructureCount() {
+        return structureCount;
+    }
+
+    /**
+     * Writes INSERTs for the generated employees and structures. Structures are joined to employees
+     * and components by code, so the file works on top of data.sql whatever ids it produced.
+     */
+    public void writeSql(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int from = 0; from < employees.size(); from += 1000) {
+                int to = Math.min(from + 1000, employees.size());
+
+                out.write("INSERT INTO employees (employee_code, full_name, identity_no, join_date, "
+                        + "department_id, current_grade_id, status) VALUES\n");
+                for (int i = from; i < to; i++) {
+                    Employee e = employees.get(i);
+                    out.write(String.format("('%s', '%s', '%s', '%s', %d, %d, '%s')%s%n", e.getEmployeeCode(),
+                            e.getFullName(), e.getIdentityNo(), e.getJoinDate(), e.getDepartment().getId(),
+                            e.getGrade().getId(), e.getStatus(), i < to - 1 ? "," : ";"));
+                }
+
+                out.write("INSERT INTO employee_salary_structures (employee_id, component_id, amount, effective_start_date) "
+                        + "SELECT e.id, c.id, v.amount, DATE '" + EFFECTIVE_START + "' FROM (VALUES\n");
+                for (int i = from; i < to; i++) {
+                    List<EmployeeSalaryStructure> list = structures.get(i);
+                    for (int j = 0; j < list.size(); j++) {
+                        EmployeeSalaryStructure s = list.get(j);
+                        boolean last = i == to - 1 && j == list.size() - 1;
+                        out.write(String.format("('%s', '%s', %s)%s%n", s.getEmployee().getEmployeeCode(),
+                                s.getComponent().getCode(), s.getAmount().toPlainString(), last ? "" : ","));
+                    }
+                }
+                out.write(") AS v(employee_code, component_code, amount) "
+                        + "JOIN employees e ON e.employee_code = v.employee_code "
+                        + "JOIN salary_components c ON c.code = v.component_code;\n\n");
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticPayrollData <employees> <output.sql> [seed]");
+            System.exit(1);
+        }
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        SyntheticPayrollData data = generate(Integer.parseInt(args[0]), seed);
+        data.writeSql(Paths.get(args[1]));
+        System.out.printf("Wrote %d employees and %d salary structures to %s%n",
+                data.getEmployees().size(), data.getStructureCount(), args[1]);
+    }
+}
@@ -43,7 +43,10 @@ INSERT INTO salary_components (name, code, type, frequency, is_taxable, is_epf_a
 ('SOCSO Employee', 'SOCSO_EE', 'STATUTORY_DEDUCTION', 'MONTHLY', false, false, false, false, 'PERKESO Employee Share'),
 ('EIS Employee', 'EIS_EE', 'STATUTORY_DEDUCTION', 'MONTHLY', false, false, false, false, 'SIP Employee Share'),
 ('PCB (Tax)', 'PCB', 'STATUTORY_DEDUCTION', 'MONTHLY', false, false, false, false, 'Monthly Tax Deduction'),
-('Zakat Deduction', 'ZAKAT_DED', 'DEDUCTION', 'MONTHLY', false, false, false, false, 'Monthly Zakat via Payroll');
+('Zakat Deduction', 'ZAKAT_DED', 'DEDUCTION', 'MONTHLY', false, false, false, false, 'Monthly Zakat via Payroll'),
+('EPF Employer', 'EPF_ER', 'COMPANY_CONTRIBUTION', 'MONTHLY', false, false, false, false, 'KWSP Employer Share (13%/12%)'),
+('SOCSO Employer', 'SOCSO_ER', 'COMPANY_CONTRIBUTION', 'MONTHLY', false, false, false, false, 'PERKESO Employer Share'),
+('EIS Employer', 'EIS_ER', 'COMPANY_CONTRIBUTION', 'MONTHLY', false, false, false, false, 'SIP Employer Share');
 
 -- 4. EMPLOYEES (20 Pax, Ages 23-33)
 -- Mix of races (Malay, Chinese, Indian, Punjabi) for realism
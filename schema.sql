@@ -73,8 +73,11 @@ CREATE TABLE salary_components (
 
 -- Assigns components to employees with specific values and validity periods.
 -- ZERO OVERWRITE POLICY: Updates require closing the old record (setting end_date) and inserting a new one.
+-- Pooled ids: each nextval hands out a block of 50, so Hibernate can batch inserts (see EmployeeSalaryStructure)
+-- Databases created with the old SERIAL ids are switched over at startup by SchemaUpgrade
+CREATE SEQUENCE employee_salary_structures_id_seq INCREMENT BY 50;
 CREATE TABLE employee_salary_structures (
-    id SERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('employee_salary_structures_id_seq'),
     employee_id INT REFERENCES employees(id),
     component_id INT REFERENCES salary_components(id),
     amount DECIMAL(12,2) DEFAULT 0.00,
@@ -143,11 +146,22 @@ CREATE TABLE payroll_runs (
     status VARCHAR(20) DEFAULT 'DRAFT', -- DRAFT, FINALIZED, PAID
     processed_by VARCHAR(50),
     total_payout DECIMAL(15,2),
+    computed_at TIMESTAMP, -- Watermark of the last full/delta computation
+    -- Metrics of the last computation
+    last_run_mode VARCHAR(20),
+    employee_count INT,
+    item_count INT,
+    load_millis BIGINT,
+    compute_millis BIGINT,
+    persist_millis BIGINT,
+    duration_millis BIGINT,
     UNIQUE (month, year)
 );
 
+-- Pooled ids like employee_salary_structures; PayrollItemJdbcRepository takes its ids in the same blocks
+CREATE SEQUENCE payroll_items_id_seq INCREMENT BY 50;
 CREATE TABLE payroll_items (
-    id SERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('payroll_items_id_seq'),
     payroll_run_id INT REFERENCES payroll_runs(id),
     employee_id INT REFERENCES employees(id),
     component_id INT REFERENCES salary_components(id),
@@ -160,11 +174,105 @@ CREATE TABLE payroll_items (
     remarks TEXT
 );
 
+-- Partition plan for partitioned payroll runs. A partition is COMPLETED only in the same
+-- transaction that wrote its items, so a failed run resumes from the remaining partitions.
+CREATE TABLE payroll_run_partitions (
+    id SERIAL PRIMARY KEY,
+    payroll_run_id INT NOT NULL REFERENCES payroll_runs(id),
+    partition_no INT NOT NULL,
+    min_employee_id BIGINT NOT NULL,
+    max_employee_id BIGINT NOT NULL,
+    status VARCHAR(20) DEFAULT 'PENDING', -- PENDING, COMPLETED, FAILED
+    total_payout DECIMAL(15,2),
+    employee_count INT,
+    item_count INT,
+    error_message TEXT,
+    completed_at TIMESTAMP,
+    UNIQUE (payroll_run_id, partition_no)
+);
+
+ALTER SEQUENCE employee_salary_structures_id_seq OWNED BY employee_salary_structures.id;
+ALTER SEQUENCE payroll_items_id_seq OWNED BY payroll_items.id;
+
+CREATE INDEX idx_payroll_items_run_employee ON payroll_items (payroll_run_id, employee_id);
+
+-- Materialized per-run totals for the dashboard, refreshed on generate and finalize
+CREATE TABLE payroll_monthly_summaries (
+    id SERIAL PRIMARY KEY,
+    payroll_run_id INT NOT NULL UNIQUE REFERENCES payroll_runs(id),
+    month INT NOT NULL,
+    year INT NOT NULL,
+    status VARCHAR(20),
+    headcount INT,
+    gross_pay DECIMAL(15,2),
+    total_deductions DECIMAL(15,2),
+    net_pay DECIMAL(15,2),
+    earning_total DECIMAL(15,2),
+    deduction_total DECIMAL(15,2),
+    statutory_deduction_total DECIMAL(15,2),
+    company_contribution_total DECIMAL(15,2),
+    claim_total DECIMAL(15,2),
+    refreshed_at TIMESTAMP
+);
+
+CREATE INDEX idx_payroll_monthly_summaries_year ON payroll_monthly_summaries (year, month);
+
+-- Keyset pagination of the employee listing: each filter seeks on (filter, id)
+CREATE INDEX idx_employees_status_id ON employees (status, id);
+CREATE INDEX idx_employees_department_id ON employees (department_id, id);
+CREATE INDEX idx_employees_grade_id ON employees (current_grade_id, id);
+
+-- Claims paid through payroll: the paying run is recorded with status PAID
+ALTER TABLE claims ADD COLUMN payroll_run_id INT REFERENCES payroll_runs(id);
+
+-- Claims stage of a payroll run: approved and unpaid claims by date, and claims already paid by the run
+CREATE INDEX idx_claims_payable_date ON claims (claim_date) WHERE status = 'APPROVED' AND payroll_run_id IS NULL;
+CREATE INDEX idx_claims_payroll_run ON claims (payroll_run_id, employee_id);
+
+-- Personal finance calculator: one row per user and month, written by upsert on the unique key
+CREATE TABLE personal_finance (
+    id BIGSERIAL PRIMARY KEY,
+    user_email VARCHAR(255) NOT NULL,
+    year INT NOT NULL,
+    month INT NOT NULL,
+    basic_salary DECIMAL(38,2),
+    fixed_allowance DECIMAL(38,2),
+    variable_allowance DECIMAL(38,2),
+    bonus DECIMAL(38,2),
+    total_income DECIMAL(38,2),
+    epf DECIMAL(38,2),
+    pcb DECIMAL(38,2),
+    zakat_monthly DECIMAL(38,2),
+    total_deductions DECIMAL(38,2),
+    housing DECIMAL(38,2),
+    transport DECIMAL(38,2),
+    food DECIMAL(38,2),
+    investment DECIMAL(38,2),
+    donation DECIMAL(38,2),
+    savings DECIMAL(38,2),
+    gold_savings DECIMAL(38,2),
+    total_expenses DECIMAL(38,2),
+    net_salary DECIMAL(38,2),
+    balance DECIMAL(38,2),
+    net_worth DECIMAL(38,2),
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_personal_finance_user_period UNIQUE (user_email, year, month)
+);
+
+-- History ordering (user_email =, year DESC, month DESC) is a backward scan of the unique key; this one
+-- also carries the summary aggregate's columns so the dashboard summary is an index-only scan
+CREATE INDEX idx_personal_finance_summary ON personal_finance (user_email, year DESC, month DESC)
+    INCLUDE (balance, total_income, total_deductions, total_expenses, savings, gold_savings);
+
 -- 8. AUDIT LOGGING (The "Black Box")
 -- =========================================================================================
 
+-- Partitioned by month of changed_at. There is deliberately no DEFAULT partition: without one,
+-- "ORDER BY changed_at DESC LIMIT n" reads the newest partition's index first and stops, so the
+-- recent-logs widget costs the same however many years are kept. AuditLogRetentionJob creates
+-- partitions ahead of time and moves expired ones to the audit_archive schema.
 CREATE TABLE audit_logs (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGSERIAL,
     table_name VARCHAR(50) NOT NULL,
     record_id INT NOT NULL, -- The ID of the row being changed
     action change_action NOT NULL,
@@ -173,10 +281,50 @@ CREATE TABLE audit_logs (
     new_values JSONB, -- Snapshot of data AFTER change
     
     changed_by VARCHAR(50) DEFAULT 'SYSTEM', -- User ID or 'SYSTEM'
-    changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     
     ip_address VARCHAR(45),
-    user_agent TEXT
+    user_agent TEXT,
+
+    -- Hash chain, set once after commit by chain_pending_audit_logs(): position in the chain and
+    -- SHA-256 (hex) over the previous entry's digest and this entry's content. NULL until chained.
+    chain_seq BIGINT,
+    digest CHAR(64),
+
+    PRIMARY KEY (id, changed_at) -- A partitioned table's keys must include the partition key
+) PARTITION BY RANGE (changed_at);
+
+-- Created on the parent, so every partition gets them. id breaks ties for the history cursors.
+CREATE INDEX idx_audit_logs_record ON audit_logs (table_name, record_id, changed_at DESC, id DESC);
+CREATE INDEX idx_audit_logs_table ON audit_logs (table_name, changed_at DESC, id DESC);
+CREATE INDEX idx_audit_logs_changed_at ON audit_logs (changed_at DESC, id DESC);
+CREATE INDEX idx_audit_logs_chain ON audit_logs (chain_seq);
+-- What the chaining step still has to link; stays small, entries leave it within a second or so
+CREATE INDEX idx_audit_logs_unchained ON audit_logs (changed_at, id) WHERE chain_seq IS NULL;
+
+CREATE SCHEMA IF NOT EXISTS audit_archive;
+
+-- Creates the partition for the month containing month_start, if missing
+CREATE OR REPLACE FUNCTION ensure_audit_log_partition(month_start DATE)
+RETURNS VOID AS $$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::DATE;
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+        'audit_logs_' || to_char(from_date, '"y"YYYY"m"MM'), from_date, (from_date + INTERVAL '1 month')::DATE);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Twelve months back (for imported history) and three ahead; the job keeps extending this
+SELECT ensure_audit_log_partition((date_trunc('month', CURRENT_DATE) + make_interval(months => m))::DATE)
+FROM generate_series(-12, 3) AS m;
+
+-- Last audit pipeline sequence written per application node (APPLICATION audit mode)
+CREATE TABLE audit_pipeline_checkpoints (
+    node_id VARCHAR(100) PRIMARY KEY,
+    written_seq BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
 -- 9. AUDIT TRIGGER FUNCTION
@@ -190,6 +338,11 @@ DECLARE
     new_data JSONB;
     action_type change_action;
 BEGIN
+    -- The application writes these rows itself when it runs with audit.pipeline.mode=APPLICATION
+    IF current_setting('audit.pipeline_mode', true) = 'APPLICATION' THEN
+        RETURN NULL;
+    END IF;
+
     IF (TG_OP = 'INSERT') THEN
         old_data := NULL;
         new_data := to_jsonb(NEW);
@@ -248,6 +401,130 @@ CREATE TRIGGER audit_zakat_changes
 AFTER INSERT OR UPDATE OR DELETE ON employee_zakat_settings
 FOR EACH ROW EXECUTE FUNCTION log_audit_change();
 
+-- 11. AUDIT HASH CHAIN
+-- =========================================================================================
+-- Every audit_logs row, whoever inserts it (log_audit_change(), the application's audit pipeline
+-- or a direct insert), is linked into the chain after it commits: AuditChainer calls
+-- chain_pending_audit_logs() every second or so, which appends whatever has committed since its
+-- last pass. Only that step locks the head row, so writers never wait on each other for the chain
+-- and rolled back entries leave no gaps. An entry committed after a pass always gets a higher
+-- chain_seq than every entry that pass linked; within one pass entries follow (changed_at, id).
+
+CREATE TABLE audit_chain_head (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    last_seq BIGINT NOT NULL,
+    last_digest CHAR(64) NOT NULL
+);
+INSERT INTO audit_chain_head (id, last_seq, last_digest) VALUES (1, 0, repeat('0', 64));
+
+-- Ranges already verified by AuditChainVerifier, with the Merkle root of their digests
+CREATE TABLE audit_chain_checkpoints (
+    id BIGSERIAL PRIMARY KEY,
+    from_seq BIGINT NOT NULL,
+    to_seq BIGINT NOT NULL UNIQUE,
+    end_digest CHAR(64) NOT NULL,
+    merkle_root CHAR(64) NOT NULL,
+    verified_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- The canonical content: jsonb::text is normalised, changed_at has a fixed format. AuditChainDigest
+-- recomputes exactly this in Java.
+CREATE OR REPLACE FUNCTION audit_log_digest(prev_digest TEXT, chain_seq BIGINT, table_name TEXT, record_id BIGINT,
+    action TEXT, old_values JSONB, new_values JSONB, changed_by TEXT, changed_at TIMESTAMP, ip_address TEXT,
+    user_agent TEXT)
+RETURNS CHAR(64) AS $$
+    SELECT encode(sha256(convert_to(concat_ws('|',
+        prev_digest, chain_seq, table_name, record_id, action,
+        COALESCE(old_values::text, ''), COALESCE(new_values::text, ''), COALESCE(changed_by, ''),
+        to_char(changed_at, 'YYYY-MM-DD"T"HH24:MI:SS.US'), COALESCE(ip_address, ''), COALESCE(user_agent, '')),
+        'UTF8')), 'hex');
+$$ LANGUAGE sql STABLE;
+
+-- Links up to max_entries committed, unchained entries onto the chain; returns how many it linked
+CREATE OR REPLACE FUNCTION chain_pending_audit_logs(max_entries INT)
+RETURNS INT AS $$
+DECLARE
+    head audit_chain_head%ROWTYPE;
+    entry RECORD;
+    linked INT := 0;
+BEGIN
+    -- One chaining step at a time, across all application nodes
+    SELECT * INTO head FROM audit_chain_head WHERE id = 1 FOR UPDATE;
+    FOR entry IN
+        SELECT id, table_name, record_id, action, old_values, new_values, changed_by, changed_at, ip_address,
+            user_agent
+        FROM audit_logs WHERE chain_seq IS NULL ORDER BY changed_at, id LIMIT max_entries
+    LOOP
+        head.last_seq := head.last_seq + 1;
+        head.last_digest := audit_log_digest(head.last_digest, head.last_seq, entry.table_name, entry.record_id,
+            entry.action::text, entry.old_values, entry.new_values, entry.changed_by, entry.changed_at,
+            entry.ip_address, entry.user_agent);
+        UPDATE audit_logs SET chain_seq = head.last_seq, digest = head.last_digest
+        WHERE id = entry.id AND changed_at = entry.changed_at;
+        linked := linked + 1;
+    END LOOP;
+    UPDATE audit_chain_head SET last_seq = head.last_seq, last_digest = head.last_digest WHERE id = 1;
+    RETURN linked;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Audit entries are append-only; archival detaches whole partitions instead of deleting rows.
+-- The one update allowed is chaining: setting chain_seq and digest on an unchained entry.
+CREATE OR REPLACE FUNCTION forbid_audit_log_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.chain_seq IS NULL
+        AND (NEW.id, NEW.table_name, NEW.record_id, NEW.action, NEW.old_values, NEW.new_values, NEW.changed_by,
+             NEW.changed_at, NEW.ip_address, NEW.user_agent)
+        IS NOT DISTINCT FROM (OLD.id, OLD.table_name, OLD.record_id, OLD.action, OLD.old_values, OLD.new_values,
+             OLD.changed_by, OLD.changed_at, OLD.ip_address, OLD.user_agent) THEN
+        RETURN NEW;
+    END IF;
+    RAISE EXCEPTION 'audit_logs is append-only (% on entry %)', TG_OP, OLD.id;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Entries always arrive unchained; only chain_pending_audit_logs() sets chain_seq and digest
+CREATE OR REPLACE FUNCTION clear_audit_log_chain()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.chain_seq := NULL;
+    NEW.digest := NULL;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER unchained_audit_logs
+BEFORE INSERT ON audit_logs
+FOR EACH ROW EXECUTE FUNCTION clear_audit_log_chain();
+
+CREATE TRIGGER protect_audit_logs
+BEFORE UPDATE OR DELETE ON audit_logs
+FOR EACH ROW EXECUTE FUNCTION forbid_audit_log_change();
+
+-- 12. POINT-IN-TIME RECONSTRUCTION
+-- =========================================================================================
+-- Salary structure events by the employee they belong to, so an employee's history is two index scans
+CREATE INDEX idx_audit_logs_structure_employee ON audit_logs
+    (((COALESCE(new_values, old_values) ->> 'employee_id')::BIGINT), changed_at, id)
+    WHERE table_name = 'employee_salary_structures';
+
+-- An employee's reconstructed state (employee row and salary structure rows, keyed by id) after
+-- all of its audit entries up to chain position as_of_seq, the latest of which changed at
+-- max_changed_at. Chain order is commit order, so an entry that commits late (a long transaction,
+-- a journal replay) lands after every existing snapshot and is replayed on top of it. Written by
+-- EmployeeTemporalService so that no reconstruction replays more than audit.temporal.max-replay
+-- entries past a snapshot.
+CREATE TABLE audit_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    employee_id BIGINT NOT NULL,
+    as_of_seq BIGINT NOT NULL,
+    max_changed_at TIMESTAMP NOT NULL,
+    state JSONB NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (employee_id, as_of_seq) -- Also serves the latest-before lookup
+);
+
 -- =========================================================================================
 -- END OF SCHEMA
 -- =========================================================================================